@@ -18,6 +18,7 @@ package org.wso2.carbon.base.utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.base.Constants;
+import org.wso2.carbon.launcher.template.VariableTemplate;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -26,8 +27,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Base utility class.
@@ -63,23 +62,7 @@ public class BaseUtils {
     }
 
     private static String substituteVariables(String value) {
-        Matcher matcher = Pattern.compile("\\$\\{([^}]*)}").matcher(value);
-        boolean found = matcher.find();
-        if (!found) {
-            return value;
-        }
-        StringBuffer sb = new StringBuffer();
-        do {
-            String sysPropKey = matcher.group(1);
-            String sysPropValue = getSystemVariableValue(sysPropKey);
-            if (sysPropValue == null) {
-                continue;
-            }
-            sysPropValue = sysPropValue.replace("\\", "\\\\");
-            matcher.appendReplacement(sb, sysPropValue);
-        } while (matcher.find());
-        matcher.appendTail(sb);
-        return sb.toString();
+        return VariableTemplate.compile(value).substituteDefined(BaseUtils::getSystemVariableValue);
     }
 
     private static String getSystemVariableValue(String variableName) {
@@ -0,0 +1,124 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.benchmarks;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Utility methods which create the fixtures used by the benchmarks.
+ *
+ * @since 5.1.0
+ */
+public final class BenchmarkUtils {
+    private BenchmarkUtils() {
+    }
+
+    /**
+     * Creates a {@code Bundle} which only supports the methods used by the startup order resolver, i.e. the bundle
+     * id, symbolic name, version and last modified time.
+     *
+     * @param bundleId     the bundle id
+     * @param symbolicName the bundle symbolic name
+     * @return the created {@code Bundle}
+     */
+    public static Bundle createBundle(long bundleId, String symbolicName) {
+        return (Bundle) Proxy.newProxyInstance(BenchmarkUtils.class.getClassLoader(), new Class<?>[]{Bundle.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getBundleId":
+                            return bundleId;
+                        case "getSymbolicName":
+                            return symbolicName;
+                        case "getVersion":
+                            return Version.emptyVersion;
+                        case "getLastModified":
+                            return 0L;
+                        case "getState":
+                            return Bundle.ACTIVE;
+                        case "hashCode":
+                            return Long.hashCode(bundleId);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return symbolicName + " [" + bundleId + "]";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Creates a JAR file with the given manifest and the given number of class file entries spread across ten
+     * packages.
+     *
+     * @param jarFile    the JAR file to be created
+     * @param manifest   the manifest of the JAR file
+     * @param entryCount number of class file entries
+     * @throws IOException if an I/O error occurs
+     */
+    public static void createJar(Path jarFile, Manifest manifest, int entryCount) throws IOException {
+        byte[] classContent = new byte[512];
+        try (OutputStream outputStream = Files.newOutputStream(jarFile);
+             JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+            for (int i = 0; i < entryCount; i++) {
+                jarOutputStream.putNextEntry(new JarEntry("org/wso2/carbon/benchmarks/sample" + (i % 10) +
+                        "/Sample" + i + ".class"));
+                jarOutputStream.write(classContent);
+                jarOutputStream.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Deletes the given directory recursively.
+     *
+     * @param directory the directory to be deleted
+     * @throws IOException if an I/O error occurs
+     */
+    public static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,70 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark which measures reading the thread local {@link CarbonContext} through its public API, which request
+ * handling components do for each message. Run it with the gc profiler, i.e. {@code -prof gc}, to verify that
+ * gc.alloc.rate.norm is zero for these calls.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.ops4j.pax.logging.DefaultServiceLog.level=WARN")
+@Threads(4)
+public class CarbonContextBenchmark {
+    private static final String PROPERTY_NAME = "benchmark.property";
+
+    @Setup
+    public void setup() {
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, PROPERTY_NAME);
+    }
+
+    @Benchmark
+    public String getTenant() {
+        return CarbonContext.getCurrentContext().getTenant();
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME);
+    }
+
+    @Benchmark
+    public Object getPrivilegedProperty() {
+        return PrivilegedCarbonContext.getCurrentContext().getProperty(PROPERTY_NAME);
+    }
+}
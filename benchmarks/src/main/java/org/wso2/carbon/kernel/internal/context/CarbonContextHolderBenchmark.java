@@ -0,0 +1,68 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.context;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark which measures getting and setting properties of the thread local {@link CarbonContextHolder},
+ * which is done for each request served by Carbon components.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CarbonContextHolderBenchmark {
+    private static final String PROPERTY_NAME = "benchmark.property";
+
+    @Benchmark
+    public String getTenant() {
+        return CarbonContextHolder.getCurrentContextHolder().getTenant();
+    }
+
+    @Benchmark
+    public Object setAndGetProperty() {
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.getCurrentContextHolder();
+        carbonContextHolder.setProperty(PROPERTY_NAME, PROPERTY_NAME);
+        return carbonContextHolder.getProperty(PROPERTY_NAME);
+    }
+
+    @Benchmark
+    public String createAndDestroy() {
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.getCurrentContextHolder();
+        String tenant = carbonContextHolder.getTenant();
+        carbonContextHolder.destroyCurrentCarbonContextHolder();
+        return tenant;
+    }
+}
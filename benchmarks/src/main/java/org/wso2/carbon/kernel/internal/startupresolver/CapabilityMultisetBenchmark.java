@@ -0,0 +1,120 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.benchmarks.BenchmarkUtils;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark which measures the cost of tracking expected and available OSGi service capabilities of a startup
+ * component with {@link CapabilityMultiset}. The list based implementation which was used earlier is measured as the
+ * baseline.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CapabilityMultisetBenchmark {
+    private static final String TRANSPORT_CAPABILITY = "org.wso2.carbon.kernel.transports.CarbonTransport";
+
+    @Param({"50", "500", "5000"})
+    private int registrationCount;
+
+    // Capabilities provided from a single bundle. e.g. a CapabilityProvider which registers many transports.
+    private List<Capability> sameBundleCapabilityList;
+
+    // Capabilities provided from distinct bundles.
+    private List<Capability> distinctBundleCapabilityList;
+
+    @Setup
+    public void init() {
+        sameBundleCapabilityList = new ArrayList<>(registrationCount);
+        distinctBundleCapabilityList = new ArrayList<>(registrationCount);
+        Bundle transportBundle = BenchmarkUtils.createBundle(0, "org.wso2.carbon.transport");
+        for (int i = 0; i < registrationCount; i++) {
+            sameBundleCapabilityList.add(new OSGiServiceCapability(TRANSPORT_CAPABILITY,
+                    Capability.CapabilityType.OSGi_SERVICE, transportBundle));
+            distinctBundleCapabilityList.add(new OSGiServiceCapability(TRANSPORT_CAPABILITY,
+                    Capability.CapabilityType.OSGi_SERVICE, BenchmarkUtils.createBundle(i + 1,
+                            "org.wso2.carbon.transport." + i)));
+        }
+    }
+
+    @Benchmark
+    public int multisetSameBundle() {
+        return expectAndRegister(sameBundleCapabilityList);
+    }
+
+    @Benchmark
+    public int multisetDistinctBundles() {
+        return expectAndRegister(distinctBundleCapabilityList);
+    }
+
+    @Benchmark
+    public int listDistinctBundles() {
+        List<Capability> pendingCapabilityList = new ArrayList<>();
+        for (Capability capability : distinctBundleCapabilityList) {
+            toggle(pendingCapabilityList, capability);
+        }
+        for (Capability capability : distinctBundleCapabilityList) {
+            toggle(pendingCapabilityList, capability);
+        }
+        return pendingCapabilityList.size();
+    }
+
+    private int expectAndRegister(List<Capability> capabilityList) {
+        CapabilityMultiset pendingCapabilities = new CapabilityMultiset();
+        for (Capability capability : capabilityList) {
+            pendingCapabilities.add(capability);
+        }
+        int pendingCapabilityCount = 0;
+        for (Capability capability : capabilityList) {
+            pendingCapabilityCount = pendingCapabilities.remove(capability);
+        }
+        return pendingCapabilityCount;
+    }
+
+    private void toggle(List<Capability> pendingCapabilityList, Capability capability) {
+        if (pendingCapabilityList.contains(capability)) {
+            pendingCapabilityList.remove(capability);
+        } else {
+            pendingCapabilityList.add(capability);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.benchmarks.BenchmarkUtils;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark which measures a complete add/satisfy cycle of {@link StartupComponentManager}. Each startup
+ * component requires a capability which is registered by its own bundle. Startup components are added, their
+ * expected capabilities and listeners are registered, all the capabilities become available and the satisfiable
+ * startup components are removed as they would be once notified.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// The default pax-logging service logs at debug level, without a logging backend.
+@Fork(value = 1, jvmArgsAppend = "-Dorg.ops4j.pax.logging.DefaultServiceLog.level=WARN")
+public class StartupComponentManagerBenchmark {
+    private static final String CAPABILITY_PREFIX = "org.wso2.carbon.benchmarks.Capability";
+    private static final String COMPONENT_PREFIX = "carbon-benchmark-component-";
+
+    @Param({"100", "1000"})
+    private int componentCount;
+
+    private List<Bundle> bundleList;
+    private List<Capability> capabilityList;
+
+    @Setup
+    public void init() {
+        bundleList = new ArrayList<>(componentCount);
+        capabilityList = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            Bundle bundle = BenchmarkUtils.createBundle(i + 1, "org.wso2.carbon.benchmarks.bundle" + i);
+            bundleList.add(bundle);
+            capabilityList.add(new OSGiServiceCapability(CAPABILITY_PREFIX + i,
+                    Capability.CapabilityType.OSGi_SERVICE, bundle));
+        }
+    }
+
+    @Benchmark
+    public int addAndSatisfyComponents() {
+        StartupComponentManager startupComponentManager = new StartupComponentManager(() -> {
+        });
+
+        List<StartupComponent> startupComponentList = new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            StartupComponent startupComponent = new StartupComponent(COMPONENT_PREFIX + i, bundleList.get(i));
+            startupComponent.setRequiredServiceList(new ArrayList<>(
+                    Collections.singletonList(CAPABILITY_PREFIX + i)));
+            startupComponentList.add(startupComponent);
+        }
+        startupComponentManager.addComponents(startupComponentList);
+
+        for (int i = 0; i < componentCount; i++) {
+            startupComponentManager.addExpectedRequiredCapability(capabilityList.get(i));
+            startupComponentManager.addRequiredCapabilityListener(() -> {
+            }, COMPONENT_PREFIX + i, bundleList.get(i));
+        }
+
+        for (Capability capability : capabilityList) {
+            startupComponentManager.addAvailableRequiredCapability(capability);
+        }
+
+        int satisfiedComponentCount = 0;
+        StartupComponent startupComponent;
+        while ((startupComponent = startupComponentManager.pollSatisfiableComponent()) != null) {
+            if (startupComponentManager.removeSatisfiedComponent(startupComponent)) {
+                satisfiedComponentCount++;
+            }
+        }
+        return satisfiedComponentCount;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark which measures {@link Utils#substituteVariables(String)} over a configuration file similar to
+ * carbon.yml, with and without variables to be substituted.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsBenchmark {
+    private static final String SERVER_NAME_PROPERTY = "benchmark.server.name";
+    private static final String PORT_OFFSET_PROPERTY = "benchmark.port.offset";
+
+    private String configWithVariables;
+    private String configWithoutVariables;
+
+    @Setup
+    public void init() {
+        System.setProperty(SERVER_NAME_PROPERTY, "WSO2 Carbon Kernel");
+        System.setProperty(PORT_OFFSET_PROPERTY, "0");
+
+        StringBuilder withVariables = new StringBuilder();
+        StringBuilder withoutVariables = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            withVariables.append("id: carbon-kernel-").append(i).append('\n')
+                    .append("name: ${").append(SERVER_NAME_PROPERTY).append("}\n")
+                    .append("ports:\n  offset: ${").append(PORT_OFFSET_PROPERTY).append("}\n")
+                    .append("deployment:\n  repositoryLocation: ${carbon.home}/deployment/\n");
+            withoutVariables.append("id: carbon-kernel-").append(i).append('\n')
+                    .append("name: WSO2 Carbon Kernel\n")
+                    .append("ports:\n  offset: 0\n")
+                    .append("deployment:\n  repositoryLocation: /opt/wso2carbon/deployment/\n");
+        }
+        configWithVariables = withVariables.toString();
+        configWithoutVariables = withoutVariables.toString();
+    }
+
+    @TearDown
+    public void destroy() {
+        System.clearProperty(SERVER_NAME_PROPERTY);
+        System.clearProperty(PORT_OFFSET_PROPERTY);
+    }
+
+    @Benchmark
+    public String substituteVariables() {
+        return Utils.substituteVariables(configWithVariables);
+    }
+
+    @Benchmark
+    public String substituteVariablesWithoutVariables() {
+        return Utils.substituteVariables(configWithoutVariables);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.utils.manifest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.kernel.utils.Tokenizer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark which compares {@link ManifestElement#parseHeader} with {@link ManifestElement#parseHeaderInPlace}
+ * over Provide-Capability headers similar to those of Carbon components. Both the header elements and the attributes
+ * used by the startup order resolver are read, as the in place parser materialises them lazily. The cost of
+ * tokenizing the headers with {@link Tokenizer} alone is measured as well.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// The default pax-logging service logs at debug level, without a logging backend.
+@Fork(value = 1, jvmArgsAppend = "-Dorg.ops4j.pax.logging.DefaultServiceLog.level=WARN")
+public class ManifestElementParserBenchmark {
+    private static final String PROVIDE_CAPABILITY = "Provide-Capability";
+
+    private String[] headers;
+
+    @Setup
+    public void init() {
+        headers = new String[]{
+                // A RequiredCapabilityListener and the capabilities provided by a transport management bundle.
+                "osgi.service;effective:=active;objectClass=\"org.wso2.carbon.kernel.startupresolver." +
+                        "RequiredCapabilityListener\";capability-name=\"org.wso2.carbon.sample.transport.mgt." +
+                        "Transport,org.wso2.carbon.sample.runtime.mgt.Runtime\";" +
+                        "component-key=carbon-sample-transport-mgt," +
+                        "osgi.service;effective:=active;objectClass=\"org.wso2.carbon.kernel.startupresolver." +
+                        "CapabilityProvider\";capability-name=\"org.wso2.carbon.sample.transport.mgt.Transport\"",
+                // OSGi services of a bundle with dependent components.
+                "osgi.service;objectClass=\"org.wso2.carbon.sample.deployer.mgt.DeployerManager\";" +
+                        "dependent-component-key=carbon-sample-deployer-mgt," +
+                        "osgi.service;objectClass=\"org.wso2.carbon.sample.runtime.mgt.RuntimeManager\";" +
+                        "dependent-component-key=carbon-sample-runtime-mgt," +
+                        "osgi.service;objectClass:List<String>=\"org.wso2.carbon.kernel.deployment.Deployer," +
+                        "org.wso2.carbon.kernel.deployment.ArtifactType\";service.ranking:Long=10",
+                // Startup-Component style header.
+                "carbon-sample-transport-mgt;required-service=\"org.wso2.carbon.sample.transport.mgt.Transport," +
+                        "org.wso2.carbon.sample.runtime.mgt.Runtime\""
+        };
+    }
+
+    @Benchmark
+    public void parseHeader(Blackhole blackhole) throws ManifestElementParserException {
+        for (String header : headers) {
+            for (ManifestElement manifestElement : ManifestElement.parseHeader(PROVIDE_CAPABILITY, header, null)) {
+                consume(manifestElement, blackhole);
+            }
+        }
+    }
+
+    @Benchmark
+    public void parseHeaderInPlace(Blackhole blackhole) throws ManifestElementParserException {
+        for (String header : headers) {
+            for (ManifestElement manifestElement :
+                    ManifestElement.parseHeaderInPlace(PROVIDE_CAPABILITY, header, null)) {
+                consume(manifestElement, blackhole);
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) {
+        for (String header : headers) {
+            Tokenizer tokenizer = new Tokenizer(header);
+            char c;
+            do {
+                blackhole.consume(tokenizer.getString(";,=:"));
+                c = tokenizer.getChar();
+            } while (c != '\0');
+        }
+    }
+
+    private void consume(ManifestElement manifestElement, Blackhole blackhole) {
+        blackhole.consume(manifestElement.getValue());
+        blackhole.consume(manifestElement.getAttribute("objectClass"));
+        blackhole.consume(manifestElement.getAttribute("capability-name"));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.extensions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.benchmarks.BenchmarkUtils;
+import org.wso2.carbon.launcher.extensions.model.BundleInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+/**
+ * JMH benchmark which measures {@link DropinsBundleDeployerUtils#getNewBundlesInfo(Path, Path, int)} over a synthetic
+ * dropins directory with the given number of OSGi bundles, both reading every bundle manifest and reusing the dropins
+ * index of a previous scan.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DropinsBundleDeployerUtilsBenchmark {
+    @Param({"50", "400"})
+    private int bundleCount;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private Path dropinsDirectory;
+    private Path dropinsIndex;
+
+    @Setup
+    public void init() throws IOException {
+        dropinsDirectory = Files.createTempDirectory("dropins");
+        dropinsIndex = dropinsDirectory.resolveSibling(dropinsDirectory.getFileName() + ".index");
+        for (int i = 0; i < bundleCount; i++) {
+            Manifest manifest = new Manifest();
+            Attributes attributes = manifest.getMainAttributes();
+            attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            attributes.putValue("Bundle-ManifestVersion", "2");
+            attributes.putValue("Bundle-SymbolicName", "org.wso2.carbon.benchmarks.bundle" + i + ";singleton:=true");
+            attributes.putValue("Bundle-Version", "1.0.0");
+            BenchmarkUtils.createJar(dropinsDirectory.resolve("org.wso2.carbon.benchmarks.bundle" + i + "-1.0.0.jar"),
+                    manifest, 20);
+        }
+    }
+
+    @TearDown
+    public void destroy() throws IOException {
+        BenchmarkUtils.deleteDirectory(dropinsDirectory);
+        Files.deleteIfExists(dropinsIndex);
+    }
+
+    @Benchmark
+    public List<BundleInfo> getNewBundlesInfo() throws IOException {
+        Files.deleteIfExists(dropinsIndex);
+        return DropinsBundleDeployerUtils.getNewBundlesInfo(dropinsDirectory, dropinsIndex, parallelism);
+    }
+
+    @Benchmark
+    public List<BundleInfo> getNewBundlesInfoFromIndex() throws IOException {
+        return DropinsBundleDeployerUtils.getNewBundlesInfo(dropinsDirectory, dropinsIndex, parallelism);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.tools.converter.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.benchmarks.BenchmarkUtils;
+import org.wso2.carbon.tools.exception.CarbonToolException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+/**
+ * JMH benchmark which measures converting a non-OSGi JAR file with the given number of class files into an OSGi
+ * bundle with {@link BundleGeneratorUtils#convertFromJarToBundle(Path, Path, Manifest, String)}.
+ *
+ * @since 5.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BundleGeneratorUtilsBenchmark {
+    @Param({"100", "2000"})
+    private int classCount;
+
+    private Path workingDirectory;
+    private Path jarFile;
+    private Path targetDirectory;
+
+    @Setup
+    public void init() throws IOException {
+        workingDirectory = Files.createTempDirectory("bundle-generator");
+        jarFile = workingDirectory.resolve("benchmark-library-1.0.0.jar");
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        BenchmarkUtils.createJar(jarFile, manifest, classCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void createTargetDirectory() throws IOException {
+        // The bundle is not generated again if it already exists in the target directory.
+        targetDirectory = Files.createDirectories(workingDirectory.resolve("target"));
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteTargetDirectory() throws IOException {
+        BenchmarkUtils.deleteDirectory(targetDirectory);
+    }
+
+    @TearDown
+    public void destroy() throws IOException {
+        BenchmarkUtils.deleteDirectory(workingDirectory);
+    }
+
+    @Benchmark
+    public Path convertFromJarToBundle() throws IOException, CarbonToolException {
+        BundleGeneratorUtils.convertFromJarToBundle(jarFile, targetDirectory, new Manifest(), "");
+        return targetDirectory;
+    }
+}
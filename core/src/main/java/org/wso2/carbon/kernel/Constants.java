@@ -25,8 +25,15 @@ public final class Constants {
     public static final String CARBON_HOME = "carbon.home";
     public static final String CARBON_HOME_ENV = "CARBON_HOME";
     public static final String CARBON_CONFIG_YAML = "carbon.yml";
+    public static final String CARBON_CONFIG_SNAPSHOT = "carbon.config.snapshot";
+    public static final String CARBON_CONFIG_SNAPSHOT_FILE = "carbon-configuration.snapshot";
 
     public static final String START_TIME = "carbon.start.time";
+    public static final String START_NANO_TIME = "carbon.start.nanotime";
+    public static final String STARTUP_TIMELINE = "carbon.startup.timeline";
+    public static final String START_MODE = "carbon.start.mode";
+    public static final String STARTUP_TIMELINE_FILE = "startup-timeline.json";
+    public static final String STARTUP_ABORTED = "carbon.startup.aborted";
 
     public static final String LOGIN_MODULE_ENTRY = "CarbonSecurityConfig";
 
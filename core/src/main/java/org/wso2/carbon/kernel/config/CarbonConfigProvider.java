@@ -18,6 +18,8 @@ package org.wso2.carbon.kernel.config;
 
 import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
 
+import java.util.Optional;
+
 /**
  * CarbonConfigProvider allows CarbonRuntime implementations to retrieve a CarbonConfiguration instance.
  * CarbonConfiguration can be populated from different sources. For an example, from a file or from a URL. This class
@@ -28,9 +30,25 @@ import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
 public interface CarbonConfigProvider {
 
     /**
-     * Returns a populated CarbonConfiguration instance.
+     * Returns a populated CarbonConfiguration instance. Implementations which cache the CarbonConfiguration should
+     * return a copy of it, since the caller may modify the returned instance.
      *
      * @return a instance of the CarbonConfiguration
      */
     public CarbonConfiguration getCarbonConfiguration();
+
+    /**
+     * Returns a top level section of the Carbon configuration mapped to the given type. This allows components to
+     * keep their configuration in the Carbon configuration without parsing the configuration source again.
+     * Implementations which cache the sections should return a copy, since the caller may modify the returned section.
+     *
+     * @param sectionName name of the section
+     * @param sectionType type to which the section is mapped
+     * @param <T>         section type
+     * @return the section, or an empty Optional if the section is not available
+     * @since 5.1.0
+     */
+    default <T> Optional<T> getConfigurationSection(String sectionName, Class<T> sectionType) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,43 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.config;
+
+import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+
+import java.util.Set;
+
+/**
+ * ConfigurationChangeListener is notified when the Carbon configuration is reloaded with changes.
+ * <p>
+ * Implementations should be registered as OSGi services. Listeners are notified one after the other from the thread
+ * which reloads the configuration, hence they should not block.
+ *
+ * @since 5.1.0
+ */
+public interface ConfigurationChangeListener {
+
+    /**
+     * Invoked after the CarbonRuntime is updated with the reloaded configuration.
+     *
+     * @param previousConfiguration the configuration before the reload
+     * @param currentConfiguration  the reloaded configuration
+     * @param changedSections       names of the top level configuration sections which have changed
+     */
+    void onConfigurationChanged(CarbonConfiguration previousConfiguration, CarbonConfiguration currentConfiguration,
+                                Set<String> changedSections);
+}
@@ -0,0 +1,41 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.config;
+
+import java.util.Map;
+
+/**
+ * PlaceholderProvider allows components to contribute default values for the ${variable} placeholders used in
+ * configuration files. These values are used when the variable is neither set as a system property nor as an
+ * environment variable.
+ * <p>
+ * Implementations should be registered as OSGi services. The placeholders are read once, when the service is
+ * registered.
+ *
+ * @since 5.1.0
+ */
+public interface PlaceholderProvider {
+
+    /**
+     * Returns the placeholder values contributed by this provider. Keys are the variable names, e.g. server.name or
+     * SERVER_NAME, which refer to the same placeholder.
+     *
+     * @return a map of placeholder names to their values
+     */
+    Map<String, String> getPlaceholders();
+}
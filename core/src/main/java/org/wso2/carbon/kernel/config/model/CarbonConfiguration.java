@@ -41,6 +41,10 @@ public class CarbonConfiguration {
 
     private JMXConfiguration jmx = new JMXConfiguration();
 
+    private ConfigReloadConfig configReload = new ConfigReloadConfig();
+
+    private TenantAccountingConfig tenantAccounting = new TenantAccountingConfig();
+
     public String getId() {
         return id;
     }
@@ -72,4 +76,12 @@ public class CarbonConfiguration {
     public JMXConfiguration getJmxConfiguration() {
         return jmx;
     }
+
+    public ConfigReloadConfig getConfigReloadConfig() {
+        return configReload;
+    }
+
+    public TenantAccountingConfig getTenantAccountingConfig() {
+        return tenantAccounting;
+    }
 }
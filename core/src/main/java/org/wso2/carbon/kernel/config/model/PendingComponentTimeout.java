@@ -0,0 +1,73 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.config.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Config bean for pendingComponentTimeout in carbon.yml file.
+ * <p>
+ * The timeout is the time in milliseconds a startup component can wait for its required capabilities, and the
+ * policy decides what happens to the component afterwards. A timeout of zero disables the deadline. Startup
+ * components can override both the timeout and the policy.
+ *
+ * @since 5.1.0
+ */
+public class PendingComponentTimeout {
+
+    private long timeout = 0;
+
+    private PendingComponentPolicyEnum policy = PendingComponentPolicyEnum.wait;
+
+    private Map<String, ComponentTimeout> components = new HashMap<>();
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public PendingComponentPolicyEnum getPolicy() {
+        return policy;
+    }
+
+    public Map<String, ComponentTimeout> getComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the timeout of the given startup component.
+     *
+     * @param componentName name of the startup component
+     * @return timeout in milliseconds, or zero if the component does not have a deadline
+     */
+    public long getTimeout(String componentName) {
+        ComponentTimeout componentTimeout = components.get(componentName);
+        return componentTimeout != null && componentTimeout.getTimeout() > 0 ? componentTimeout.getTimeout() : timeout;
+    }
+
+    /**
+     * Returns the policy applied to the given startup component once its deadline passes.
+     *
+     * @param componentName name of the startup component
+     * @return the pending component policy
+     */
+    public PendingComponentPolicyEnum getPolicy(String componentName) {
+        ComponentTimeout componentTimeout = components.get(componentName);
+        return componentTimeout != null && componentTimeout.getPolicy() != null ? componentTimeout.getPolicy() : policy;
+    }
+}
@@ -26,6 +26,14 @@ public class StartupResolverConfig {
 
     private PendingCapabilityTimer pendingCapabilityTimer = new PendingCapabilityTimer();
 
+    private CapabilityListenerExecutor capabilityListenerExecutor = new CapabilityListenerExecutor();
+
+    private PendingComponentTimeout pendingComponentTimeout = new PendingComponentTimeout();
+
+    private boolean continuousCapabilityTracking = false;
+
+    private boolean resolutionCacheEnabled = true;
+
     public CapabilityListenerTimer getCapabilityListenerTimer() {
         return capabilityListenerTimer;
     }
@@ -33,4 +41,20 @@ public class StartupResolverConfig {
     public PendingCapabilityTimer getPendingCapabilityTimer() {
         return pendingCapabilityTimer;
     }
+
+    public CapabilityListenerExecutor getCapabilityListenerExecutor() {
+        return capabilityListenerExecutor;
+    }
+
+    public PendingComponentTimeout getPendingComponentTimeout() {
+        return pendingComponentTimeout;
+    }
+
+    public boolean isContinuousCapabilityTracking() {
+        return continuousCapabilityTracking;
+    }
+
+    public boolean isResolutionCacheEnabled() {
+        return resolutionCacheEnabled;
+    }
 }
@@ -55,12 +55,19 @@ public class CarbonContext {
     }
 
     /**
-     * Returns the carbon context instance which is stored at current thread local space.
+     * Returns the carbon context instance which is stored at current thread local space. The same instance is returned
+     * until the current context is destroyed.
      *
      * @return the carbon context instance.
      */
     public static CarbonContext getCurrentContext() {
-        return new CarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.getCurrentContextHolder();
+        CarbonContext carbonContext = carbonContextHolder.getCarbonContext();
+        if (carbonContext == null) {
+            carbonContext = new CarbonContext(carbonContextHolder);
+            carbonContextHolder.setCarbonContext(carbonContext);
+        }
+        return carbonContext;
     }
 
 
@@ -0,0 +1,150 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Decorators for executors which run each task with the CarbonContext of the thread which submitted it.
+ * <p>
+ * The CarbonContext is captured when a task is submitted, see {@link CarbonContextSnapshot}. These executors can be
+ * passed to asynchronous APIs such as {@link java.util.concurrent.CompletableFuture#supplyAsync(
+ * java.util.function.Supplier, Executor)}.
+ *
+ * @since 5.1.0
+ */
+public final class CarbonContextExecutors {
+
+    private CarbonContextExecutors() {
+        throw new AssertionError("Instantiating utility class...");
+    }
+
+    /**
+     * Returns an Executor which runs the tasks in the given executor with the CarbonContext of the submitting thread.
+     *
+     * @param executor the executor to be decorated.
+     * @return the decorated executor.
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(CarbonContextSnapshot.capture().wrap(task));
+    }
+
+    /**
+     * Returns an ExecutorService which runs the tasks in the given executor service with the CarbonContext of the
+     * submitting thread. Shutting down the returned executor service shuts down the given executor service.
+     *
+     * @param executorService the executor service to be decorated.
+     * @return the decorated executor service.
+     */
+    public static ExecutorService propagating(ExecutorService executorService) {
+        return new PropagatingExecutorService(executorService);
+    }
+
+    /**
+     * ExecutorService decorator which wraps each task with a snapshot of the submitting thread's CarbonContext.
+     */
+    private static class PropagatingExecutorService implements ExecutorService {
+        private final ExecutorService executorService;
+
+        private PropagatingExecutorService(ExecutorService executorService) {
+            this.executorService = executorService;
+        }
+
+        private static <T> List<Callable<T>> wrap(Collection<? extends Callable<T>> tasks) {
+            CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+            return tasks.stream().map(snapshot::wrap).collect(Collectors.toList());
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            executorService.execute(CarbonContextSnapshot.capture().wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return executorService.submit(CarbonContextSnapshot.capture().wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return executorService.submit(CarbonContextSnapshot.capture().wrap(task), result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return executorService.submit(CarbonContextSnapshot.capture().wrap(task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return executorService.invokeAll(wrap(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return executorService.invokeAll(wrap(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException {
+            return executorService.invokeAny(wrap(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return executorService.invokeAny(wrap(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            executorService.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executorService.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executorService.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executorService.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executorService.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.context;
+
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+import org.wso2.carbon.kernel.utils.Utils;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * An immutable snapshot of the CarbonContext of a thread, which can be restored in another thread. This allows the
+ * tenant, the user principal and the properties to be carried across thread pools and asynchronous tasks.
+ * <p>
+ * A restored snapshot is scoped: the task runs with a fresh copy of the snapshot and the previous context of the
+ * thread is reinstated when the scope is closed. Hence changes made by the task are not visible to other tasks and a
+ * pooled thread does not retain the context after the task.
+ * <pre>
+ * CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+ * executor.execute(() -&gt; {
+ *     CarbonContextSnapshot.Scope scope = snapshot.restore();
+ *     try {
+ *         ...
+ *     } finally {
+ *         scope.close();
+ *     }
+ * });
+ * </pre>
+ *
+ * @since 5.1.0
+ */
+public final class CarbonContextSnapshot {
+    private final String tenant;
+    private final Principal userPrincipal;
+    private final Map<String, Object> properties;
+
+    private CarbonContextSnapshot(CarbonContextHolder carbonContextHolder) {
+        this.tenant = carbonContextHolder.getTenant();
+        this.userPrincipal = carbonContextHolder.getUserPrincipal();
+        this.properties = Collections.unmodifiableMap(carbonContextHolder.copyProperties());
+    }
+
+    /**
+     * Captures the CarbonContext of the current thread.
+     *
+     * @return the snapshot of the current CarbonContext.
+     */
+    public static CarbonContextSnapshot capture() {
+        Utils.checkSecurity();
+        return new CarbonContextSnapshot(CarbonContextHolder.getCurrentContextHolder());
+    }
+
+    /**
+     * Restores this snapshot as the CarbonContext of the current thread, until the returned scope is closed. The
+     * resources used within the scope are accounted to the tenant of this snapshot.
+     *
+     * @return the scope, which reinstates the previous CarbonContext of the current thread when it is closed.
+     */
+    public Scope restore() {
+        CarbonContextHolder previousContextHolder = CarbonContextHolder.peekCurrentContextHolder();
+        CarbonContextHolder.setCurrentContextHolder(
+                CarbonContextHolder.newContextHolder(tenant, userPrincipal, properties));
+        TenantResourceAccounting.Measurement measurement = TenantResourceAccounting.startMeasurement();
+        return () -> {
+            measurement.close();
+            CarbonContextHolder.setCurrentContextHolder(previousContextHolder);
+        };
+    }
+
+    /**
+     * Returns a Runnable which runs the given task with this snapshot restored.
+     *
+     * @param task the task to be wrapped.
+     * @return the wrapped task.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            Scope scope = restore();
+            try {
+                task.run();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * Returns a Callable which calls the given task with this snapshot restored.
+     *
+     * @param task the task to be wrapped.
+     * @param <V>  the result type of the task.
+     * @return the wrapped task.
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            Scope scope = restore();
+            try {
+                return task.call();
+            } finally {
+                scope.close();
+            }
+        };
+    }
+
+    /**
+     * Returns the tenant of this snapshot.
+     *
+     * @return the tenant name.
+     */
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * Returns the user principal of this snapshot.
+     *
+     * @return the user principal, or null if no principal is set.
+     */
+    public Principal getUserPrincipal() {
+        return userPrincipal;
+    }
+
+    /**
+     * Returns the value of the given property in this snapshot.
+     *
+     * @param name property key name to lookup.
+     * @return the value stored using the given key, or null if no value is set.
+     */
+    public Object getProperty(String name) {
+        return properties.get(name);
+    }
+
+    /**
+     * A scope in which a snapshot is restored. Closing the scope reinstates the previous CarbonContext of the thread.
+     */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -36,13 +36,20 @@ public final class PrivilegedCarbonContext extends CarbonContext {
     }
 
     /**
-     * Returns the carbon context instance which is stored at current thread local space.
+     * Returns the carbon context instance which is stored at current thread local space. The same instance is returned
+     * until the current context is destroyed.
      *
      * @return the carbon context instance.
      */
     public static PrivilegedCarbonContext getCurrentContext() {
         Utils.checkSecurity();
-        return new PrivilegedCarbonContext(CarbonContextHolder.getCurrentContextHolder());
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.getCurrentContextHolder();
+        PrivilegedCarbonContext carbonContext = carbonContextHolder.getPrivilegedCarbonContext();
+        if (carbonContext == null) {
+            carbonContext = new PrivilegedCarbonContext(carbonContextHolder);
+            carbonContextHolder.setPrivilegedCarbonContext(carbonContext);
+        }
+        return carbonContext;
     }
 
     /**
@@ -50,7 +57,7 @@ public final class PrivilegedCarbonContext extends CarbonContext {
      */
     public static void destroyCurrentContext() {
         Utils.checkSecurity();
-        getCurrentContext().getCarbonContextHolder().destroyCurrentCarbonContextHolder();
+        CarbonContextHolder.removeCurrentContextHolder();
     }
 
     /**
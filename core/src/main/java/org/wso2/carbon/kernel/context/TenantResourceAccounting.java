@@ -0,0 +1,91 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.context;
+
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+import org.wso2.carbon.kernel.internal.context.TenantResourceUsage;
+
+/**
+ * Attributes the resources used by a request to the tenant of the current CarbonContext.
+ * <p>
+ * A measurement samples the CPU time and the allocated bytes of the current thread when it is started, and adds the
+ * difference to the tenant when it is closed, together with a request count. The accounted usage is exposed through
+ * the TenantResourceUsage MBean. If the accounting is disabled, a measurement does nothing.
+ * <pre>
+ * TenantResourceAccounting.Measurement measurement = TenantResourceAccounting.startMeasurement();
+ * try {
+ *     ...
+ * } finally {
+ *     measurement.close();
+ * }
+ * </pre>
+ * Restored {@link CarbonContextSnapshot}s are measured as well, hence tasks submitted to executors returned by
+ * {@link CarbonContextExecutors} are accounted to the tenant which submitted them.
+ *
+ * @since 5.1.0
+ */
+public final class TenantResourceAccounting {
+    private static final Measurement NOOP_MEASUREMENT = () -> {
+    };
+
+    private TenantResourceAccounting() {
+    }
+
+    /**
+     * Returns whether the resources used by tenants are accounted.
+     *
+     * @return true if the accounting is enabled
+     */
+    public static boolean isEnabled() {
+        return TenantResourceUsage.getInstance().isEnabled();
+    }
+
+    /**
+     * Starts measuring the resources used by the current thread for the tenant of the current CarbonContext.
+     *
+     * @return the measurement, which records the used resources when it is closed.
+     */
+    public static Measurement startMeasurement() {
+        TenantResourceUsage tenantResourceUsage = TenantResourceUsage.getInstance();
+        if (!tenantResourceUsage.isEnabled()) {
+            return NOOP_MEASUREMENT;
+        }
+        // A CarbonContextHolder is not created for a thread which does not have one, e.g. a pooled thread.
+        CarbonContextHolder carbonContextHolder = CarbonContextHolder.peekCurrentContextHolder();
+        String tenant = carbonContextHolder != null ?
+                carbonContextHolder.getTenant() : CarbonContextHolder.getDefaultTenant();
+        if (tenant == null) {
+            return NOOP_MEASUREMENT;
+        }
+        long cpuTime = tenantResourceUsage.getCurrentThreadCpuTime();
+        long allocatedBytes = tenantResourceUsage.getCurrentThreadAllocatedBytes();
+        return () -> tenantResourceUsage.record(tenant,
+                tenantResourceUsage.getCurrentThreadCpuTime() - cpuTime,
+                tenantResourceUsage.getCurrentThreadAllocatedBytes() - allocatedBytes);
+    }
+
+    /**
+     * A measurement of the resources used by the current thread. The measurement must be closed in the thread which
+     * started it.
+     */
+    public interface Measurement extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
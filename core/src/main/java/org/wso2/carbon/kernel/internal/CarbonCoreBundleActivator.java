@@ -20,11 +20,15 @@ import org.osgi.framework.BundleContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.CarbonRuntime;
+import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.config.CarbonConfigProvider;
 import org.wso2.carbon.kernel.internal.config.YAMLBasedConfigProvider;
 import org.wso2.carbon.kernel.internal.context.CarbonRuntimeFactory;
+import org.wso2.carbon.kernel.internal.context.TenantResourceUsage;
 import org.wso2.carbon.kernel.utils.MBeanRegistrator;
 
+import java.io.File;
+
 /**
  * Activator class for carbon core.
  *
@@ -35,18 +39,42 @@ public class CarbonCoreBundleActivator implements BundleActivator {
 
     @Override
     public void start(BundleContext bundleContext) throws Exception {
+        long phaseStartTime = System.nanoTime();
         DataHolder.getInstance().setBundleContext(bundleContext);
 
-        // 1) Find to initialize the Carbon configuration provider
-        CarbonConfigProvider configProvider = new YAMLBasedConfigProvider();
+        // 1) Find to initialize the Carbon configuration provider. If enabled, the resolved configuration is kept in a
+        // binary snapshot in the configuration area of the profile.
+        File snapshotFile = Boolean.getBoolean(Constants.CARBON_CONFIG_SNAPSHOT) ?
+                bundleContext.getDataFile(Constants.CARBON_CONFIG_SNAPSHOT_FILE) : null;
+        CarbonConfigProvider configProvider =
+                new YAMLBasedConfigProvider(snapshotFile != null ? snapshotFile.toPath() : null);
 
         // 2) Creates the CarbonRuntime instance using the Carbon configuration provider.
+        long configLoadStartTime = System.nanoTime();
         CarbonRuntime carbonRuntime = CarbonRuntimeFactory.createCarbonRuntime(configProvider);
+        StartupTimeline.recordPhase("kernel.config.load", configLoadStartTime);
 
         // 3) Register CarbonRuntime instance as an OSGi bundle.
         bundleContext.registerService(CarbonRuntime.class.getName(), carbonRuntime, null);
 
+        // 4) Register the Carbon configuration provider, which allows components to look up their configuration
+        // sections without parsing the configuration again.
+        bundleContext.registerService(CarbonConfigProvider.class, configProvider, null);
+
         DataHolder.getInstance().setCarbonRuntime(carbonRuntime);
+        DataHolder.getInstance().setCarbonConfigProvider(configProvider);
+
+        // 5) Account the resources used by tenants, if enabled, and expose them as an MBean.
+        if (carbonRuntime.getConfiguration().getTenantAccountingConfig().isEnabled()) {
+            TenantResourceUsage tenantResourceUsage = TenantResourceUsage.getInstance();
+            tenantResourceUsage.setEnabled(true);
+            try {
+                MBeanRegistrator.registerMBean(tenantResourceUsage);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to register the tenant resource usage MBean", e);
+            }
+        }
+        StartupTimeline.recordPhase("kernel.activator", phaseStartTime);
         logger.debug("Carbon core bundle is started successfully");
     }
 
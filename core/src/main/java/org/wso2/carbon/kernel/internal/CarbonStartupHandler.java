@@ -17,7 +17,10 @@ package org.wso2.carbon.kernel.internal;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.utils.CarbonServerInfo;
+import org.wso2.carbon.kernel.utils.MBeanRegistrator;
+import org.wso2.carbon.kernel.utils.Utils;
 
 import java.text.DecimalFormat;
 
@@ -37,13 +40,26 @@ public class CarbonStartupHandler {
      * Log the server start up time.
      */
     public static void logServerStartupTime() {
-        double startTime = Long.parseLong(System.getProperty(org.wso2.carbon.kernel.Constants.START_TIME));
+        double startTime = Long.parseLong(System.getProperty(Constants.START_TIME));
         double startupTime = (System.currentTimeMillis() - startTime) / 1000;
 
         DecimalFormat decimalFormatter = new DecimalFormat("#,##0.000");
         logger.info("WSO2 Carbon started in " + Double.valueOf(decimalFormatter.format(startupTime)) + " sec");
     }
 
+    /**
+     * Write the startup timeline to the logs directory of the Carbon home and register it as an MBean.
+     */
+    public static void publishStartupTimeline() {
+        StartupTimeline startupTimeline = StartupTimeline.getInstance();
+        startupTimeline.writeTo(Utils.getCarbonHome().resolve("logs").resolve(Constants.STARTUP_TIMELINE_FILE));
+        try {
+            MBeanRegistrator.registerMBean(startupTimeline);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to register the startup timeline MBean", e);
+        }
+    }
+
     /**
      * Register the the CarbonServerInfo as an OSGi service. Other components can identify the server startup completion
      * by listening to the CarbonServerInfo Service registration.
@@ -17,6 +17,7 @@ package org.wso2.carbon.kernel.internal;
 
 import org.osgi.framework.BundleContext;
 import org.wso2.carbon.kernel.CarbonRuntime;
+import org.wso2.carbon.kernel.config.CarbonConfigProvider;
 import org.wso2.carbon.kernel.internal.runtime.RuntimeManager;
 
 /**
@@ -32,6 +33,8 @@ public class DataHolder {
 
     private CarbonRuntime carbonRuntime;
 
+    private CarbonConfigProvider carbonConfigProvider;
+
     public static DataHolder getInstance() {
         return instance;
     }
@@ -81,4 +84,22 @@ public class DataHolder {
     public void setCarbonRuntime(CarbonRuntime carbonRuntime) {
         this.carbonRuntime = carbonRuntime;
     }
+
+    /**
+     * Returns the CarbonConfigProvider which provided the configuration of the carbonRuntime.
+     *
+     * @return the CarbonConfigProvider instance
+     */
+    public CarbonConfigProvider getCarbonConfigProvider() {
+        return carbonConfigProvider;
+    }
+
+    /**
+     * Sets the CarbonConfigProvider which provided the configuration of the carbonRuntime.
+     *
+     * @param carbonConfigProvider the CarbonConfigProvider to be stored with this holder
+     */
+    public void setCarbonConfigProvider(CarbonConfigProvider carbonConfigProvider) {
+        this.carbonConfigProvider = carbonConfigProvider;
+    }
 }
@@ -0,0 +1,204 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.Constants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * {@code StartupTimeline} records the phases of the server startup from the launcher through the startup order
+ * resolver.
+ * <p>
+ * Phases of the Carbon kernel are kept in the {@link #getInstance() StartupTimeline instance}. The Carbon launcher and
+ * the Carbon kernel are loaded by different class loaders, hence the launcher hands over its phases in the
+ * {@code carbon.startup.timeline} system property, as {@code name=start,end} entries separated by {@code ;}. The start
+ * and end times are obtained from {@code System.nanoTime()}. The property is cleared once its phases are consumed.
+ *
+ * @since 5.1.0
+ */
+public class StartupTimeline implements StartupTimelineMBean {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+
+    private static final StartupTimeline instance = new StartupTimeline();
+
+    private final List<Phase> phases = new ArrayList<>();
+
+    StartupTimeline() {
+    }
+
+    public static StartupTimeline getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records a startup phase which started at the given time and ends now.
+     *
+     * @param phaseName     name of the phase
+     * @param startNanoTime value of {@code System.nanoTime()} at the start of the phase
+     */
+    public static void recordPhase(String phaseName, long startNanoTime) {
+        instance.addPhase(phaseName, startNanoTime, System.nanoTime());
+    }
+
+    /**
+     * Adds a startup phase to this timeline.
+     *
+     * @param phaseName     name of the phase
+     * @param startNanoTime value of {@code System.nanoTime()} at the start of the phase
+     * @param endNanoTime   value of {@code System.nanoTime()} at the end of the phase
+     */
+    synchronized void addPhase(String phaseName, long startNanoTime, long endNanoTime) {
+        phases.add(new Phase(phaseName, startNanoTime, endNanoTime));
+    }
+
+    @Override
+    public String getTimelineAsJSON() {
+        List<Phase> phases = getPhases();
+        long originNanoTime = getOriginNanoTime(phases);
+
+        return phases
+                .stream()
+                .map(phase -> "\n    {\"name\": \"" + phase.name.replace("\"", "\\\"") + "\"" +
+                        ", \"start\": " + toMillis(phase.startNanoTime - originNanoTime) +
+                        ", \"duration\": " + toMillis(phase.endNanoTime - phase.startNanoTime) + "}")
+                .collect(Collectors.joining(",",
+                        "{\n  \"startTime\": " + System.getProperty(Constants.START_TIME) +
+                                ",\n  \"startMode\": \"" + getStartMode() + "\"" +
+                                ",\n  \"startupDuration\": " + toMillis(getDuration(phases, originNanoTime)) +
+                                ",\n  \"phases\": [",
+                        "\n  ]\n}\n"));
+    }
+
+    @Override
+    public double getStartupDuration() {
+        List<Phase> phases = getPhases();
+        return getDuration(phases, getOriginNanoTime(phases)) / 1_000_000d;
+    }
+
+    @Override
+    public String getStartMode() {
+        return System.getProperty(Constants.START_MODE, "unknown");
+    }
+
+    /**
+     * Writes the startup timeline in the JSON format to the given file.
+     *
+     * @param timelineFile file to which the timeline is written
+     */
+    void writeTo(Path timelineFile) {
+        try {
+            Files.createDirectories(timelineFile.getParent());
+            Files.write(timelineFile, getTimelineAsJSON().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to write the startup timeline to " + timelineFile, e);
+        }
+    }
+
+    /**
+     * Returns the recorded phases sorted by the start time. The phases handed over by the launcher are consumed.
+     *
+     * @return a list of recorded startup phases
+     */
+    synchronized List<Phase> getPhases() {
+        consumeLauncherPhases();
+        List<Phase> sortedPhases = new ArrayList<>(phases);
+        sortedPhases.sort(Comparator.comparingLong(phase -> phase.startNanoTime));
+        return sortedPhases;
+    }
+
+    private void consumeLauncherPhases() {
+        String timeline;
+        // The launcher appends to the property while holding the same lock.
+        synchronized (System.getProperties()) {
+            timeline = System.getProperty(Constants.STARTUP_TIMELINE);
+            System.clearProperty(Constants.STARTUP_TIMELINE);
+        }
+        if (timeline == null) {
+            return;
+        }
+
+        for (String phase : timeline.split(";")) {
+            int separator = phase.lastIndexOf('=');
+            if (separator <= 0) {
+                logger.debug("Ignoring invalid startup phase {}", phase);
+                continue;
+            }
+            String[] times = phase.substring(separator + 1).split(",");
+            try {
+                phases.add(new Phase(phase.substring(0, separator), Long.parseLong(times[0]),
+                        Long.parseLong(times[1])));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                logger.debug("Ignoring invalid startup phase {}", phase);
+            }
+        }
+    }
+
+    private static long getOriginNanoTime(List<Phase> phases) {
+        String startNanoTime = System.getProperty(Constants.START_NANO_TIME);
+        if (startNanoTime != null) {
+            return Long.parseLong(startNanoTime);
+        }
+        return phases.isEmpty() ? System.nanoTime() : phases.get(0).startNanoTime;
+    }
+
+    private static long getDuration(List<Phase> phases, long originNanoTime) {
+        return phases
+                .stream()
+                .mapToLong(phase -> phase.endNanoTime - originNanoTime)
+                .max()
+                .orElse(0);
+    }
+
+    private static String toMillis(long nanoTime) {
+        return String.format(Locale.ENGLISH, "%.3f", nanoTime / 1_000_000d);
+    }
+
+    /**
+     * A recorded startup phase.
+     */
+    static class Phase {
+        private final String name;
+        private final long startNanoTime;
+        private final long endNanoTime;
+
+        Phase(String name, long startNanoTime, long endNanoTime) {
+            this.name = name;
+            this.startNanoTime = startNanoTime;
+            this.endNanoTime = endNanoTime;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        long getDuration() {
+            return endNanoTime - startNanoTime;
+        }
+    }
+}
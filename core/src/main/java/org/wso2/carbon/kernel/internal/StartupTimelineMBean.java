@@ -0,0 +1,48 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal;
+
+/**
+ * MBean interface for exposing the server startup timeline.
+ *
+ * @since 5.1.0
+ */
+public interface StartupTimelineMBean {
+
+    /**
+     * Returns the recorded startup phases in the JSON format. The start time and the duration of each phase are in
+     * milliseconds, and start times are relative to the server start.
+     *
+     * @return the startup timeline as a JSON document.
+     */
+    String getTimelineAsJSON();
+
+    /**
+     * Returns the time taken from the server start to the end of the last recorded startup phase.
+     *
+     * @return the server startup duration in milliseconds.
+     */
+    double getStartupDuration();
+
+    /**
+     * Returns whether the OSGi framework was warm started with its persisted state or clean started.
+     *
+     * @return warm or clean, or unknown if the server was not started by the Carbon launcher.
+     */
+    String getStartMode();
+}
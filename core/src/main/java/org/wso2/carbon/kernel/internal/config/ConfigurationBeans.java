@@ -0,0 +1,168 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates deep copies of configuration beans, so that a cached configuration can be handed out without sharing its
+ * mutable state.
+ * <p>
+ * Configuration beans are constructed by the YAML parser, hence every bean has a no-argument constructor. Beans are
+ * copied field by field, collections and maps are copied into a new instance of the same class where possible, and
+ * immutable values such as strings, boxed primitives and enums are shared. A value which cannot be instantiated is
+ * shared as it is.
+ *
+ * @since 5.1.0
+ */
+final class ConfigurationBeans {
+
+    private static final ClassValue<Field[]> beanFields = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> beanClass) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        fields.add(field);
+                    }
+                }
+            }
+            Field[] fieldArray = fields.toArray(new Field[fields.size()]);
+            AccessibleObject.setAccessible(fieldArray, true);
+            return fieldArray;
+        }
+    };
+
+    private ConfigurationBeans() {
+    }
+
+    /**
+     * Returns a deep copy of the given configuration bean.
+     *
+     * @param bean the configuration bean
+     * @param <T>  bean type
+     * @return the copy, or the given value if it is immutable
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T bean) {
+        return (T) copyValue(bean, new IdentityHashMap<>());
+    }
+
+    private static Object copyValue(Object value, Map<Object, Object> copies) {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+        Object copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            copy = Array.newInstance(type.getComponentType(), length);
+            copies.put(value, copy);
+            for (int i = 0; i < length; i++) {
+                Array.set(copy, i, copyValue(Array.get(value, i), copies));
+            }
+            return copy;
+        }
+        if (value instanceof Collection) {
+            return copyCollection((Collection<?>) value, copies);
+        }
+        if (value instanceof Map) {
+            return copyMap((Map<?, ?>) value, copies);
+        }
+        return copyBean(value, copies);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyCollection(Collection<?> collection, Map<Object, Object> copies) {
+        Collection<Object> copy = (Collection<Object>) newInstance(collection.getClass());
+        if (copy == null) {
+            copy = collection instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+        }
+        copies.put(collection, copy);
+        for (Object item : collection) {
+            copy.add(copyValue(item, copies));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyMap(Map<?, ?> map, Map<Object, Object> copies) {
+        Map<Object, Object> copy = (Map<Object, Object>) newInstance(map.getClass());
+        if (copy == null) {
+            copy = new LinkedHashMap<>();
+        }
+        copies.put(map, copy);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            copy.put(copyValue(entry.getKey(), copies), copyValue(entry.getValue(), copies));
+        }
+        return copy;
+    }
+
+    private static Object copyBean(Object bean, Map<Object, Object> copies) {
+        Object copy = newInstance(bean.getClass());
+        if (copy == null) {
+            return bean;
+        }
+        copies.put(bean, copy);
+        try {
+            for (Field field : beanFields.get(bean.getClass())) {
+                field.set(copy, copyValue(field.get(bean), copies));
+            }
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            return bean;
+        }
+        return copy;
+    }
+
+    private static Object newInstance(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Character ||
+                value instanceof Enum || value instanceof Class || value instanceof Integer ||
+                value instanceof Long || value instanceof Double || value instanceof Float ||
+                value instanceof Short || value instanceof Byte || value instanceof BigInteger ||
+                value instanceof BigDecimal;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a configuration file and runs a reload task when the file is created or modified. The task runs once the
+ * file has not been modified for the given delay, hence an editor saving the file in several steps triggers a single
+ * reload.
+ * <p>
+ * The directory of the file is watched. If the file is a symbolic link, replacing the link or a link it resolves
+ * through within that directory is detected by comparing the resolved path of the file, e.g. when a mounted
+ * configuration swaps a {@code ..data} link. Modifying the target of a link in place is not detected unless the
+ * target is in the same directory.
+ *
+ * @since 5.1.0
+ */
+public class ConfigurationFileWatcher implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationFileWatcher.class);
+
+    private final Path configFile;
+    private final long delay;
+    private final Runnable reloadTask;
+    private WatchService watchService;
+    private Thread watcherThread;
+    private Path resolvedConfigFile;
+
+    public ConfigurationFileWatcher(Path configFile, long delay, Runnable reloadTask) {
+        this.configFile = configFile.toAbsolutePath();
+        this.delay = delay;
+        this.reloadTask = reloadTask;
+    }
+
+    /**
+     * Starts watching the configuration file in a daemon thread.
+     *
+     * @throws IOException if the directory of the configuration file cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        resolvedConfigFile = resolveConfigFile();
+        watchService = FileSystems.getDefault().newWatchService();
+        configFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcherThread = new Thread(this, "ConfigurationFileWatcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.debug("Watching {} for modifications", configFile);
+    }
+
+    /**
+     * Stops watching the configuration file.
+     */
+    public synchronized void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the watch service of " + configFile, e);
+        }
+        watcherThread.interrupt();
+        watchService = null;
+    }
+
+    @Override
+    public void run() {
+        WatchService service = watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!isConfigFileModified(service.take())) {
+                    continue;
+                }
+
+                // Wait until the file is not modified for the given delay.
+                WatchKey watchKey;
+                while ((watchKey = service.poll(delay, TimeUnit.MILLISECONDS)) != null) {
+                    isConfigFileModified(watchKey);
+                }
+
+                try {
+                    reloadTask.run();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to reload " + configFile + ", hence keeping the current configuration", e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Stopped watching {}", configFile);
+        }
+    }
+
+    private boolean isConfigFileModified(WatchKey watchKey) {
+        boolean modified = false;
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (configFile.getFileName().equals(event.context())) {
+                modified = true;
+            }
+        }
+        watchKey.reset();
+
+        // A link the file resolves through may have been replaced without an event for the file itself.
+        Path currentConfigFile = resolveConfigFile();
+        if (!Objects.equals(currentConfigFile, resolvedConfigFile)) {
+            resolvedConfigFile = currentConfigFile;
+            modified = true;
+        }
+        return modified;
+    }
+
+    private Path resolveConfigFile() {
+        try {
+            return configFile.toRealPath();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
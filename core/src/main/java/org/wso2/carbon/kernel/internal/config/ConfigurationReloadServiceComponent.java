@@ -0,0 +1,130 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.CarbonRuntime;
+import org.wso2.carbon.kernel.PrivilegedCarbonRuntime;
+import org.wso2.carbon.kernel.config.CarbonConfigProvider;
+import org.wso2.carbon.kernel.config.ConfigurationChangeListener;
+import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+import org.wso2.carbon.kernel.config.model.ConfigReloadConfig;
+import org.wso2.carbon.kernel.internal.DataHolder;
+import org.wso2.carbon.kernel.internal.utils.Utils;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * OSGi declarative services component which reloads the carbon.yml when it is modified. The reloaded configuration
+ * replaces the configuration of the CarbonRuntime and the registered {@link ConfigurationChangeListener} services are
+ * notified with the changed sections.
+ *
+ * @since 5.1.0
+ */
+@Component(
+        name = "org.wso2.carbon.kernel.internal.config.ConfigurationReloadServiceComponent",
+        immediate = true
+)
+public class ConfigurationReloadServiceComponent {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationReloadServiceComponent.class);
+
+    private final List<ConfigurationChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private ConfigurationFileWatcher configurationFileWatcher;
+
+    @Activate
+    public void start() {
+        CarbonConfigProvider configProvider = DataHolder.getInstance().getCarbonConfigProvider();
+        if (!(configProvider instanceof YAMLBasedConfigProvider)) {
+            return;
+        }
+
+        ConfigReloadConfig configReloadConfig = configProvider.getCarbonConfiguration().getConfigReloadConfig();
+        if (!configReloadConfig.isEnabled()) {
+            logger.debug("Reloading the Carbon configuration is disabled");
+            return;
+        }
+
+        configurationFileWatcher = new ConfigurationFileWatcher(Paths.get(Utils.getCarbonYAMLLocation()),
+                configReloadConfig.getDelay(), () -> reloadConfiguration((YAMLBasedConfigProvider) configProvider));
+        try {
+            configurationFileWatcher.start();
+        } catch (IOException e) {
+            logger.warn("Failed to watch the Carbon configuration, hence it will not be reloaded", e);
+            configurationFileWatcher = null;
+        }
+    }
+
+    @Deactivate
+    public void stop() {
+        if (configurationFileWatcher != null) {
+            configurationFileWatcher.stop();
+            configurationFileWatcher = null;
+        }
+    }
+
+    @Reference(
+            name = "carbon.configuration.change.listener",
+            service = ConfigurationChangeListener.class,
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unregisterChangeListener"
+    )
+    protected void registerChangeListener(ConfigurationChangeListener changeListener) {
+        changeListeners.add(changeListener);
+    }
+
+    protected void unregisterChangeListener(ConfigurationChangeListener changeListener) {
+        changeListeners.remove(changeListener);
+    }
+
+    private void reloadConfiguration(YAMLBasedConfigProvider configProvider) {
+        CarbonConfiguration previousConfiguration = configProvider.getCarbonConfiguration();
+        Set<String> changedSections = configProvider.reloadCarbonConfiguration();
+        if (changedSections.isEmpty()) {
+            logger.debug("Carbon configuration is not changed");
+            return;
+        }
+
+        CarbonConfiguration currentConfiguration = configProvider.getCarbonConfiguration();
+        CarbonRuntime carbonRuntime = DataHolder.getInstance().getCarbonRuntime();
+        if (carbonRuntime instanceof PrivilegedCarbonRuntime) {
+            ((PrivilegedCarbonRuntime) carbonRuntime).setCarbonConfiguration(currentConfiguration);
+        }
+        logger.info("Carbon configuration is reloaded with changes in {}", changedSections);
+
+        for (ConfigurationChangeListener changeListener : changeListeners) {
+            try {
+                changeListener.onConfigurationChanged(previousConfiguration, currentConfiguration, changedSections);
+            } catch (RuntimeException e) {
+                logger.error("Error while notifying the configuration change listener " +
+                        changeListener.getClass().getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists a resolved {@code CarbonConfiguration} in a compact binary file, so that subsequent server startups need
+ * not parse the carbon.yml with the YAML parser.
+ * <p>
+ * The file is keyed by a digest of the carbon.yml content after the variables are substituted, hence the snapshot is
+ * discarded whenever either the file or the value of a variable it references changes.
+ * <p>
+ * Configuration beans are written field by field with the field name, so a snapshot written by a different version
+ * of a bean is still readable. Only beans of the Carbon kernel are read from a snapshot.
+ *
+ * @since 5.1.0
+ */
+class ConfigurationSnapshotFile {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigurationSnapshotFile.class);
+
+    // Magic number and the format version of the snapshot file.
+    private static final int MAGIC_NUMBER = 0x43434647;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String BEAN_PACKAGE_PREFIX = "org.wso2.carbon.kernel.";
+
+    // Type tags of the written values.
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte ENUM = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+    private static final byte BEAN = 9;
+
+    private static final ClassValue<Field[]> beanFields = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> beanClass) {
+            Field[] fields = Arrays.stream(beanClass.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()) &&
+                            !Modifier.isTransient(field.getModifiers()))
+                    .sorted(Comparator.comparing(Field::getName))
+                    .toArray(Field[]::new);
+            AccessibleObject.setAccessible(fields, true);
+            return fields;
+        }
+    };
+
+    private final Path snapshotFile;
+
+    ConfigurationSnapshotFile(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Loads the snapshot if it was stored with the given digest of the carbon.yml.
+     *
+     * @param digest digest of the substituted carbon.yml content
+     * @return the CarbonConfiguration, or an empty Optional if the snapshot is not valid
+     */
+    Optional<CarbonConfiguration> load(String digest) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION || !digest.equals(in.readUTF())) {
+                logger.debug("Discarding the outdated configuration snapshot {}", snapshotFile);
+                return Optional.empty();
+            }
+
+            Object carbonConfiguration = readValue(in);
+            if (!(carbonConfiguration instanceof CarbonConfiguration)) {
+                throw new IOException("Snapshot does not contain a CarbonConfiguration");
+            }
+            logger.debug("Loaded the Carbon configuration from the snapshot {}", snapshotFile);
+            return Optional.of((CarbonConfiguration) carbonConfiguration);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Failed to read the configuration snapshot " + snapshotFile + ", hence ignoring it", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the given CarbonConfiguration with the digest of the carbon.yml.
+     *
+     * @param digest              digest of the substituted carbon.yml content
+     * @param carbonConfiguration the CarbonConfiguration to be stored
+     */
+    void store(String digest, CarbonConfiguration carbonConfiguration) {
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(digest);
+            writeValue(out, carbonConfiguration);
+        } catch (IOException | IllegalAccessException | IllegalArgumentException e) {
+            logger.warn("Failed to write the configuration snapshot " + snapshotFile, e);
+            return;
+        }
+
+        try {
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write the configuration snapshot " + snapshotFile, e);
+        }
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException, IllegalAccessException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Enum) {
+            out.writeByte(ENUM);
+            out.writeUTF(((Enum<?>) value).getDeclaringClass().getName());
+            out.writeUTF(((Enum<?>) value).name());
+        } else if (value instanceof List) {
+            out.writeByte(LIST);
+            out.writeInt(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Map) {
+            out.writeByte(MAP);
+            out.writeInt(((Map<?, ?>) value).size());
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else if (value.getClass().getName().startsWith(BEAN_PACKAGE_PREFIX)) {
+            out.writeByte(BEAN);
+            out.writeUTF(value.getClass().getName());
+            Field[] fields = beanFields.get(value.getClass());
+            out.writeInt(fields.length);
+            for (Field field : fields) {
+                out.writeUTF(field.getName());
+                writeValue(out, field.get(value));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported configuration value type " + value.getClass().getName());
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException, ReflectiveOperationException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return in.readUTF();
+            case BOOLEAN:
+                return in.readBoolean();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case ENUM:
+                return readEnum(loadBeanClass(in.readUTF()), in.readUTF());
+            case LIST:
+                int itemCount = in.readInt();
+                List<Object> list = new ArrayList<>(itemCount);
+                for (int i = 0; i < itemCount; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            case MAP:
+                int entryCount = in.readInt();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < entryCount; i++) {
+                    map.put(readValue(in), readValue(in));
+                }
+                return map;
+            case BEAN:
+                return readBean(in, loadBeanClass(in.readUTF()));
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+
+    private Object readBean(DataInputStream in, Class<?> beanClass) throws IOException, ReflectiveOperationException {
+        Constructor<?> constructor = beanClass.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        Object bean = constructor.newInstance();
+
+        Map<String, Field> fields = new HashMap<>();
+        for (Field field : beanFields.get(beanClass)) {
+            fields.put(field.getName(), field);
+        }
+
+        int fieldCount = in.readInt();
+        for (int i = 0; i < fieldCount; i++) {
+            Field field = fields.get(in.readUTF());
+            Object value = readValue(in);
+            if (field == null) {
+                continue;
+            }
+            if (value == null && field.getType().isPrimitive()) {
+                throw new IOException("Null value for the primitive field " + field.getName());
+            }
+            field.set(bean, value);
+        }
+        return bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> Enum<E> readEnum(Class<?> enumClass, String name) {
+        return Enum.valueOf((Class<E>) enumClass, name);
+    }
+
+    private static Class<?> loadBeanClass(String className) throws IOException, ClassNotFoundException {
+        if (!className.startsWith(BEAN_PACKAGE_PREFIX)) {
+            throw new IOException("Unexpected class " + className + " in the configuration snapshot");
+        }
+        return Class.forName(className, false, CarbonConfiguration.class.getClassLoader());
+    }
+}
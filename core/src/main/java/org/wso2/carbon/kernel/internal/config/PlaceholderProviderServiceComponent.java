@@ -0,0 +1,57 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.config.PlaceholderProvider;
+
+/**
+ * OSGi declarative services component which adds the placeholders contributed by {@link PlaceholderProvider}
+ * services to the {@link PlaceholderRegistry}.
+ *
+ * @since 5.1.0
+ */
+@Component(
+        name = "org.wso2.carbon.kernel.internal.config.PlaceholderProviderServiceComponent",
+        immediate = true
+)
+public class PlaceholderProviderServiceComponent {
+    private static final Logger logger = LoggerFactory.getLogger(PlaceholderProviderServiceComponent.class);
+
+    @Reference(
+            name = "carbon.placeholder.provider",
+            service = PlaceholderProvider.class,
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unregisterPlaceholderProvider"
+    )
+    protected void registerPlaceholderProvider(PlaceholderProvider placeholderProvider) {
+        logger.debug("Adding placeholders of {}", placeholderProvider.getClass().getName());
+        PlaceholderRegistry.getInstance().addProvider(placeholderProvider);
+    }
+
+    protected void unregisterPlaceholderProvider(PlaceholderProvider placeholderProvider) {
+        logger.debug("Removing placeholders of {}", placeholderProvider.getClass().getName());
+        PlaceholderRegistry.getInstance().removeProvider(placeholderProvider);
+    }
+}
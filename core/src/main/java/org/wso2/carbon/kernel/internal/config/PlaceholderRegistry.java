@@ -0,0 +1,133 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.wso2.carbon.kernel.config.PlaceholderProvider;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the placeholder values used when substituting configuration variables.
+ * <p>
+ * Placeholders are indexed by their constant name, i.e. server.name is looked up as SERVER_NAME. Constant classes are
+ * indexed once per class and the placeholders contributed by {@link PlaceholderProvider} services are merged into an
+ * immutable map whenever a provider is added or removed, hence a lookup is a hash map access.
+ * <p>
+ * This is used by {@link org.wso2.carbon.kernel.utils.Utils#getSystemVariableValue(String, String)} to resolve
+ * placeholders. Both packages are in the core bundle, hence the exported utils package does not import this package.
+ *
+ * @since 5.1.0
+ */
+public class PlaceholderRegistry {
+    private static final PlaceholderRegistry instance = new PlaceholderRegistry();
+
+    private static final ClassValue<Map<String, String>> constantPlaceholders = new ClassValue<Map<String, String>>() {
+        @Override
+        protected Map<String, String> computeValue(Class<?> constantClass) {
+            Map<String, String> placeholders = new HashMap<>();
+            for (Field field : constantClass.getFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) && field.getType() == String.class) {
+                    try {
+                        placeholders.put(field.getName(), (String) field.get(null));
+                    } catch (IllegalAccessException e) {
+                        //Nothing to do
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(placeholders);
+        }
+    };
+
+    private final Map<PlaceholderProvider, Map<String, String>> providers = new LinkedHashMap<>();
+    private volatile Map<String, String> providedPlaceholders = Collections.emptyMap();
+
+    public static PlaceholderRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the value of the placeholder from the constants declared in the given class.
+     *
+     * @param placeholderName constant name of the placeholder, see {@link #toConstantName(String)}
+     * @param constantClass   class which declares the placeholder constants
+     * @return the value of the placeholder or null if the class doesn't declare it
+     */
+    public static String getConstantValue(String placeholderName, Class<?> constantClass) {
+        return constantPlaceholders.get(constantClass).get(placeholderName);
+    }
+
+    /**
+     * Converts a variable name to the name of its placeholder constant. e.g. server.name is converted to SERVER_NAME.
+     *
+     * @param variableName name of the variable
+     * @return the constant name
+     */
+    public static String toConstantName(String variableName) {
+        char[] chars = variableName.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = chars[i] == '.' ? '_' : Character.toUpperCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the value of the placeholder contributed by the registered providers.
+     *
+     * @param placeholderName constant name of the placeholder, see {@link #toConstantName(String)}
+     * @return the value of the placeholder or null if no provider contributes it
+     */
+    public String getProvidedValue(String placeholderName) {
+        return providedPlaceholders.get(placeholderName);
+    }
+
+    /**
+     * Adds the placeholders of the given provider. If a placeholder is contributed by more than one provider, the value
+     * of the provider added first is used.
+     *
+     * @param provider the placeholder provider
+     */
+    public synchronized void addProvider(PlaceholderProvider provider) {
+        Map<String, String> placeholders = new HashMap<>();
+        provider.getPlaceholders().forEach((name, value) -> placeholders.put(toConstantName(name), value));
+        providers.put(provider, placeholders);
+        mergeProvidedPlaceholders();
+    }
+
+    /**
+     * Removes the placeholders of the given provider.
+     *
+     * @param provider the placeholder provider
+     */
+    public synchronized void removeProvider(PlaceholderProvider provider) {
+        if (providers.remove(provider) != null) {
+            mergeProvidedPlaceholders();
+        }
+    }
+
+    private void mergeProvidedPlaceholders() {
+        Map<String, String> placeholders = new HashMap<>();
+        providers.values().forEach(map -> map.forEach(placeholders::putIfAbsent));
+        providedPlaceholders = Collections.unmodifiableMap(placeholders);
+    }
+}
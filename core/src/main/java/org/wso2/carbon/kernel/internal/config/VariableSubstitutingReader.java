@@ -0,0 +1,86 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.wso2.carbon.kernel.utils.Utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * A Reader which substitutes the ${variable} references of the underlying reader line by line, hence the content
+ * does not have to be read into memory as a whole. The substituted content can optionally be fed to a MessageDigest.
+ *
+ * @since 5.1.0
+ */
+public class VariableSubstitutingReader extends Reader {
+    private static final String VARIABLE_PREFIX = "${";
+
+    private final BufferedReader reader;
+    private final MessageDigest messageDigest;
+    private String line = "";
+    private int position;
+
+    public VariableSubstitutingReader(Reader reader) {
+        this(reader, null);
+    }
+
+    public VariableSubstitutingReader(Reader reader, MessageDigest messageDigest) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.messageDigest = messageDigest;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position == line.length() && !readLine()) {
+            return -1;
+        }
+
+        int count = Math.min(length, line.length() - position);
+        line.getChars(position, position + count, buffer, offset);
+        position += count;
+        return count;
+    }
+
+    private boolean readLine() throws IOException {
+        String nextLine = reader.readLine();
+        if (nextLine == null) {
+            return false;
+        }
+        if (nextLine.contains(VARIABLE_PREFIX)) {
+            nextLine = Utils.substituteVariables(nextLine);
+        }
+        line = nextLine + '\n';
+        position = 0;
+        if (messageDigest != null) {
+            messageDigest.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
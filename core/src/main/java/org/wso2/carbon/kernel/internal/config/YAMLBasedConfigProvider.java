@@ -21,47 +21,288 @@ import org.wso2.carbon.kernel.config.CarbonConfigProvider;
 import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
 import org.wso2.carbon.kernel.internal.utils.Utils;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.introspector.BeanAccess;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * This class takes care of parsing the carbon.yml file and creating the CarbonConfiguration object model.
+ * <p>
+ * The file is parsed once, into a YAML node tree from which the CarbonConfiguration and the configuration sections
+ * requested by other components are constructed. The CarbonConfiguration and the constructed sections are cached
+ * until the configuration is reloaded. Each caller gets its own copy of the cached CarbonConfiguration and the cached
+ * sections, so that a caller cannot change the configuration seen by the others. Optionally, the
+ * resolved CarbonConfiguration is kept in a binary snapshot which is loaded on subsequent startups instead of parsing
+ * the carbon.yml.
  *
  * @since 5.0.0
  */
 public class YAMLBasedConfigProvider implements CarbonConfigProvider {
     private static final Logger logger = LoggerFactory.getLogger(YAMLBasedConfigProvider.class);
 
+    private static final Set<String> carbonConfigurationFields = Arrays
+            .stream(CarbonConfiguration.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toSet());
+
+    private final ConfigurationSnapshotFile snapshotFile;
+    private volatile ConfigurationSnapshot snapshot;
+
+    public YAMLBasedConfigProvider() {
+        this(null);
+    }
+
+    /**
+     * Creates a YAMLBasedConfigProvider which keeps a binary snapshot of the resolved CarbonConfiguration in the given
+     * file. The snapshot is used instead of parsing the carbon.yml, as long as the substituted content of the
+     * carbon.yml does not change.
+     *
+     * @param snapshotFile the snapshot file, or null to always parse the carbon.yml
+     */
+    public YAMLBasedConfigProvider(Path snapshotFile) {
+        this.snapshotFile = snapshotFile != null ? new ConfigurationSnapshotFile(snapshotFile) : null;
+    }
+
     /**
      * Parse the carbon.yml and returns the CarbonConfiguration object.
      *
      * All the system properties / environment properties are replaced with values before sending to the YAML parser.
      *
-     * @return CarbonConfiguration
+     * @return a new copy of the CarbonConfiguration
      */
     public CarbonConfiguration getCarbonConfiguration() {
         org.wso2.carbon.kernel.utils.Utils.checkSecurity();
+        return ConfigurationBeans.copy(getSnapshot().carbonConfiguration);
+    }
+
+    @Override
+    public <T> Optional<T> getConfigurationSection(String sectionName, Class<T> sectionType) {
+        ConfigurationSnapshot currentSnapshot = getSnapshot();
+        Node sectionNode = getSectionNodes(currentSnapshot).get(sectionName);
+        if (sectionNode == null) {
+            return Optional.empty();
+        }
+
+        Object section = currentSnapshot.sections.computeIfAbsent(sectionName + "#" + sectionType.getName(),
+                key -> construct(sectionNode, sectionType));
+        return Optional.of(sectionType.cast(ConfigurationBeans.copy(section)));
+    }
+
+    /**
+     * Parses the carbon.yml again and replaces the current configuration if the file has changed. The current
+     * configuration is kept if the file cannot be parsed.
+     *
+     * @return names of the top level sections which have changed, which is empty if nothing has changed
+     */
+    public synchronized Set<String> reloadCarbonConfiguration() {
+        org.wso2.carbon.kernel.utils.Utils.checkSecurity();
+        ConfigurationSnapshot currentSnapshot = getSnapshot();
+        ConfigurationSnapshot newSnapshot = parseConfiguration();
+
+        Set<String> changedSections = new HashSet<>();
+        if (currentSnapshot.sectionNodes != null) {
+            currentSnapshot.sectionNodes.forEach((sectionName, node) -> {
+                if (!YAMLNodes.equals(node, newSnapshot.sectionNodes.get(sectionName))) {
+                    changedSections.add(sectionName);
+                }
+            });
+            newSnapshot.sectionNodes.keySet().stream()
+                    .filter(sectionName -> !currentSnapshot.sectionNodes.containsKey(sectionName))
+                    .forEach(changedSections::add);
+        } else if (!currentSnapshot.digest.equals(newSnapshot.digest)) {
+            // The current configuration was loaded from the binary snapshot, hence the sections cannot be compared.
+            changedSections.addAll(newSnapshot.sectionNodes.keySet());
+        }
+
+        if (!changedSections.isEmpty()) {
+            snapshot = newSnapshot;
+            if (snapshotFile != null) {
+                snapshotFile.store(newSnapshot.digest, newSnapshot.carbonConfiguration);
+            }
+        }
+        return changedSections;
+    }
+
+    private ConfigurationSnapshot getSnapshot() {
+        ConfigurationSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            synchronized (this) {
+                currentSnapshot = snapshot;
+                if (currentSnapshot == null) {
+                    currentSnapshot = loadConfiguration();
+                    snapshot = currentSnapshot;
+                }
+            }
+        }
+        return currentSnapshot;
+    }
+
+    private synchronized Map<String, Node> getSectionNodes(ConfigurationSnapshot currentSnapshot) {
+        if (currentSnapshot.sectionNodes == null) {
+            currentSnapshot.sectionNodes = parseConfiguration().sectionNodes;
+        }
+        return currentSnapshot.sectionNodes;
+    }
+
+    private ConfigurationSnapshot loadConfiguration() {
+        if (snapshotFile == null) {
+            return parseConfiguration();
+        }
+
+        String digest = digestConfiguration();
+        Optional<CarbonConfiguration> carbonConfiguration = snapshotFile.load(digest);
+        if (carbonConfiguration.isPresent()) {
+            // YAML nodes are only parsed if a component looks up a configuration section.
+            return new ConfigurationSnapshot(carbonConfiguration.get(), null, digest);
+        }
+
+        ConfigurationSnapshot parsedSnapshot = parseConfiguration();
+        snapshotFile.store(parsedSnapshot.digest, parsedSnapshot.carbonConfiguration);
+        return parsedSnapshot;
+    }
+
+    private String digestConfiguration() {
+        String configFileLocation = Utils.getCarbonYAMLLocation();
+        MessageDigest messageDigest = newMessageDigest();
+        try (Reader reader = newConfigurationReader(configFileLocation, messageDigest)) {
+            drain(reader);
+            return toHex(messageDigest.digest());
+        } catch (IOException e) {
+            String errorMessage = "Failed populate CarbonConfiguration from " + configFileLocation;
+            logger.error(errorMessage, e);
+            throw new RuntimeException(errorMessage);
+        }
+    }
+
+    private ConfigurationSnapshot parseConfiguration() {
         String configFileLocation = Utils.getCarbonYAMLLocation();
-        try (InputStream inputStream = new FileInputStream(configFileLocation)) {
+        MessageDigest messageDigest = newMessageDigest();
+        try (Reader reader = newConfigurationReader(configFileLocation, messageDigest)) {
+            Node rootNode = new Yaml().compose(reader);
+            drain(reader);
+            String digest = toHex(messageDigest.digest());
+            if (!(rootNode instanceof MappingNode)) {
+                return new ConfigurationSnapshot(new CarbonConfiguration(), Collections.emptyMap(), digest);
+            }
 
-            String yamlFileString;
-            try (Scanner scanner = new Scanner(inputStream, StandardCharsets.UTF_8.name())) {
-                yamlFileString = scanner.useDelimiter("\\A").next();
-                yamlFileString = org.wso2.carbon.kernel.utils.Utils.substituteVariables(yamlFileString);
+            MappingNode rootMappingNode = (MappingNode) rootNode;
+            Map<String, Node> sectionNodes = new HashMap<>();
+            List<NodeTuple> carbonConfigurationTuples = new ArrayList<>();
+            for (NodeTuple tuple : rootMappingNode.getValue()) {
+                if (tuple.getKeyNode() instanceof ScalarNode) {
+                    String sectionName = ((ScalarNode) tuple.getKeyNode()).getValue();
+                    sectionNodes.put(sectionName, tuple.getValueNode());
+                    if (carbonConfigurationFields.contains(sectionName)) {
+                        carbonConfigurationTuples.add(tuple);
+                    }
+                }
             }
 
-            Yaml yaml = new Yaml();
-            yaml.setBeanAccess(BeanAccess.FIELD);
-            return yaml.loadAs(yamlFileString, CarbonConfiguration.class);
+            // Sections which belong to other components are not part of the CarbonConfiguration.
+            CarbonConfiguration carbonConfiguration = construct(new MappingNode(rootMappingNode.getTag(),
+                    carbonConfigurationTuples, rootMappingNode.getFlowStyle()), CarbonConfiguration.class);
+            return new ConfigurationSnapshot(carbonConfiguration, sectionNodes, digest);
         } catch (IOException e) {
             String errorMessage = "Failed populate CarbonConfiguration from " + configFileLocation;
             logger.error(errorMessage, e);
             throw new RuntimeException(errorMessage);
         }
     }
+
+    private static Reader newConfigurationReader(String configFileLocation, MessageDigest messageDigest)
+            throws IOException {
+        return new VariableSubstitutingReader(Files.newBufferedReader(Paths.get(configFileLocation),
+                StandardCharsets.UTF_8), messageDigest);
+    }
+
+    private static void drain(Reader reader) throws IOException {
+        // Reads the rest of the content, so that the whole content is digested.
+        char[] buffer = new char[1024];
+        int count;
+        do {
+            count = reader.read(buffer);
+        } while (count != -1);
+    }
+
+    private static MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-1 message digest is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static <T> T construct(Node node, Class<T> type) {
+        NodeConstructor constructor = new NodeConstructor();
+        constructor.getPropertyUtils().setBeanAccess(BeanAccess.FIELD);
+        return type.cast(constructor.construct(node, type));
+    }
+
+    /**
+     * Constructs an object of a given type from an already composed YAML node.
+     */
+    private static class NodeConstructor extends Constructor {
+
+        private Object construct(Node node, Class<?> type) {
+            synchronized (node) {
+                node.setTag(new Tag(type));
+                node.setType(type);
+                return constructObject(node);
+            }
+        }
+    }
+
+    /**
+     * The CarbonConfiguration and the YAML nodes of the top level sections parsed from a version of the carbon.yml,
+     * along with the digest of its substituted content. The YAML nodes are null until they are parsed, if the
+     * CarbonConfiguration is loaded from the binary snapshot.
+     */
+    private static class ConfigurationSnapshot {
+        private final CarbonConfiguration carbonConfiguration;
+        private final String digest;
+        private volatile Map<String, Node> sectionNodes;
+        private final Map<String, Object> sections = new ConcurrentHashMap<>();
+
+        private ConfigurationSnapshot(CarbonConfiguration carbonConfiguration, Map<String, Node> sectionNodes,
+                                      String digest) {
+            this.carbonConfiguration = carbonConfiguration;
+            this.sectionNodes = sectionNodes;
+            this.digest = digest;
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+
+import java.util.List;
+
+/**
+ * Utility methods for composed YAML nodes.
+ *
+ * @since 5.1.0
+ */
+final class YAMLNodes {
+
+    private YAMLNodes() {
+    }
+
+    /**
+     * Compares the content of two YAML nodes, ignoring their positions in the source document and their tags.
+     *
+     * @param node  a node
+     * @param other another node
+     * @return true if both nodes have the same content
+     */
+    static boolean equals(Node node, Node other) {
+        if (node == other) {
+            return true;
+        }
+        // Tags are not compared since they are replaced with the Java types when the nodes are constructed.
+        if (node == null || other == null || node.getNodeId() != other.getNodeId()) {
+            return false;
+        }
+
+        switch (node.getNodeId()) {
+            case scalar:
+                return ((ScalarNode) node).getValue().equals(((ScalarNode) other).getValue());
+            case sequence:
+                List<Node> items = ((SequenceNode) node).getValue();
+                List<Node> otherItems = ((SequenceNode) other).getValue();
+                if (items.size() != otherItems.size()) {
+                    return false;
+                }
+                for (int i = 0; i < items.size(); i++) {
+                    if (!equals(items.get(i), otherItems.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            case mapping:
+                List<NodeTuple> tuples = ((MappingNode) node).getValue();
+                List<NodeTuple> otherTuples = ((MappingNode) other).getValue();
+                if (tuples.size() != otherTuples.size()) {
+                    return false;
+                }
+                for (int i = 0; i < tuples.size(); i++) {
+                    if (!equals(tuples.get(i).getKeyNode(), otherTuples.get(i).getKeyNode()) ||
+                            !equals(tuples.get(i).getValueNode(), otherTuples.get(i).getValueNode())) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+}
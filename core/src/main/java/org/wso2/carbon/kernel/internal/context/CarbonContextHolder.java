@@ -16,6 +16,8 @@
 package org.wso2.carbon.kernel.internal.context;
 
 import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.context.CarbonContext;
+import org.wso2.carbon.kernel.context.PrivilegedCarbonContext;
 import org.wso2.carbon.kernel.internal.DataHolder;
 
 import java.security.Principal;
@@ -35,23 +37,27 @@ public final class CarbonContextHolder {
 
     private String tenant;
     private Principal userPrincipal;
-    private Map<String, Object> properties = new HashMap<>();
+    private Map<String, Object> properties;
 
-    private static ThreadLocal<CarbonContextHolder> currentContextHolder = new ThreadLocal<CarbonContextHolder>() {
-        protected CarbonContextHolder initialValue() {
-            return new CarbonContextHolder();
-        }
-    };
+    // CarbonContext views of this holder, which are created once per holder and reused.
+    private CarbonContext carbonContext;
+    private PrivilegedCarbonContext privilegedCarbonContext;
+
+    private static ThreadLocal<CarbonContextHolder> currentContextHolder = new ThreadLocal<>();
 
     /**
-     * Private Constructor which gets invoked via the static variable above. This gets invoked only once and it
-     * populates the tenant variable by first checking whether the domain value is set via system/env property.
+     * Private Constructor which gets invoked when a thread first accesses its CarbonContextHolder. It populates the
+     * tenant variable by first checking whether the domain value is set via system/env property.
      * If no value is set, then this falls back to the default tenant domain value.
      */
     private CarbonContextHolder() {
-        tenant = Optional.ofNullable(DataHolder.getInstance().getCarbonRuntime())
-                .map(carbonRuntime -> carbonRuntime.getConfiguration().getTenant())
-                .orElseGet(() -> Constants.DEFAULT_TENANT);
+        tenant = getDefaultTenant();
+    }
+
+    private CarbonContextHolder(String tenant, Principal userPrincipal, Map<String, Object> properties) {
+        this.tenant = tenant;
+        this.userPrincipal = userPrincipal;
+        this.properties = properties.isEmpty() ? null : new HashMap<>(properties);
     }
 
     /**
@@ -60,13 +66,82 @@ public final class CarbonContextHolder {
      * @return the thread local CarbonContextHolder instance.
      */
     public static CarbonContextHolder getCurrentContextHolder() {
+        CarbonContextHolder carbonContextHolder = currentContextHolder.get();
+        if (carbonContextHolder == null) {
+            carbonContextHolder = new CarbonContextHolder();
+            currentContextHolder.set(carbonContextHolder);
+        }
+        return carbonContextHolder;
+    }
+
+    /**
+     * Returns the tenant of a thread which does not have a CarbonContextHolder. This is the tenant configured in the
+     * Carbon configuration, or the default tenant if it is not configured.
+     *
+     * @return the default tenant
+     */
+    public static String getDefaultTenant() {
+        return Optional.ofNullable(DataHolder.getInstance().getCarbonRuntime())
+                .map(carbonRuntime -> carbonRuntime.getConfiguration().getTenant())
+                .orElseGet(() -> Constants.DEFAULT_TENANT);
+    }
+
+    /**
+     * Returns the current thread local CarbonContextHolder instance, without creating one if the thread does not have
+     * it.
+     *
+     * @return the thread local CarbonContextHolder instance, or null if the thread does not have one.
+     */
+    public static CarbonContextHolder peekCurrentContextHolder() {
         return currentContextHolder.get();
     }
 
+    /**
+     * Replaces the current thread local CarbonContextHolder instance.
+     *
+     * @param carbonContextHolder the CarbonContextHolder instance, or null to remove the current instance.
+     */
+    public static void setCurrentContextHolder(CarbonContextHolder carbonContextHolder) {
+        if (carbonContextHolder == null) {
+            currentContextHolder.remove();
+        } else {
+            currentContextHolder.set(carbonContextHolder);
+        }
+    }
+
+    /**
+     * Creates a CarbonContextHolder instance with the given state, which is not bound to any thread.
+     *
+     * @param tenant        the tenant name.
+     * @param userPrincipal the user principal, or null.
+     * @param properties    the properties, which are copied to the new instance.
+     * @return the new CarbonContextHolder instance.
+     */
+    public static CarbonContextHolder newContextHolder(String tenant, Principal userPrincipal,
+                                                       Map<String, Object> properties) {
+        return new CarbonContextHolder(tenant, userPrincipal, properties);
+    }
+
+    /**
+     * Returns a copy of the properties of this CarbonContext instance.
+     *
+     * @return a copy of the properties.
+     */
+    public Map<String, Object> copyProperties() {
+        return properties != null ? new HashMap<>(properties) : new HashMap<>();
+    }
+
     /**
      * This method will destroy the current thread local CarbonContextHolder.
      */
     public void destroyCurrentCarbonContextHolder() {
+        removeCurrentContextHolder();
+    }
+
+    /**
+     * Removes the current thread local CarbonContextHolder, without creating one if the thread does not have it.
+     */
+    public static void removeCurrentContextHolder() {
         currentContextHolder.remove();
     }
 
@@ -86,7 +161,7 @@ public final class CarbonContextHolder {
      * @return the value of the property by the given name.
      */
     public Object getProperty(String name) {
-        return properties.get(name);
+        return properties != null ? properties.get(name) : null;
     }
 
     /**
@@ -96,6 +171,9 @@ public final class CarbonContextHolder {
      * @param value the value to be set to the property by the given name.
      */
     public void setProperty(String name, Object value) {
+        if (properties == null) {
+            properties = new HashMap<>();
+        }
         properties.put(name, value);
     }
 
@@ -124,4 +202,40 @@ public final class CarbonContextHolder {
                             userPrincipal.toString()));
         }
     }
+
+    /**
+     * Returns the CarbonContext view of this holder.
+     *
+     * @return the CarbonContext view, or null if it is not created yet
+     */
+    public CarbonContext getCarbonContext() {
+        return carbonContext;
+    }
+
+    /**
+     * Sets the CarbonContext view of this holder.
+     *
+     * @param carbonContext the CarbonContext view
+     */
+    public void setCarbonContext(CarbonContext carbonContext) {
+        this.carbonContext = carbonContext;
+    }
+
+    /**
+     * Returns the PrivilegedCarbonContext view of this holder.
+     *
+     * @return the PrivilegedCarbonContext view, or null if it is not created yet
+     */
+    public PrivilegedCarbonContext getPrivilegedCarbonContext() {
+        return privilegedCarbonContext;
+    }
+
+    /**
+     * Sets the PrivilegedCarbonContext view of this holder.
+     *
+     * @param privilegedCarbonContext the PrivilegedCarbonContext view
+     */
+    public void setPrivilegedCarbonContext(PrivilegedCarbonContext privilegedCarbonContext) {
+        this.privilegedCarbonContext = privilegedCarbonContext;
+    }
 }
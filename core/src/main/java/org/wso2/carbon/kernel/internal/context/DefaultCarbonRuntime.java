@@ -24,7 +24,7 @@ import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
  * @since 5.0.0
  */
 public class DefaultCarbonRuntime implements PrivilegedCarbonRuntime {
-    private CarbonConfiguration carbonConfiguration;
+    private volatile CarbonConfiguration carbonConfiguration;
 
     public CarbonConfiguration getConfiguration() {
         return carbonConfiguration;
@@ -0,0 +1,201 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.context;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Accounts the CPU time, the allocated bytes and the number of requests of each tenant.
+ * <p>
+ * Resources are measured with the ThreadMXBean at CarbonContext boundaries and are added to striped counters of the
+ * tenant, hence recording a measurement does not contend on a lock. Allocated bytes are only measured on JVMs which
+ * support it, e.g. HotSpot.
+ *
+ * @since 5.1.0
+ */
+public class TenantResourceUsage implements TenantResourceUsageMBean {
+    private static final Logger logger = LoggerFactory.getLogger(TenantResourceUsage.class);
+
+    private static final TenantResourceUsage instance = new TenantResourceUsage();
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+    private final Map<String, TenantCounters> tenantCounters = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    private TenantResourceUsage() {
+        allocationMXBean = getAllocationMXBean(threadMXBean);
+    }
+
+    public static TenantResourceUsage getInstance() {
+        return instance;
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationMXBean(ThreadMXBean threadMXBean) {
+        try {
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean &&
+                    ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+                return (com.sun.management.ThreadMXBean) threadMXBean;
+            }
+        } catch (LinkageError e) {
+            logger.debug("Thread allocation accounting is not available", e);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        if (enabled && threadMXBean.isCurrentThreadCpuTimeSupported() && !threadMXBean.isThreadCpuTimeEnabled()) {
+            threadMXBean.setThreadCpuTimeEnabled(true);
+        }
+        if (enabled && allocationMXBean != null && !allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+            allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the CPU time used by the current thread.
+     *
+     * @return CPU time in nanoseconds, or zero if it is not supported
+     */
+    public long getCurrentThreadCpuTime() {
+        long cpuTime = threadMXBean.getCurrentThreadCpuTime();
+        return cpuTime > 0 ? cpuTime : 0;
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread.
+     *
+     * @return allocated bytes, or zero if it is not supported
+     */
+    public long getCurrentThreadAllocatedBytes() {
+        if (allocationMXBean == null) {
+            return 0;
+        }
+        long allocatedBytes = allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        return allocatedBytes > 0 ? allocatedBytes : 0;
+    }
+
+    /**
+     * Adds a measured request to the counters of the given tenant.
+     *
+     * @param tenant         the tenant name
+     * @param cpuTime        CPU time used by the request in nanoseconds
+     * @param allocatedBytes bytes allocated by the request
+     */
+    public void record(String tenant, long cpuTime, long allocatedBytes) {
+        TenantCounters counters = tenantCounters.get(tenant);
+        if (counters == null) {
+            counters = tenantCounters.computeIfAbsent(tenant, key -> new TenantCounters());
+        }
+        counters.cpuTime.add(cpuTime);
+        counters.allocatedBytes.add(allocatedBytes);
+        counters.requestCount.increment();
+    }
+
+    @Override
+    public String getUsageAsJSON() {
+        return new TreeMap<>(tenantCounters).entrySet()
+                .stream()
+                .map(entry -> "\n    {\"tenant\": \"" + escapeJSON(entry.getKey()) + "\"" +
+                        ", \"cpuTimeMillis\": " + String.format(Locale.ENGLISH, "%.3f",
+                        entry.getValue().cpuTime.sum() / 1_000_000d) +
+                        ", \"allocatedBytes\": " + entry.getValue().allocatedBytes.sum() +
+                        ", \"requestCount\": " + entry.getValue().requestCount.sum() + "}")
+                .collect(Collectors.joining(",", "{\n  \"tenants\": [", "\n  ]\n}\n"));
+    }
+
+    private static String escapeJSON(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        escaped.append(String.format(Locale.ENGLISH, "\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+
+    @Override
+    public long getCpuTime(String tenant) {
+        TenantCounters counters = tenantCounters.get(tenant);
+        return counters != null ? counters.cpuTime.sum() : 0;
+    }
+
+    @Override
+    public long getAllocatedBytes(String tenant) {
+        TenantCounters counters = tenantCounters.get(tenant);
+        return counters != null ? counters.allocatedBytes.sum() : 0;
+    }
+
+    @Override
+    public long getRequestCount(String tenant) {
+        TenantCounters counters = tenantCounters.get(tenant);
+        return counters != null ? counters.requestCount.sum() : 0;
+    }
+
+    @Override
+    public void reset() {
+        tenantCounters.clear();
+    }
+
+    /**
+     * Striped counters of a tenant.
+     */
+    private static class TenantCounters {
+        private final LongAdder cpuTime = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder requestCount = new LongAdder();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.context;
+
+/**
+ * MBean interface for exposing the resources used by each tenant.
+ *
+ * @since 5.1.0
+ */
+public interface TenantResourceUsageMBean {
+
+    /**
+     * Returns whether the resources used by tenants are accounted.
+     *
+     * @return true if the accounting is enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables accounting the resources used by tenants.
+     *
+     * @param enabled true to enable the accounting
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the accounted resources of each tenant in the JSON format. CPU time is given in milliseconds as
+     * cpuTimeMillis.
+     *
+     * @return the resource usage of tenants as a JSON document.
+     */
+    String getUsageAsJSON();
+
+    /**
+     * Returns the CPU time used by the given tenant.
+     *
+     * @param tenant the tenant name
+     * @return CPU time in nanoseconds
+     */
+    long getCpuTime(String tenant);
+
+    /**
+     * Returns the number of bytes allocated by the given tenant.
+     *
+     * @param tenant the tenant name
+     * @return allocated bytes, which is zero if the JVM does not support measuring thread allocations
+     */
+    long getAllocatedBytes(String tenant);
+
+    /**
+     * Returns the number of requests served for the given tenant.
+     *
+     * @param tenant the tenant name
+     * @return the request count
+     */
+    long getRequestCount(String tenant);
+
+    /**
+     * Clears the accounted resources of all tenants.
+     */
+    void reset();
+}
@@ -26,9 +26,13 @@ import org.slf4j.LoggerFactory;
 import org.wso2.carbon.kernel.internal.DataHolder;
 import org.wso2.carbon.kernel.runtime.Runtime;
 import org.wso2.carbon.kernel.runtime.RuntimeService;
+import org.wso2.carbon.kernel.runtime.RuntimeState;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 import org.wso2.carbon.kernel.utils.MBeanRegistrator;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * This service  component is responsible for retrieving the Runtime OSGi service and register each runtime
  * with runtime manager. It also acts as a RequiredCapabilityListener for all the Runtime capabilities, and
@@ -47,6 +51,9 @@ import org.wso2.carbon.kernel.utils.MBeanRegistrator;
 public class RuntimeServiceListenerComponent implements RequiredCapabilityListener {
     private static final Logger logger = LoggerFactory.getLogger(RuntimeServiceListenerComponent.class);
     private RuntimeManager runtimeManager = new RuntimeManager();
+    private volatile RuntimeService runtimeService;
+    // Runtimes registered after the runtimes are started, e.g. to replace a lost runtime.
+    private Set<Runtime> newRuntimes = ConcurrentHashMap.newKeySet();
     private BundleContext bundleContext;
 
     @Activate
@@ -71,6 +78,9 @@ public class RuntimeServiceListenerComponent implements RequiredCapabilityListen
     protected void registerRuntime(Runtime runtime) {
         try {
             runtimeManager.registerRuntime(runtime);
+            if (runtimeService != null) {
+                newRuntimes.add(runtime);
+            }
         } catch (Exception e) {
             logger.error("Error while adding runtime to the Runtime manager", e);
         }
@@ -84,6 +94,7 @@ public class RuntimeServiceListenerComponent implements RequiredCapabilityListen
     protected void unRegisterRuntime(Runtime runtime) {
         try {
             runtimeManager.unRegisterRuntime(runtime);
+            newRuntimes.remove(runtime);
         } catch (Exception e) {
             logger.error("Error while removing runtime from Runtime manager", e);
         }
@@ -94,7 +105,7 @@ public class RuntimeServiceListenerComponent implements RequiredCapabilityListen
         if (logger.isDebugEnabled()) {
             logger.debug("Registering RuntimeService as an OSGi service");
         }
-        RuntimeService runtimeService = new CarbonRuntimeService(runtimeManager);
+        runtimeService = new CarbonRuntimeService(runtimeManager);
         try {
             runtimeService.startRuntimes();
             bundleContext.registerService(RuntimeService.class, runtimeService, null);
@@ -103,4 +114,27 @@ public class RuntimeServiceListenerComponent implements RequiredCapabilityListen
             logger.error("Error while starting runtime from Runtime manager", e);
         }
     }
+
+    @Override
+    public void onRequiredCapabilityLost(String capabilityName) {
+        // Only the runtime whose service is unregistered depends on the lost capability, and it is already removed
+        // from the RuntimeManager. Hence the remaining runtimes are kept active.
+        logger.warn("Required capability {} is lost. The remaining runtimes are kept active.", capabilityName);
+    }
+
+    @Override
+    public void onAllRequiredCapabilitiesRestored() {
+        logger.info("Required capabilities are restored, hence starting the runtimes registered meanwhile");
+        for (Runtime runtime : newRuntimes) {
+            newRuntimes.remove(runtime);
+            try {
+                if (runtime.getState() == RuntimeState.INACTIVE) {
+                    runtime.init();
+                    runtime.start();
+                }
+            } catch (Exception e) {
+                logger.error("Error while starting runtime " + runtime.getClass().getName(), e);
+            }
+        }
+    }
 }
@@ -0,0 +1,160 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A multiset of {@code Capability} instances keyed by the capability name and the bundle from which the capability is
+ * provided. This implementation is thread-safe.
+ * <p>
+ * The count of a capability is incremented when the capability is expected and decremented when it is available.
+ * Hence the count becomes negative if a capability is available before it is expected. e.g. an OSGi service
+ * registered before the corresponding {@code CapabilityProvider}. A capability is pending until its count is zero.
+ *
+ * @since 5.1.0
+ */
+class CapabilityMultiset {
+
+    private Map<CapabilityKey, CapabilityEntry> capabilityEntryMap = new HashMap<>();
+
+    // Sum of the absolute counts of all the capabilities.
+    private int size;
+
+    /**
+     * Increments the count of the given capability by one.
+     *
+     * @param capability expected {@code Capability}.
+     * @return number of pending capabilities after adding the given capability.
+     */
+    synchronized int add(Capability capability) {
+        return update(capability, 1);
+    }
+
+    /**
+     * Decrements the count of the given capability by one.
+     *
+     * @param capability available {@code Capability}.
+     * @return number of pending capabilities after removing the given capability.
+     */
+    synchronized int remove(Capability capability) {
+        return update(capability, -1);
+    }
+
+    /**
+     * Returns the count of the given capability.
+     *
+     * @param capability {@code Capability} instance.
+     * @return count of the capability.
+     */
+    synchronized int count(Capability capability) {
+        CapabilityEntry capabilityEntry = capabilityEntryMap.get(
+                new CapabilityKey(capability.getName(), capability.getBundle()));
+        return capabilityEntry != null ? capabilityEntry.count : 0;
+    }
+
+    /**
+     * Returns the number of pending capabilities.
+     *
+     * @return sum of the absolute counts of all the capabilities.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns all the pending capabilities. A capability is repeated as many times as its absolute count.
+     *
+     * @return a list of pending {@code Capability} instances.
+     */
+    synchronized List<Capability> getCapabilities() {
+        List<Capability> capabilityList = new ArrayList<>(size);
+        capabilityEntryMap.values()
+                .forEach(capabilityEntry -> {
+                    for (int i = 0; i < Math.abs(capabilityEntry.count); i++) {
+                        capabilityList.add(capabilityEntry.capability);
+                    }
+                });
+        return capabilityList;
+    }
+
+    private int update(Capability capability, int delta) {
+        CapabilityKey capabilityKey = new CapabilityKey(capability.getName(), capability.getBundle());
+        CapabilityEntry capabilityEntry = capabilityEntryMap.get(capabilityKey);
+        if (capabilityEntry == null) {
+            capabilityEntry = new CapabilityEntry(capability);
+            capabilityEntryMap.put(capabilityKey, capabilityEntry);
+        }
+
+        int oldCount = capabilityEntry.count;
+        capabilityEntry.count += delta;
+        size += Math.abs(capabilityEntry.count) - Math.abs(oldCount);
+
+        if (capabilityEntry.count == 0) {
+            capabilityEntryMap.remove(capabilityKey);
+        }
+        return size;
+    }
+
+    /**
+     * Key of a capability in the multiset.
+     */
+    private static final class CapabilityKey {
+        private final String name;
+        private final Bundle bundle;
+
+        private CapabilityKey(String name, Bundle bundle) {
+            this.name = name;
+            this.bundle = bundle;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CapabilityKey)) {
+                return false;
+            }
+
+            CapabilityKey other = (CapabilityKey) obj;
+            return name.equals(other.name) && bundle.equals(other.bundle);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, bundle);
+        }
+    }
+
+    /**
+     * Holds a representative capability instance together with its count.
+     */
+    private static final class CapabilityEntry {
+        private final Capability capability;
+        private int count;
+
+        private CapabilityEntry(Capability capability) {
+            this.capability = capability;
+        }
+    }
+}
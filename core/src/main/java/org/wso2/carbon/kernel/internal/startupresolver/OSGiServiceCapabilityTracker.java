@@ -30,7 +30,6 @@ import org.wso2.carbon.kernel.internal.DataHolder;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
-import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
 import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
@@ -51,7 +50,7 @@ class OSGiServiceCapabilityTracker {
     private static final Logger logger = LoggerFactory.getLogger(OSGiServiceCapabilityTracker.class);
 
     private StartupComponentManager startupComponentManager;
-    private ServiceTracker<Object, Object> capabilityServiceTracker;
+    private volatile ServiceTracker<Object, Object> capabilityServiceTracker;
 
     OSGiServiceCapabilityTracker(StartupComponentManager startupComponentManager) {
         this.startupComponentManager = startupComponentManager;
@@ -72,9 +71,12 @@ class OSGiServiceCapabilityTracker {
      * Closes the ServiceTracker.
      */
     void closeTracker() {
-        capabilityServiceTracker.close();
-        capabilityServiceTracker = null;
-        startupComponentManager = null;
+        ServiceTracker<Object, Object> serviceTracker = capabilityServiceTracker;
+        if (serviceTracker != null) {
+            // Services removed while closing the tracker are not lost capabilities.
+            capabilityServiceTracker = null;
+            serviceTracker.close();
+        }
     }
 
     /**
@@ -84,8 +86,7 @@ class OSGiServiceCapabilityTracker {
      * @return a {@link List} of OSGi service keys
      */
     private List<String> getRequiredServiceList(StartupComponentManager startupComponentManager) {
-        List<StartupComponent> startupComponentList = startupComponentManager.getPendingComponents();
-        List<String> requiredServiceList = startupComponentList
+        List<String> requiredServiceList = startupComponentManager.getPendingComponents()
                 .stream()
                 .flatMap(startupComponentBean -> startupComponentBean.getRequiredServiceList().stream())
                 .distinct()
@@ -157,16 +158,18 @@ class OSGiServiceCapabilityTracker {
                             + serviceImplClassName);
                 }
 
-                CapabilityProviderCapability capabilityProvider = new CapabilityProviderCapability(
-                        CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE,
-                        capabilityName.trim(), bundle);
-                startupComponentManager.addAvailableCapabilityProvider(capabilityProvider);
-
+                // Expected capabilities must be added before marking the CapabilityProvider as available. Otherwise
+                // dependent components may be considered satisfiable before the provided capabilities are counted.
                 IntStream.range(0, provider.getCount())
                         .forEach(count -> startupComponentManager.addExpectedRequiredCapability(
                                 new OSGiServiceCapability(capabilityName.trim(),
                                         Capability.CapabilityType.OSGi_SERVICE, bundle)));
 
+                CapabilityProviderCapability capabilityProvider = new CapabilityProviderCapability(
+                        CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE,
+                        capabilityName.trim(), bundle);
+                startupComponentManager.addAvailableCapabilityProvider(capabilityProvider);
+
             } else {
                 // this has to be a capability service
                 logger.debug("Adding OSGi Service Capability. Service id: {}. Service implementation class: {}. ",
@@ -183,10 +186,29 @@ class OSGiServiceCapabilityTracker {
 
         @Override
         public void modifiedService(ServiceReference<Object> reference, Object service) {
+            // The objectClass of a service cannot be modified, hence the service still provides the same capability.
         }
 
         @Override
         public void removedService(ServiceReference<Object> reference, Object service) {
+            String serviceInterfaceClassName = ((String[]) reference.getProperty(OBJECT_CLASS))[0];
+            Bundle bundle = reference.getBundle();
+            DataHolder.getInstance().getBundleContext().ungetService(reference);
+
+            // RequiredCapabilityListener and CapabilityProvider services are only used during the startup.
+            if (capabilityServiceTracker == null || bundle == null ||
+                    RequiredCapabilityListener.class.getName().equals(serviceInterfaceClassName) ||
+                    CapabilityProvider.class.getName().equals(serviceInterfaceClassName)) {
+                return;
+            }
+
+            logger.debug("Removing OSGi Service Capability. Service id: {}. Service implementation class: {}. ",
+                    serviceInterfaceClassName,
+                    service.getClass().getName());
+
+            OSGiServiceCapability osgiServiceCapability = new OSGiServiceCapability(serviceInterfaceClassName,
+                    Capability.CapabilityType.OSGi_SERVICE, bundle);
+            startupComponentManager.removeAvailableRequiredCapability(osgiServiceCapability);
         }
     }
 }
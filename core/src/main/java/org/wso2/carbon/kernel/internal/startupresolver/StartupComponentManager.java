@@ -27,11 +27,18 @@ import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Manages StartupComponents.
@@ -44,18 +51,84 @@ class StartupComponentManager {
     // Key of this map is the component name
     private Map<String, StartupComponent> startupComponentMap = new ConcurrentHashMap<>();
 
-    // This map contains the pending list of Capabilities against the component name.
+    // This map contains the pending Capabilities against the component name.
     // Key of the this map is the component name.
-    // Returns the list of pending required Capabilities for a specified component key.
-    private Map<String, List<Capability>> pendingCapabilityMap = new ConcurrentHashMap<>();
+    // Returns the multiset of pending required Capabilities for a specified component key.
+    private Map<String, CapabilityMultiset> pendingCapabilityMap = new ConcurrentHashMap<>();
 
     // This map contains the list of StartupComponent against the capability name.
     // Key of the this map is the capability name.
     // Returns the list of StartupComponents which depends on a given capability.
-    private Map<String, List<StartupComponent>> capabilityToComponentMap = new HashMap<>();
+    private Map<String, List<StartupComponent>> capabilityToComponentMap = new ConcurrentHashMap<>();
 
     // Key of this map is the capability name;
-    private Map<String, List<CapabilityProviderCapability>> pendingCapabilityProviderMap = new HashMap<>();
+    private Map<String, List<CapabilityProviderCapability>> pendingCapabilityProviderMap = new ConcurrentHashMap<>();
+
+    // This map contains the bundles which provide the required capabilities of a startup component.
+    // Key of this map is the component name.
+    private Map<String, Set<Bundle>> providerBundleMap = new ConcurrentHashMap<>();
+
+    // This map contains the names of the startup components available in a bundle.
+    // Key of this map is the bundle.
+    private Map<Bundle, List<String>> bundleToComponentMap = new ConcurrentHashMap<>();
+
+    // This map contains a lock object against the capability name. The lock guards the capabilityToComponentMap and
+    // pendingCapabilityProviderMap entries of the capability as well as the pending capabilities and pending
+    // CapabilityProvider counts it contributes to the dependent startup components.
+    private Map<String, Object> capabilityLockMap = new ConcurrentHashMap<>();
+
+    // This queue contains the StartupComponents which became satisfiable due to a recent capability,
+    // CapabilityProvider or RequiredCapabilityListener registration.
+    private Queue<StartupComponent> satisfiableComponentQueue = new ConcurrentLinkedQueue<>();
+
+    // These maps partition the startupComponentMap into satisfiable and pending startup components. A component is
+    // moved between them whenever its pending capability counts or its RequiredCapabilityListener change.
+    private Map<String, StartupComponent> satisfiableComponentMap = new ConcurrentHashMap<>();
+    private Map<String, StartupComponent> pendingComponentMap = new ConcurrentHashMap<>();
+
+    // This counter maintains the number of pending CapabilityProviders against the component name. i.e. number of
+    // pending CapabilityProviders which provide capabilities required by the component.
+    private MultiCounter<String> pendingCapabilityProviderCounter = new MultiCounter<>();
+
+    // Invoked whenever a StartupComponent is added to the satisfiableComponentQueue.
+    private Runnable satisfiableComponentListener;
+
+    // This map contains the capabilities lost by the startup components which are already notified. Entries are
+    // added only if satisfied components are tracked. Key of this map is the component name.
+    private Map<String, CapabilityMultiset> lostCapabilityMap = new ConcurrentHashMap<>();
+
+    // Invoked when a notified startup component loses a required capability.
+    private BiConsumer<StartupComponent, Capability> capabilityLostListener;
+
+    // Invoked when all the lost capabilities of a notified startup component are available again.
+    private Consumer<StartupComponent> capabilitiesRestoredListener;
+
+    // Records the dependencies between startup components and capabilities. This graph outlives the startup.
+    private StartupDependencyGraph dependencyGraph = new StartupDependencyGraph();
+
+    /**
+     * Creates a {@code StartupComponentManager} which invokes the given listener as soon as a
+     * {@code StartupComponent} becomes satisfiable.
+     *
+     * @param satisfiableComponentListener listener to be invoked when a component becomes satisfiable.
+     */
+    StartupComponentManager(Runnable satisfiableComponentListener) {
+        this.satisfiableComponentListener = satisfiableComponentListener;
+    }
+
+    /**
+     * Keeps tracking the required capabilities of startup components after they are notified. The given listeners
+     * are invoked when such a component loses a required capability and when all the lost capabilities are
+     * available again.
+     *
+     * @param capabilityLostListener       listener to be invoked when a capability is lost.
+     * @param capabilitiesRestoredListener listener to be invoked when all the lost capabilities are restored.
+     */
+    void trackSatisfiedComponents(BiConsumer<StartupComponent, Capability> capabilityLostListener,
+                                  Consumer<StartupComponent> capabilitiesRestoredListener) {
+        this.capabilityLostListener = capabilityLostListener;
+        this.capabilitiesRestoredListener = capabilitiesRestoredListener;
+    }
 
     /**
      * Iterates though the list of StartupComponents and update internal data structures.
@@ -91,6 +164,7 @@ class StartupComponentManager {
                 componentName, capabilityName);
 
         startupComponent.getRequiredServiceList().add(capabilityName);
+        dependencyGraph.addRequiredCapability(componentName, capabilityName);
         updateCapabilityToComponentMap(startupComponent, capabilityName);
     }
 
@@ -125,7 +199,8 @@ class StartupComponentManager {
                     componentName, bundle.getSymbolicName(), bundle.getVersion());
         }
         startupComponent.setListener(listener);
-
+        dependencyGraph.listenerRegistered(componentName);
+        updateComponentState(componentName);
     }
 
     /**
@@ -144,14 +219,22 @@ class StartupComponentManager {
         }
 
         String providedCapabilityName = capabilityProvider.getProvidedCapabilityName();
-        synchronized (providedCapabilityName.intern()) {
+        synchronized (getCapabilityLock(providedCapabilityName)) {
             if (pendingCapabilityProviderMap.containsKey(providedCapabilityName)) {
                 pendingCapabilityProviderMap.get(providedCapabilityName).add(capabilityProvider);
             } else {
-                List<CapabilityProviderCapability> providerCapabilityList = new ArrayList<>();
+                List<CapabilityProviderCapability> providerCapabilityList = new CopyOnWriteArrayList<>();
                 providerCapabilityList.add(capabilityProvider);
                 pendingCapabilityProviderMap.put(providedCapabilityName, providerCapabilityList);
             }
+
+            getDependentComponents(providedCapabilityName)
+                    .forEach(startupComponent -> {
+                        String componentName = startupComponent.getName();
+                        if (pendingCapabilityProviderCounter.incrementAndGet(componentName) == 1) {
+                            updateComponentState(componentName);
+                        }
+                    });
         }
     }
 
@@ -171,14 +254,21 @@ class StartupComponentManager {
         }
 
         String providedCapabilityName = capabilityProvider.getProvidedCapabilityName();
-        synchronized (providedCapabilityName.intern()) {
+        synchronized (getCapabilityLock(providedCapabilityName)) {
             List<CapabilityProviderCapability> capabilityProviderList =
                     pendingCapabilityProviderMap.get(providedCapabilityName);
-            if (capabilityProviderList != null) {
-                capabilityProviderList.remove(capabilityProvider);
+            if (capabilityProviderList != null && capabilityProviderList.remove(capabilityProvider)) {
                 if (capabilityProviderList.size() == 0) {
                     pendingCapabilityProviderMap.remove(providedCapabilityName);
                 }
+
+                getDependentComponents(providedCapabilityName)
+                        .forEach(startupComponent -> {
+                            String componentName = startupComponent.getName();
+                            if (pendingCapabilityProviderCounter.decrementAndGet(componentName) == 0) {
+                                updateComponentState(componentName);
+                            }
+                        });
             } else {
                 logger.debug("Unknown CapabilityProvider from bundle({}:{})",
                         capabilityProvider.getBundle().getSymbolicName(),
@@ -198,11 +288,12 @@ class StartupComponentManager {
     void addExpectedRequiredCapability(Capability capability) {
         String capabilityName = capability.getName();
 
-        synchronized (capabilityName.intern()) {
-            startupComponentMap.values()
-                    .stream()
-                    .filter(startupComponent ->
-                            startupComponent.getRequiredServiceList().contains(capabilityName))
+        synchronized (getCapabilityLock(capabilityName)) {
+            if (!getDependentComponents(capabilityName).isEmpty()) {
+                dependencyGraph.capabilityExpected(capability);
+            }
+
+            getDependentComponents(capabilityName)
                     .forEach(startupComponent -> {
                         if (logger.isDebugEnabled()) {
                             logger.debug("Adding expected required capability {} from bundle({}:{}) to " +
@@ -213,7 +304,7 @@ class StartupComponentManager {
                         }
 
                         String componentName = startupComponent.getName();
-                        addCapabilityToComponent(componentName, capability);
+                        addCapabilityToComponent(componentName, capability, true);
                     });
         }
     }
@@ -228,9 +319,12 @@ class StartupComponentManager {
     void addAvailableRequiredCapability(Capability capability) {
         String capabilityName = capability.getName();
 
-        synchronized (capabilityName.intern()) {
-            capabilityToComponentMap.get(capabilityName)
-                    .stream()
+        synchronized (getCapabilityLock(capabilityName)) {
+            if (!getDependentComponents(capabilityName).isEmpty()) {
+                dependencyGraph.capabilityAvailable(capability);
+            }
+
+            getDependentComponents(capabilityName)
                     .forEach(startupComponent -> {
                         if (logger.isDebugEnabled()) {
                             logger.debug("Adding available required capability {} from bundle({}:{}) to " +
@@ -240,7 +334,46 @@ class StartupComponentManager {
                                     startupComponent.getName());
                         }
                         String componentName = startupComponent.getName();
-                        addCapabilityToComponent(componentName, capability);
+                        CapabilityMultiset lostCapabilities = lostCapabilityMap.get(componentName);
+                        if (lostCapabilities != null) {
+                            restoreCapabilityOfComponent(startupComponent, lostCapabilities, capability);
+                        } else {
+                            addCapabilityToComponent(componentName, capability, false);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Removes an available required capability.
+     * <p>
+     * This method is invoked when a required capability is unregistered. A startup component which is not yet
+     * notified waits for the capability again. A notified startup component is pending until the capability is
+     * restored.
+     *
+     * @param capability {@code Capability} instance
+     */
+    void removeAvailableRequiredCapability(Capability capability) {
+        String capabilityName = capability.getName();
+
+        synchronized (getCapabilityLock(capabilityName)) {
+            getDependentComponents(capabilityName)
+                    .forEach(startupComponent -> {
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Removing required capability {} from bundle({}:{}) of " +
+                                            "startup component {}.", capability.getName(),
+                                    capability.getBundle().getSymbolicName(),
+                                    capability.getBundle().getVersion(),
+                                    startupComponent.getName());
+                        }
+
+                        String componentName = startupComponent.getName();
+                        CapabilityMultiset lostCapabilities = lostCapabilityMap.get(componentName);
+                        if (lostCapabilities == null) {
+                            addCapabilityToComponent(componentName, capability, true);
+                        } else {
+                            loseCapabilityOfComponent(startupComponent, lostCapabilities, capability);
+                        }
                     });
         }
     }
@@ -252,18 +385,44 @@ class StartupComponentManager {
      * 1) If there are pending capability registrations,
      * 2) If there are pending {@code CapabilityProvider} service registrations,
      * 3) If the {@code RequiredCapabilityListener} is not yet registered.
+     * A notified {@code StartupComponent} is pending again while it has lost capabilities, if satisfied components
+     * are tracked.
      *
-     * @return a list of {@code StartupComponent}s with pending capabilities
+     * @return an unmodifiable view of the {@code StartupComponent}s with pending capabilities
      */
-    List<StartupComponent> getPendingComponents() {
+    Collection<StartupComponent> getPendingComponents() {
+        return Collections.unmodifiableCollection(pendingComponentMap.values());
+    }
 
-        return pendingCapabilityMap.keySet()
-                .stream()
-                .filter(componentName -> getPendingProvideCapabilityList(componentName).size() != 0 ||
-                        startupComponentMap.get(componentName).getListener() == null ||
-                        getPendingCapabilityProviderList(componentName).size() != 0)
-                .map(componentName -> startupComponentMap.get(componentName))
-                .collect(Collectors.toList());
+    /**
+     * Checks whether the specified {@code StartupComponent} is pending.
+     *
+     * @param componentName name of the startup component.
+     * @return true if the component is not yet satisfiable or if it has lost capabilities after it is notified.
+     */
+    boolean isPending(String componentName) {
+        return pendingComponentMap.containsKey(componentName);
+    }
+
+    /**
+     * Checks whether the specified {@code StartupComponent} has been notified and has lost required capabilities
+     * since then.
+     *
+     * @param componentName name of the startup component.
+     * @return true if the component is pending due to lost capabilities.
+     */
+    boolean hasLostCapabilities(String componentName) {
+        CapabilityMultiset lostCapabilities = lostCapabilityMap.get(componentName);
+        return lostCapabilities != null && lostCapabilities.size() > 0;
+    }
+
+    /**
+     * Checks whether there are startup components which are not yet removed as satisfied components.
+     *
+     * @return true if there are startup components which are either pending or not yet notified.
+     */
+    boolean hasRemainingComponents() {
+        return !startupComponentMap.isEmpty();
     }
 
     /**
@@ -274,31 +433,95 @@ class StartupComponentManager {
      * 2) If the {@code RequiredCapabilityListener} OSGi service is available.
      * 3) If there are no pending {@code CapabilityProvider} OSGi service registrations.
      *
-     * @return a list of {@code StartupComponent}s whose required capabilities are available.
+     * @return an unmodifiable view of the {@code StartupComponent}s whose required capabilities are available.
      */
-    List<StartupComponent> getSatisfiableComponents() {
+    Collection<StartupComponent> getSatisfiableComponents() {
+        return Collections.unmodifiableCollection(satisfiableComponentMap.values());
+    }
+
+    /**
+     * Retrieves and removes the next {@code StartupComponent} which became satisfiable since the last invocation.
+     *
+     * @return the next satisfiable {@code StartupComponent}, or null if there are none.
+     */
+    StartupComponent pollSatisfiableComponent() {
+        return satisfiableComponentQueue.poll();
+    }
+
+    /**
+     * Checks whether the specified {@code StartupComponent} is still pending and all its required capabilities,
+     * {@code CapabilityProvider}s and the {@code RequiredCapabilityListener} are available.
+     *
+     * @param componentName name of the startup component.
+     * @return true if the component can be notified.
+     */
+    boolean isSatisfiable(String componentName) {
+        StartupComponent startupComponent = startupComponentMap.get(componentName);
+        CapabilityMultiset pendingCapabilities = pendingCapabilityMap.get(componentName);
+        return startupComponent != null &&
+                startupComponent.getListener() != null &&
+                pendingCapabilities != null &&
+                pendingCapabilities.size() == 0 &&
+                pendingCapabilityProviderCounter.get(componentName) == 0;
+    }
 
-        return pendingCapabilityMap.keySet()
+    /**
+     * Returns the names of the startup components which are available in the bundles that provide the required
+     * capabilities of the specified startup component.
+     * <p>
+     * The capabilities required by the specified component may be registered by these components, hence they should
+     * be notified before the specified component.
+     *
+     * @param componentName name of the startup component.
+     * @return a set of startup component names.
+     */
+    Set<String> getProviderComponentNames(String componentName) {
+        Set<Bundle> providerBundleSet = providerBundleMap.get(componentName);
+        if (providerBundleSet == null) {
+            return Collections.emptySet();
+        }
+
+        return providerBundleSet
                 .stream()
-                // Filter out all the startup components whose required capabilities are all available;
-                .filter(componentName -> getPendingProvideCapabilityList(componentName).size() == 0)
-                // Filter out all the startup components whose RequiredCapabilityListener is available.
-                .filter(componentName -> startupComponentMap.get(componentName).getListener() != null)
-                // Check whether there are pending CapabilityProviders which provide capabilities
-                // required by these startup components.
-                .filter(componentName -> getPendingCapabilityProviderList(componentName).size() == 0)
-                .map(componentName -> startupComponentMap.get(componentName))
-                .collect(Collectors.toList());
+                .map(bundle -> bundleToComponentMap.getOrDefault(bundle, Collections.emptyList()))
+                .flatMap(List::stream)
+                .filter(providerComponentName -> !providerComponentName.equals(componentName))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the dependency graph recorded while resolving the startup components.
+     *
+     * @return the {@code StartupDependencyGraph} of this manager.
+     */
+    StartupDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
     }
 
     /**
      * Deletes the satisfied components from the internal data structures.
+     * <p>
+     * A component is removed only once, hence the caller which gets {@code true} is the one who should notify the
+     * {@code RequiredCapabilityListener} of the component.
      *
      * @param startupComponent {@code StartupComponent} to be removed.
+     * @return true if the component was removed by this invocation.
      */
-    void removeSatisfiedComponent(StartupComponent startupComponent) {
-        startupComponentMap.remove(startupComponent.getName());
+    boolean removeSatisfiedComponent(StartupComponent startupComponent) {
+        if (!startupComponentMap.remove(startupComponent.getName(), startupComponent)) {
+            return false;
+        }
+
+        synchronized (startupComponent) {
+            satisfiableComponentMap.remove(startupComponent.getName());
+            pendingComponentMap.remove(startupComponent.getName());
+        }
+
+        if (capabilityLostListener != null && startupComponent.getListener() != null) {
+            lostCapabilityMap.put(startupComponent.getName(), new CapabilityMultiset());
+        }
         pendingCapabilityMap.remove(startupComponent.getName());
+        return true;
     }
 
     /**
@@ -319,22 +542,62 @@ class StartupComponentManager {
      * @return a list of pending {@code CapabilityProvider}s
      */
     List<CapabilityProviderCapability> getPendingCapabilityProviderList() {
-        return pendingCapabilityProviderMap.values()
+        return toDistinctList(pendingCapabilityProviderMap.values()
                 .stream()
-                .flatMap(Collection::stream)
-                .distinct()
-                .collect(Collectors.toList());
+                .flatMap(Collection::stream));
+    }
+
+    /**
+     * Returns the pending OSGi Service of type {@code CapabilityProvider} which provide capabilities required by the
+     * given startup component.
+     *
+     * @param componentName name of the startup component.
+     * @return a list of pending {@code CapabilityProvider}s
+     */
+    List<CapabilityProviderCapability> getPendingCapabilityProviderList(String componentName) {
+        StartupComponent startupComponent = startupComponentMap.get(componentName);
+        if (startupComponent == null) {
+            return Collections.emptyList();
+        }
+
+        return toDistinctList(startupComponent.getRequiredServiceList()
+                .stream()
+                .map(capabilityName -> pendingCapabilityProviderMap.getOrDefault(capabilityName,
+                        Collections.emptyList()))
+                .flatMap(Collection::stream));
     }
 
     /**
-     * Returns all the pending capabilities of a given startup component.
+     * Collects the given {@code CapabilityProvider}s without duplicates. Duplicates are found with equals, since
+     * {@code CapabilityProviderCapability} does not support hashCode.
+     *
+     * @param capabilityProviders the {@code CapabilityProvider}s to be collected
+     * @return a list of distinct {@code CapabilityProvider}s
+     */
+    private static List<CapabilityProviderCapability> toDistinctList(
+            Stream<CapabilityProviderCapability> capabilityProviders) {
+        List<CapabilityProviderCapability> distinctCapabilityProviders = new ArrayList<>();
+        capabilityProviders.forEach(capabilityProvider -> {
+            if (!distinctCapabilityProviders.contains(capabilityProvider)) {
+                distinctCapabilityProviders.add(capabilityProvider);
+            }
+        });
+        return distinctCapabilityProviders;
+    }
+
+    /**
+     * Returns all the pending capabilities of a given startup component. These are the capabilities lost after the
+     * component is notified, if satisfied components are tracked.
      *
      * @param componentName name of the startup component.
      * @return a list of pending {@code Capability} instances of the give statup component.
      */
     List<Capability> getPendingProvideCapabilityList(String componentName) {
-        return pendingCapabilityMap.get(componentName);
-
+        CapabilityMultiset pendingCapabilities = pendingCapabilityMap.get(componentName);
+        if (pendingCapabilities == null) {
+            pendingCapabilities = lostCapabilityMap.get(componentName);
+        }
+        return pendingCapabilities != null ? pendingCapabilities.getCapabilities() : Collections.emptyList();
     }
 
     private void addComponentInternal(StartupComponent startupComponent) {
@@ -361,7 +624,10 @@ class StartupComponentManager {
         }
 
         startupComponentMap.put(componentName, startupComponent);
-        pendingCapabilityMap.put(componentName, new ArrayList<>());
+        pendingCapabilityMap.put(componentName, new CapabilityMultiset());
+        dependencyGraph.addComponent(startupComponent);
+        bundleToComponentMap.computeIfAbsent(startupComponent.getBundle(), bundle -> new CopyOnWriteArrayList<>())
+                .add(componentName);
 
         // Iterate through the list of required OSGi service capabilities in a StartupComponent and update
         // capabilityToComponentMap.
@@ -371,44 +637,139 @@ class StartupComponentManager {
                             startupComponent.getName(), requiredCapabilityName);
                     updateCapabilityToComponentMap(startupComponent, requiredCapabilityName);
                 });
+        updateComponentState(componentName);
     }
 
-    private List<CapabilityProviderCapability> getPendingCapabilityProviderList(String componentName) {
-        return startupComponentMap.get(componentName).getRequiredServiceList()
-                .stream()
-                .filter(requiredCapability -> pendingCapabilityProviderMap.get(requiredCapability) != null)
-                .flatMap(requiredCapability -> pendingCapabilityProviderMap.get(requiredCapability).stream())
-                .collect(Collectors.toList());
+    private Object getCapabilityLock(String capabilityName) {
+        return capabilityLockMap.computeIfAbsent(capabilityName, name -> new Object());
     }
 
-    private void addCapabilityToComponent(String componentName, Capability capability) {
-        List<Capability> pendingCapabilityList = pendingCapabilityMap.get(componentName);
+    private List<StartupComponent> getDependentComponents(String capabilityName) {
+        List<StartupComponent> dependentComponentList = capabilityToComponentMap.get(capabilityName);
+        return dependentComponentList != null ? dependentComponentList : Collections.emptyList();
+    }
 
-        if (pendingCapabilityList != null) {
-            if (pendingCapabilityList.contains(capability)) {
-                // If the capability is already added, then we remove it.
-                // This is added as an available capability
-                pendingCapabilityList.remove(capability);
-            } else {
-                pendingCapabilityList.add(capability);
+    private void addCapabilityToComponent(String componentName, Capability capability, boolean expected) {
+        CapabilityMultiset pendingCapabilities = pendingCapabilityMap.get(componentName);
+
+        if (pendingCapabilities == null) {
+            // The component has already been notified.
+            logger.debug("Ignoring capability {} since startup component {} is already satisfied.",
+                    capability.getName(), componentName);
+            return;
+        }
+
+        if (expected) {
+            providerBundleMap.computeIfAbsent(componentName, name -> ConcurrentHashMap.newKeySet())
+                    .add(capability.getBundle());
+        }
+
+        // An available capability cancels out an expected capability with the same name from the same bundle.
+        int pendingCapabilityCount = expected ? pendingCapabilities.add(capability) :
+                pendingCapabilities.remove(capability);
+
+        logger.debug("Required Capability count of component {}: {}", componentName, pendingCapabilityCount);
+
+        // The component state can only change when the count moves between zero and one.
+        if (pendingCapabilityCount <= 1) {
+            updateComponentState(componentName);
+        }
+    }
+
+    private void loseCapabilityOfComponent(StartupComponent startupComponent, CapabilityMultiset lostCapabilities,
+                                           Capability capability) {
+        int lostCapabilityCount;
+        // The lost capabilities and the pending state of the component are updated together, since the capabilities
+        // may be lost and restored concurrently under different capability locks.
+        synchronized (lostCapabilities) {
+            lostCapabilityCount = lostCapabilities.add(capability);
+            pendingComponentMap.put(startupComponent.getName(), startupComponent);
+        }
+        if (lostCapabilityCount == 1) {
+            capabilityLostListener.accept(startupComponent, capability);
+        }
+    }
+
+    private void restoreCapabilityOfComponent(StartupComponent startupComponent, CapabilityMultiset lostCapabilities,
+                                              Capability capability) {
+        boolean restored = false;
+        synchronized (lostCapabilities) {
+            // A new instance of a capability which was not lost does not affect the component.
+            if (lostCapabilities.count(capability) > 0 && lostCapabilities.remove(capability) == 0) {
+                pendingComponentMap.remove(startupComponent.getName());
+                restored = true;
+            }
+        }
+        if (restored) {
+            capabilitiesRestoredListener.accept(startupComponent);
+        }
+    }
+
+    /**
+     * Moves the specified component to the satisfiable or the pending components based on its current state. This is
+     * invoked whenever a pending count of the component changes from or to zero, hence the satisfiable and pending
+     * components never have to be computed by scanning all the startup components.
+     * <p>
+     * The state is evaluated while holding the component lock, so that the last invocation always reflects the
+     * latest counts even if the counts are updated concurrently under different capability locks.
+     *
+     * @param componentName name of the startup component.
+     */
+    private void updateComponentState(String componentName) {
+        StartupComponent startupComponent = startupComponentMap.get(componentName);
+        if (startupComponent == null) {
+            return;
+        }
+
+        boolean becameSatisfiable;
+        synchronized (startupComponent) {
+            if (startupComponentMap.get(componentName) != startupComponent) {
+                // The component has been notified meanwhile.
+                return;
             }
 
-        } else {
-            pendingCapabilityList = new ArrayList<>();
-            pendingCapabilityList.add(capability);
-            pendingCapabilityMap.put(componentName, pendingCapabilityList);
+            if (isSatisfiable(componentName)) {
+                pendingComponentMap.remove(componentName);
+                becameSatisfiable = satisfiableComponentMap.put(componentName, startupComponent) == null;
+            } else {
+                satisfiableComponentMap.remove(componentName);
+                pendingComponentMap.put(componentName, startupComponent);
+                becameSatisfiable = false;
+            }
         }
 
-        logger.debug("Required Capability count of component {}: {}", componentName, pendingCapabilityList.size());
+        if (becameSatisfiable) {
+            logger.debug("Startup component {} is satisfiable.", componentName);
+            dependencyGraph.componentSatisfied(componentName);
+            satisfiableComponentQueue.add(startupComponent);
+            satisfiableComponentListener.run();
+        }
     }
 
     private void updateCapabilityToComponentMap(StartupComponent startupComponent, String requiredCapabilityName) {
-        if (capabilityToComponentMap.containsKey(requiredCapabilityName)) {
-            capabilityToComponentMap.get(requiredCapabilityName).add(startupComponent);
-        } else {
-            List<StartupComponent> componentList = new ArrayList<>();
-            componentList.add(startupComponent);
-            capabilityToComponentMap.put(requiredCapabilityName, componentList);
+        synchronized (getCapabilityLock(requiredCapabilityName)) {
+            if (capabilityToComponentMap.containsKey(requiredCapabilityName)) {
+                List<StartupComponent> componentList = capabilityToComponentMap.get(requiredCapabilityName);
+                if (componentList.contains(startupComponent)) {
+                    return;
+                }
+                componentList.add(startupComponent);
+            } else {
+                List<StartupComponent> componentList = new CopyOnWriteArrayList<>();
+                componentList.add(startupComponent);
+                capabilityToComponentMap.put(requiredCapabilityName, componentList);
+            }
+
+            // CapabilityProviders of this capability may have been processed before this component started
+            // depending on it.
+            List<CapabilityProviderCapability> capabilityProviderList =
+                    pendingCapabilityProviderMap.get(requiredCapabilityName);
+            if (capabilityProviderList != null && !capabilityProviderList.isEmpty()) {
+                for (int i = 0; i < capabilityProviderList.size(); i++) {
+                    pendingCapabilityProviderCounter.incrementAndGet(startupComponent.getName());
+                }
+                updateComponentState(startupComponent.getName());
+            }
         }
     }
 
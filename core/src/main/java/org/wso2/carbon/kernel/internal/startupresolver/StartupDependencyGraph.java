@@ -0,0 +1,342 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@code StartupDependencyGraph} records the dependencies between startup components and required capabilities
+ * together with the time at which each of them became available during the server startup.
+ * <p>
+ * A required capability is linked to the startup components available in the bundle which provides it, hence the
+ * recorded graph can be used to find the chain of startup components which delayed the server startup.
+ * <p>
+ * All the timestamps are in milliseconds since the epoch. A timestamp of -1 means that the event has not occurred.
+ * Events are ordered using {@code System.nanoTime()} since millisecond timestamps of consecutive events are often
+ * equal.
+ *
+ * @since 5.1.0
+ */
+public class StartupDependencyGraph implements StartupDependencyGraphMBean {
+    private static final long NOT_AVAILABLE = -1;
+
+    // Key of this map is the component name.
+    private Map<String, ComponentNode> componentNodeMap = new ConcurrentHashMap<>();
+
+    // Key of this map is the capability name together with the symbolic name and the version of the provider bundle.
+    private Map<String, CapabilityNode> capabilityNodeMap = new ConcurrentHashMap<>();
+
+    void addComponent(StartupComponent startupComponent) {
+        ComponentNode componentNode = new ComponentNode(startupComponent.getName(), startupComponent.getBundle());
+        componentNode.requiredCapabilityNames.addAll(startupComponent.getRequiredServiceList());
+        componentNodeMap.putIfAbsent(startupComponent.getName(), componentNode);
+    }
+
+    void addRequiredCapability(String componentName, String capabilityName) {
+        ComponentNode componentNode = componentNodeMap.get(componentName);
+        if (componentNode != null && !componentNode.requiredCapabilityNames.contains(capabilityName)) {
+            componentNode.requiredCapabilityNames.add(capabilityName);
+        }
+    }
+
+    void capabilityExpected(Capability capability) {
+        getCapabilityNode(capability).expected(System.currentTimeMillis());
+    }
+
+    void capabilityAvailable(Capability capability) {
+        getCapabilityNode(capability).available(System.currentTimeMillis());
+    }
+
+    void listenerRegistered(String componentName) {
+        ComponentNode componentNode = componentNodeMap.get(componentName);
+        if (componentNode != null) {
+            componentNode.listenerRegisteredTime = System.currentTimeMillis();
+        }
+    }
+
+    void componentSatisfied(String componentName) {
+        ComponentNode componentNode = componentNodeMap.get(componentName);
+        if (componentNode != null) {
+            componentNode.satisfiedTime = System.currentTimeMillis();
+        }
+    }
+
+    void notificationStarted(String componentName) {
+        ComponentNode componentNode = componentNodeMap.get(componentName);
+        if (componentNode != null) {
+            componentNode.notificationStartNanos = System.nanoTime();
+            componentNode.notificationStartTime = System.currentTimeMillis();
+        }
+    }
+
+    void notificationCompleted(String componentName) {
+        ComponentNode componentNode = componentNodeMap.get(componentName);
+        if (componentNode != null) {
+            componentNode.notificationEndNanos = System.nanoTime();
+            componentNode.notificationDurationNanos =
+                    componentNode.notificationEndNanos - componentNode.notificationStartNanos;
+            componentNode.notificationEndTime = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public String getDependencyGraphAsDOT() {
+        Set<String> criticalPath = new HashSet<>(computeCriticalPath());
+        StringBuilder dot = new StringBuilder("digraph StartupDependencyGraph {\n");
+
+        getSortedComponentNodes().forEach(componentNode -> {
+            dot.append("  ").append(quote(componentNode.name))
+                    .append(" [shape=ellipse, label=")
+                    .append(quote(componentNode.name + "\\n" + componentNode.bundle.getSymbolicName() +
+                            "\\nnotified in " + componentNode.getNotificationDurationMillis() + " ms"));
+            if (criticalPath.contains(componentNode.name)) {
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+        });
+
+        getSortedCapabilityNodes().forEach(capabilityNode -> {
+            String capabilityNodeId = capabilityNode.getId();
+            dot.append("  ").append(quote(capabilityNodeId))
+                    .append(" [shape=box, label=")
+                    .append(quote(capabilityNode.name + "\\n" + capabilityNode.bundle.getSymbolicName() +
+                            "\\n" + capabilityNode.availableCount + "/" + capabilityNode.expectedCount +
+                            " available"));
+            if (criticalPath.contains(capabilityNodeId)) {
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+
+            getProviderComponentNodes(capabilityNode).forEach(providerNode -> dot.append("  ")
+                    .append(quote(providerNode.name)).append(" -> ").append(quote(capabilityNodeId)).append(";\n"));
+            getDependentComponentNodes(capabilityNode).forEach(dependentNode -> dot.append("  ")
+                    .append(quote(capabilityNodeId)).append(" -> ").append(quote(dependentNode.name)).append(";\n"));
+        });
+
+        return dot.append("}\n").toString();
+    }
+
+    @Override
+    public String getDependencyGraphAsJSON() {
+        StringBuilder json = new StringBuilder("{\n  \"components\": [");
+
+        json.append(getSortedComponentNodes()
+                .stream()
+                .map(componentNode -> "\n    {" +
+                        "\"name\": " + quote(componentNode.name) +
+                        ", \"bundle\": " + quote(componentNode.bundle.getSymbolicName()) +
+                        ", \"requiredCapabilities\": " + toJSONArray(componentNode.requiredCapabilityNames) +
+                        ", \"listenerRegisteredTime\": " + componentNode.listenerRegisteredTime +
+                        ", \"satisfiedTime\": " + componentNode.satisfiedTime +
+                        ", \"notificationStartTime\": " + componentNode.notificationStartTime +
+                        ", \"notificationEndTime\": " + componentNode.notificationEndTime +
+                        ", \"notificationDuration\": " + componentNode.getNotificationDurationMillis() + "}")
+                .collect(Collectors.joining(",")));
+
+        json.append("\n  ],\n  \"capabilities\": [");
+        json.append(getSortedCapabilityNodes()
+                .stream()
+                .map(capabilityNode -> "\n    {" +
+                        "\"name\": " + quote(capabilityNode.name) +
+                        ", \"bundle\": " + quote(capabilityNode.bundle.getSymbolicName()) +
+                        ", \"expectedCount\": " + capabilityNode.expectedCount +
+                        ", \"availableCount\": " + capabilityNode.availableCount +
+                        ", \"expectedTime\": " + capabilityNode.expectedTime +
+                        ", \"availableTime\": " + capabilityNode.availableTime + "}")
+                .collect(Collectors.joining(",")));
+
+        json.append("\n  ],\n  \"criticalPath\": ").append(toJSONArray(computeCriticalPath())).append("\n}\n");
+        return json.toString();
+    }
+
+    @Override
+    public String[] getCriticalPath() {
+        List<String> criticalPath = computeCriticalPath();
+        return criticalPath.toArray(new String[criticalPath.size()]);
+    }
+
+    /**
+     * Computes the critical path by walking backwards from the startup component which was notified last. At each
+     * step, the last required capability of the current component is selected and the walk continues from the
+     * startup component in the bundle which provided that capability.
+     *
+     * @return node ids of the critical path, starting from the first node.
+     */
+    List<String> computeCriticalPath() {
+        List<String> criticalPath = new ArrayList<>();
+        Set<String> visitedComponents = new HashSet<>();
+
+        Optional<ComponentNode> currentNode = componentNodeMap.values()
+                .stream()
+                .filter(componentNode -> componentNode.notificationEndTime != NOT_AVAILABLE)
+                .max(Comparator.comparingLong(componentNode -> componentNode.notificationEndNanos));
+
+        while (currentNode.isPresent() && visitedComponents.add(currentNode.get().name)) {
+            ComponentNode componentNode = currentNode.get();
+            criticalPath.add(componentNode.name);
+
+            Optional<CapabilityNode> lastCapabilityNode = capabilityNodeMap.values()
+                    .stream()
+                    .filter(capabilityNode -> componentNode.requiredCapabilityNames.contains(capabilityNode.name))
+                    .filter(capabilityNode -> capabilityNode.availableTime != NOT_AVAILABLE)
+                    .max(Comparator.comparingLong(capabilityNode -> capabilityNode.availableNanos));
+            if (!lastCapabilityNode.isPresent()) {
+                break;
+            }
+
+            criticalPath.add(lastCapabilityNode.get().getId());
+            currentNode = getProviderComponentNodes(lastCapabilityNode.get())
+                    .stream()
+                    .filter(providerNode -> providerNode.notificationEndTime != NOT_AVAILABLE)
+                    .max(Comparator.comparingLong(providerNode -> providerNode.notificationEndNanos));
+        }
+
+        Collections.reverse(criticalPath);
+        return criticalPath;
+    }
+
+    private CapabilityNode getCapabilityNode(Capability capability) {
+        CapabilityNode capabilityNode = new CapabilityNode(capability.getName(), capability.getBundle());
+        return capabilityNodeMap.computeIfAbsent(capabilityNode.getId(), id -> capabilityNode);
+    }
+
+    private List<ComponentNode> getProviderComponentNodes(CapabilityNode capabilityNode) {
+        return componentNodeMap.values()
+                .stream()
+                .filter(componentNode -> componentNode.bundle.equals(capabilityNode.bundle))
+                .filter(componentNode -> !componentNode.requiredCapabilityNames.contains(capabilityNode.name))
+                .collect(Collectors.toList());
+    }
+
+    private List<ComponentNode> getDependentComponentNodes(CapabilityNode capabilityNode) {
+        return componentNodeMap.values()
+                .stream()
+                .filter(componentNode -> componentNode.requiredCapabilityNames.contains(capabilityNode.name))
+                .collect(Collectors.toList());
+    }
+
+    private List<ComponentNode> getSortedComponentNodes() {
+        return componentNodeMap.values()
+                .stream()
+                .sorted(Comparator.comparing(componentNode -> componentNode.name))
+                .collect(Collectors.toList());
+    }
+
+    private List<CapabilityNode> getSortedCapabilityNodes() {
+        return capabilityNodeMap.values()
+                .stream()
+                .sorted(Comparator.comparing(CapabilityNode::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static String toJSONArray(List<String> values) {
+        return values
+                .stream()
+                .map(StartupDependencyGraph::quote)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Holds the recorded details of a startup component.
+     */
+    private static class ComponentNode {
+        private final String name;
+        private final Bundle bundle;
+        private final List<String> requiredCapabilityNames = new CopyOnWriteArrayList<>();
+        private volatile long listenerRegisteredTime = NOT_AVAILABLE;
+        private volatile long satisfiedTime = NOT_AVAILABLE;
+        private volatile long notificationStartTime = NOT_AVAILABLE;
+        private volatile long notificationEndTime = NOT_AVAILABLE;
+        private volatile long notificationStartNanos;
+        private volatile long notificationEndNanos;
+        private volatile long notificationDurationNanos = NOT_AVAILABLE;
+
+        ComponentNode(String name, Bundle bundle) {
+            this.name = name;
+            this.bundle = bundle;
+        }
+
+        long getNotificationDurationMillis() {
+            return notificationDurationNanos == NOT_AVAILABLE ? NOT_AVAILABLE :
+                    TimeUnit.NANOSECONDS.toMillis(notificationDurationNanos);
+        }
+    }
+
+    /**
+     * Holds the recorded details of a required capability provided by a bundle.
+     */
+    private static class CapabilityNode {
+        private final String name;
+        private final Bundle bundle;
+        private volatile int expectedCount;
+        private volatile int availableCount;
+        private volatile long expectedTime = NOT_AVAILABLE;
+        private volatile long availableTime = NOT_AVAILABLE;
+        private volatile long availableNanos;
+
+        CapabilityNode(String name, Bundle bundle) {
+            this.name = name;
+            this.bundle = bundle;
+        }
+
+        String getId() {
+            return name + "@" + bundle.getSymbolicName() + ":" + bundle.getVersion();
+        }
+
+        synchronized void expected(long timestamp) {
+            if (expectedCount++ == 0) {
+                expectedTime = timestamp;
+            }
+        }
+
+        synchronized void available(long timestamp) {
+            availableCount++;
+            availableTime = timestamp;
+            availableNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+/**
+ * MBean interface for exposing the startup dependency graph recorded by the startup order resolver.
+ *
+ * @since 5.1.0
+ */
+public interface StartupDependencyGraphMBean {
+
+    /**
+     * Returns the startup dependency graph in the DOT format. Startup components in the critical path are
+     * highlighted.
+     *
+     * @return the startup dependency graph as a DOT digraph.
+     */
+    String getDependencyGraphAsDOT();
+
+    /**
+     * Returns the startup dependency graph in the JSON format, including the timestamps of each capability and
+     * startup component.
+     *
+     * @return the startup dependency graph as a JSON document.
+     */
+    String getDependencyGraphAsJSON();
+
+    /**
+     * Returns the critical path of the server startup. The path starts from the first startup component in the
+     * chain and ends with the startup component which was notified last. Each startup component in the path is
+     * preceded by the last required capability it waited for.
+     *
+     * @return the nodes of the critical path in the order they became available.
+     */
+    String[] getCriticalPath();
+}
@@ -15,33 +15,52 @@
  */
 package org.wso2.carbon.kernel.internal.startupresolver;
 
+import org.eclipse.osgi.framework.console.CommandProvider;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+import org.wso2.carbon.kernel.config.model.PendingComponentPolicyEnum;
+import org.wso2.carbon.kernel.config.model.PendingComponentTimeout;
 import org.wso2.carbon.kernel.internal.CarbonStartupHandler;
 import org.wso2.carbon.kernel.internal.DataHolder;
+import org.wso2.carbon.kernel.internal.StartupTimeline;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.RequiredCapabilityListenerCapability;
 import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
 import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
+import org.wso2.carbon.kernel.utils.MBeanRegistrator;
 import org.wso2.carbon.kernel.utils.manifest.ManifestElement;
 
+import java.io.File;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -53,6 +72,7 @@ import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolv
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolverUtils.isSupportedManifestHeaderExists;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.PROVIDE_CAPABILITY_HEADER;
 import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_COMPONENT_HEADER;
+import static org.wso2.carbon.kernel.internal.startupresolver.StartupResolverConstants.STARTUP_RESOLUTION_CACHE_FILE;
 
 
 /**
@@ -84,7 +104,8 @@ public class StartupOrderResolver {
         supportedManifestHeaders.add(STARTUP_COMPONENT_HEADER);
     }
 
-    private StartupComponentManager startupComponentManager = new StartupComponentManager();
+    private StartupComponentManager startupComponentManager =
+            new StartupComponentManager(this::scheduleSatisfiableComponentNotification);
 
     private OSGiServiceCapabilityTracker osgiServiceTracker = new OSGiServiceCapabilityTracker(startupComponentManager);
 
@@ -92,6 +113,41 @@ public class StartupOrderResolver {
 
     private Timer pendingCapabilityTimer = new Timer();
 
+    private AtomicBoolean notificationScheduled = new AtomicBoolean(false);
+
+    // Executor which invokes the RequiredCapabilityListeners of satisfied startup components.
+    private ExecutorService capabilityListenerExecutor;
+
+    // This map contains the notification of each startup component which has been handed over to the
+    // capabilityListenerExecutor. Key of this map is the component name.
+    private Map<String, CompletableFuture<Void>> notificationFutureMap = new ConcurrentHashMap<>();
+
+    // Executor which delivers capability lost and restored events. Available only if continuous capability
+    // tracking is enabled.
+    private ExecutorService capabilityChangeExecutor;
+
+    // This map contains the last capability lost or restored event of each startup component. Events of a component
+    // are delivered in order, after its RequiredCapabilityListener is notified. Key of this map is the component name.
+    private Map<String, CompletableFuture<Void>> capabilityChangeFutureMap = new ConcurrentHashMap<>();
+
+    public StartupOrderResolver() {
+    }
+
+    /**
+     * Creates a {@code StartupOrderResolver} with the given timers and executor of RequiredCapabilityListeners, so
+     * that the handling of pending startup components can be tested without activating this component.
+     *
+     * @param capabilityListenerTimer    the timer which notifies the satisfiable startup components
+     * @param pendingCapabilityTimer     the timer which reports the pending startup components
+     * @param capabilityListenerExecutor the executor which invokes the RequiredCapabilityListeners
+     */
+    StartupOrderResolver(Timer capabilityListenerTimer, Timer pendingCapabilityTimer,
+                         ExecutorService capabilityListenerExecutor) {
+        this.capabilityListenerTimer = capabilityListenerTimer;
+        this.pendingCapabilityTimer = pendingCapabilityTimer;
+        this.capabilityListenerExecutor = capabilityListenerExecutor;
+    }
+
     /**
      * Process Provide-Capability headers and populate a counter which keep all the expected service counts. Register
      * timers to track the service availability as well as pending service registrations.
@@ -108,10 +164,15 @@ public class StartupOrderResolver {
             logger.debug("Initialize - Startup Order Resolver.");
 
             // 1) Process OSGi manifest headers to calculate the expected list required capabilities.
-            processManifestHeaders(Arrays.asList(bundleContext.getBundles()), supportedManifestHeaders);
+            long phaseStartTime = System.nanoTime();
+            processManifestHeaders(bundleContext, Arrays.asList(bundleContext.getBundles()), supportedManifestHeaders);
+            StartupTimeline.recordPhase("resolver.manifest.processing", phaseStartTime);
+
+            // 2) Expose the startup dependency graph via the OSGi console and JMX.
+            registerStartupDependencyGraph(bundleContext);
 
-            // 2) Check for any startup components with pending required capabilities.
-            if (startupComponentManager.getPendingComponents().size() == 0) {
+            // 3) Check for any startup components with pending required capabilities.
+            if (startupComponentManager.getPendingComponents().isEmpty()) {
                 // There are no registered RequiredCapabilityListener
                 // Clear all the populated maps.
                 startupComponentManager = null;
@@ -119,16 +180,27 @@ public class StartupOrderResolver {
                 return;
             }
 
-            // 3) Register capability trackers to get notified when required capabilities are available.
-            startCapabilityTrackers();
+            // 4) Create the executor which notifies the RequiredCapabilityListeners.
+            createCapabilityListenerExecutor();
+
+            // 5) Keep tracking the required capabilities of notified startup components, if configured.
+            trackSatisfiedComponents();
 
-            // 4) Schedule a time task to check for startup components with zero pending required capabilities.
+            // 6) Schedule a time task to check for startup components with zero pending required capabilities.
+            // Startup components are notified as soon as they become satisfiable, hence this task only acts as a
+            // safety net.
             scheduleCapabilityListenerTimer();
 
-            // 5) Start a timer to track pending capabilities, pending CapabilityProvider services,
+            // 7) Start a timer to track pending capabilities, pending CapabilityProvider services,
             // pending RequiredCapabilityLister services.
             schedulePendingCapabilityTimerTask();
 
+            // 8) Schedule the deadlines of startup components which should not wait indefinitely.
+            schedulePendingComponentDeadlines();
+
+            // 9) Register capability trackers to get notified when required capabilities are available.
+            startCapabilityTrackers();
+
         } catch (Throwable e) {
             logger.error("Error occurred in Startup Order Resolver.", e);
         }
@@ -138,6 +210,11 @@ public class StartupOrderResolver {
     public void stop(BundleContext bundleContext) throws Exception {
         logger.debug("Deactivating startup resolver component available in bundle {}",
                 bundleContext.getBundle().getSymbolicName());
+
+        if (capabilityChangeExecutor != null) {
+            osgiServiceTracker.closeTracker();
+            capabilityChangeExecutor.shutdown();
+        }
     }
 
     /**
@@ -148,11 +225,50 @@ public class StartupOrderResolver {
      * Process Provide-Capability headers to calculate the expected number of required capabilities.
      * <p>
      * Process Provide-Capability headers to get a list of CapabilityProviders and RequiredCapabilityListeners.
+     * <p>
+     * The result is loaded from the startup resolution cache, if the installed bundles have not changed since it was
+     * stored.
      *
+     * @param bundleContext            OSGi bundle context of the Carbon.core bundle
      * @param bundleList               list of bundles to be scanned for Provide-Capability headers.
      * @param supportedManifestHeaders list of manifest headers processed by this method.
      */
-    private void processManifestHeaders(List<Bundle> bundleList, List<String> supportedManifestHeaders) {
+    private void processManifestHeaders(BundleContext bundleContext, List<Bundle> bundleList,
+                                        List<String> supportedManifestHeaders) {
+        StartupResolution startupResolution;
+        CarbonConfiguration carbonConfiguration = DataHolder.getInstance().getCarbonRuntime().getConfiguration();
+        File cacheFile = bundleContext.getDataFile(STARTUP_RESOLUTION_CACHE_FILE);
+        if (carbonConfiguration.getStartupResolverConfig().isResolutionCacheEnabled() && cacheFile != null) {
+            StartupResolutionCache resolutionCache = new StartupResolutionCache(cacheFile.toPath());
+            String fingerprint = StartupResolutionCache.getFingerprint(bundleList);
+            Map<Long, Bundle> bundleMap = bundleList
+                    .stream()
+                    .collect(Collectors.toMap(Bundle::getBundleId, Function.identity()));
+
+            Optional<StartupResolution> cachedResolution = resolutionCache.load(fingerprint, bundleMap);
+            if (cachedResolution.isPresent()) {
+                startupResolution = cachedResolution.get();
+            } else {
+                startupResolution = resolveManifestHeaders(bundleList, supportedManifestHeaders);
+                resolutionCache.store(fingerprint, startupResolution);
+            }
+        } else {
+            startupResolution = resolveManifestHeaders(bundleList, supportedManifestHeaders);
+        }
+
+        startupComponentManager.addComponents(startupResolution.getStartupComponentList());
+        processCapabilityProviders(startupResolution.getCapabilityProviderList());
+        processOSGiServiceCapabilities(startupResolution.getOSGiServiceCapabilityList());
+    }
+
+    /**
+     * Resolves the startup components and capabilities from the supported manifest headers of the given bundles.
+     *
+     * @param bundleList               list of bundles to be scanned for Provide-Capability headers.
+     * @param supportedManifestHeaders list of manifest headers processed by this method.
+     * @return the resolved {@code StartupResolution}
+     */
+    private StartupResolution resolveManifestHeaders(List<Bundle> bundleList, List<String> supportedManifestHeaders) {
         Map<String, List<ManifestElement>> groupedManifestElements = bundleList
                 .stream()
                 // Filter out all the supported manifest headers.
@@ -163,8 +279,14 @@ public class StartupOrderResolver {
                 // Partition all the ManifestElements with the manifest header name.
                 .collect(Collectors.groupingBy(ManifestElement::getManifestHeaderName));
 
-        processStartupComponents(groupedManifestElements.get(STARTUP_COMPONENT_HEADER));
-        processProvidedCapabilities(groupedManifestElements);
+        List<StartupComponent> startupComponentList = new ArrayList<>();
+        List<CapabilityProviderCapability> capabilityProviderList = new ArrayList<>();
+        List<OSGiServiceCapability> osgiServiceCapabilityList = new ArrayList<>();
+
+        processStartupComponents(groupedManifestElements.get(STARTUP_COMPONENT_HEADER), startupComponentList);
+        processProvidedCapabilities(groupedManifestElements, startupComponentList, capabilityProviderList,
+                osgiServiceCapabilityList);
+        return new StartupResolution(startupComponentList, capabilityProviderList, osgiServiceCapabilityList);
     }
 
     /**
@@ -177,6 +299,253 @@ public class StartupOrderResolver {
         // Likewise you can register trackers for other types of capabilities.
     }
 
+    /**
+     * Enables continuous capability tracking if it is configured. RequiredCapabilityListeners of notified startup
+     * components then receive an event when a required capability is lost and when all the lost capabilities are
+     * restored.
+     */
+    private void trackSatisfiedComponents() {
+        CarbonConfiguration carbonConfiguration = DataHolder.getInstance().getCarbonRuntime().getConfiguration();
+        if (!carbonConfiguration.getStartupResolverConfig().isContinuousCapabilityTracking()) {
+            return;
+        }
+
+        capabilityChangeExecutor = Executors.newSingleThreadExecutor(runnable ->
+                new Thread(runnable, "CapabilityChangeNotifier"));
+        startupComponentManager.trackSatisfiedComponents(this::notifyCapabilityLost, this::notifyCapabilitiesRestored);
+    }
+
+    private void notifyCapabilityLost(StartupComponent startupComponent, Capability capability) {
+        logger.warn("Startup component {} from bundle({}:{}) lost the required capability {} from bundle({}:{})",
+                startupComponent.getName(),
+                startupComponent.getBundle().getSymbolicName(),
+                startupComponent.getBundle().getVersion(),
+                capability.getName(),
+                capability.getBundle().getSymbolicName(),
+                capability.getBundle().getVersion());
+
+        executeCapabilityChange(startupComponent, () -> {
+            try {
+                startupComponent.getListener().onRequiredCapabilityLost(capability.getName());
+            } catch (Throwable e) {
+                logger.error("Error occurred while notifying the capability loss to the RequiredCapabilityListener " +
+                        "of component " + startupComponent.getName(), e);
+            }
+        });
+    }
+
+    private void notifyCapabilitiesRestored(StartupComponent startupComponent) {
+        logger.info("All the required capabilities of startup component {} from bundle({}:{}) are restored",
+                startupComponent.getName(),
+                startupComponent.getBundle().getSymbolicName(),
+                startupComponent.getBundle().getVersion());
+
+        executeCapabilityChange(startupComponent, () -> {
+            try {
+                startupComponent.getListener().onAllRequiredCapabilitiesRestored();
+            } catch (Throwable e) {
+                logger.error("Error occurred while notifying the capability restoration to the " +
+                        "RequiredCapabilityListener of component " + startupComponent.getName(), e);
+            }
+        });
+    }
+
+    private void executeCapabilityChange(StartupComponent startupComponent, Runnable capabilityChangeTask) {
+        capabilityChangeFutureMap.compute(startupComponent.getName(), (componentName, previousFuture) ->
+                (previousFuture != null ? previousFuture :
+                        notificationFutureMap.getOrDefault(componentName, CompletableFuture.completedFuture(null)))
+                        .thenRunAsync(capabilityChangeTask, capabilityChangeExecutor));
+    }
+
+    /**
+     * Registers the {@code StartupDependencyGraph} as an MBean and registers an OSGi console command provider which
+     * prints the graph. The graph is kept after the startup completes.
+     *
+     * @param bundleContext OSGi bundle context of the Carbon.core bundle
+     */
+    private void registerStartupDependencyGraph(BundleContext bundleContext) {
+        StartupDependencyGraph dependencyGraph = startupComponentManager.getDependencyGraph();
+        try {
+            MBeanRegistrator.registerMBean(dependencyGraph);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to register the startup dependency graph MBean", e);
+        }
+
+        bundleContext.registerService(CommandProvider.class.getName(),
+                new StartupResolverCommandProvider(dependencyGraph), null);
+    }
+
+    /**
+     * Creates the executor which invokes RequiredCapabilityListeners. The number of threads is configurable, so that
+     * independent startup components can be notified concurrently.
+     */
+    private void createCapabilityListenerExecutor() {
+        CarbonConfiguration carbonConfiguration = DataHolder.getInstance().getCarbonRuntime().getConfiguration();
+        int poolSize = carbonConfiguration.getStartupResolverConfig().getCapabilityListenerExecutor().getPoolSize();
+        if (poolSize < 1) {
+            logger.warn("Invalid capabilityListenerExecutor pool size {}, using a single thread instead.", poolSize);
+            poolSize = 1;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        capabilityListenerExecutor = Executors.newFixedThreadPool(poolSize, runnable ->
+                new Thread(runnable, "CapabilityListenerExecutor-" + threadCount.incrementAndGet()));
+    }
+
+    /**
+     * Schedule a timer task for each startup component with a deadline. The task applies the configured
+     * {@code PendingComponentPolicyEnum} if the component is still pending when the deadline passes.
+     */
+    private void schedulePendingComponentDeadlines() {
+        CarbonConfiguration carbonConfiguration = DataHolder.getInstance().getCarbonRuntime().getConfiguration();
+        PendingComponentTimeout pendingComponentTimeout =
+                carbonConfiguration.getStartupResolverConfig().getPendingComponentTimeout();
+
+        startupComponentManager.getPendingComponents()
+                .forEach(startupComponent -> {
+                    long timeout = pendingComponentTimeout.getTimeout(startupComponent.getName());
+                    if (timeout <= 0) {
+                        return;
+                    }
+
+                    PendingComponentPolicyEnum policy = pendingComponentTimeout.getPolicy(startupComponent.getName());
+                    pendingCapabilityTimer.schedule(new TimerTask() {
+                        @Override
+                        public void run() {
+                            handlePendingComponentDeadline(startupComponent, timeout, policy);
+                        }
+                    }, timeout);
+                });
+    }
+
+    /**
+     * Applies the given policy to a startup component which is still pending after its deadline.
+     *
+     * @param startupComponent the startup component
+     * @param timeout          the timeout of the component in milliseconds
+     * @param policy           the policy to be applied
+     */
+    void handlePendingComponentDeadline(StartupComponent startupComponent, long timeout,
+                                        PendingComponentPolicyEnum policy) {
+        // The deadline applies only until the component is notified, even if it loses capabilities afterwards.
+        if (!startupComponentManager.isPending(startupComponent.getName()) ||
+                startupComponentManager.hasLostCapabilities(startupComponent.getName())) {
+            return;
+        }
+
+        String report = "Startup component " + startupComponent.getName() + " from bundle(" +
+                startupComponent.getBundle().getSymbolicName() + ":" + startupComponent.getBundle().getVersion() +
+                ") is not resolved within " + timeout + " ms. Applying the " + policy.value() + " policy." +
+                getPendingComponentReport(startupComponent);
+
+        switch (policy) {
+            case abort:
+                logger.error(report);
+                abortServerStartup();
+                break;
+            case degraded:
+                logger.warn(report);
+                try {
+                    capabilityListenerTimer.schedule(new TimerTask() {
+                        @Override
+                        public void run() {
+                            startDegradedComponent(startupComponent);
+                        }
+                    }, 0);
+                } catch (IllegalStateException e) {
+                    logger.debug("The capabilityListenerTimer is already cancelled.", e);
+                }
+                break;
+            default:
+                logger.warn(report);
+        }
+    }
+
+    /**
+     * Returns the capabilities, {@code CapabilityProvider}s and the {@code RequiredCapabilityListener} the given
+     * startup component is waiting for. Each entry is in a new line.
+     *
+     * @param startupComponent the startup component
+     * @return the pending component report
+     */
+    private String getPendingComponentReport(StartupComponent startupComponent) {
+        StringBuilder report = new StringBuilder();
+
+        startupComponentManager.getPendingProvideCapabilityList(startupComponent.getName())
+                .forEach(capability -> report.append("\n\tMissing capability ").append(capability.getName())
+                        .append(" from bundle(").append(capability.getBundle().getSymbolicName()).append(":")
+                        .append(capability.getBundle().getVersion()).append(")"));
+
+        startupComponentManager.getPendingCapabilityProviderList(startupComponent.getName())
+                .forEach(capabilityProvider -> report.append("\n\tMissing CapabilityProvider of capability ")
+                        .append(capabilityProvider.getProvidedCapabilityName())
+                        .append(" from bundle(").append(capabilityProvider.getBundle().getSymbolicName()).append(":")
+                        .append(capabilityProvider.getBundle().getVersion()).append(")"));
+
+        if (startupComponent.getListener() == null) {
+            report.append("\n\tMissing RequiredCapabilityListener OSGi service with the component-key ")
+                    .append(startupComponent.getName());
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Notifies the RequiredCapabilityListener of the given startup component even though some of its required
+     * capabilities are not available.
+     * <p>
+     * This method is always invoked in the capabilityListenerTimer thread.
+     *
+     * @param startupComponent the startup component
+     */
+    private void startDegradedComponent(StartupComponent startupComponent) {
+        if (startupComponent.getListener() != null) {
+            List<String> missingCapabilities = getMissingCapabilities(startupComponent);
+            logger.warn("Starting startup component {} in degraded mode without {}.", startupComponent.getName(),
+                    missingCapabilities);
+            notifySatisfiableComponent(startupComponent, missingCapabilities);
+        } else if (startupComponentManager.removeSatisfiedComponent(startupComponent)) {
+            // There is no listener to notify. Removing the component allows the rest of the server to complete
+            // the startup.
+            logger.error("Startup component {} cannot be started in degraded mode since its " +
+                    "RequiredCapabilityListener is not available.", startupComponent.getName());
+        }
+    }
+
+    /**
+     * Returns the names of the capabilities required by the given startup component which are not available, either
+     * because the capability is not registered or because its {@code CapabilityProvider} is not available.
+     *
+     * @param startupComponent the startup component
+     * @return names of the missing capabilities
+     */
+    private List<String> getMissingCapabilities(StartupComponent startupComponent) {
+        Set<String> missingCapabilities = new LinkedHashSet<>();
+        startupComponentManager.getPendingProvideCapabilityList(startupComponent.getName())
+                .forEach(capability -> missingCapabilities.add(capability.getName()));
+        startupComponentManager.getPendingCapabilityProviderList(startupComponent.getName())
+                .forEach(capabilityProvider -> missingCapabilities.add(capabilityProvider.getProvidedCapabilityName()));
+        return new ArrayList<>(missingCapabilities);
+    }
+
+    /**
+     * Stops the OSGi framework since a startup component is not resolved within its deadline. The launcher exits
+     * with a non-zero exit code in this case.
+     */
+    private void abortServerStartup() {
+        capabilityListenerTimer.cancel();
+        pendingCapabilityTimer.cancel();
+        System.setProperty(Constants.STARTUP_ABORTED, "true");
+
+        new Thread(() -> {
+            try {
+                DataHolder.getInstance().getBundleContext().getBundle(0).stop();
+            } catch (BundleException e) {
+                logger.error("Error occurred while aborting the server startup.", e);
+            }
+        }, "CarbonStartupAbort").start();
+    }
+
     /**
      * Schedule a timer task to monitor satisfiable CapabilityListeners.
      */
@@ -191,25 +560,71 @@ public class StartupOrderResolver {
 
             @Override
             public void run() {
-                if (startupComponentManager.getPendingComponents().size() == 0) {
-                    notifySatisfiableComponents();
+                notifySatisfiableComponents();
+                checkStartupCompletion();
+            }
+        }, capabilityListenerTimerDelay, capabilityListenerTimerPeriod);
+    }
+
+    /**
+     * Schedule a one-time task in the capabilityListenerTimer to notify startup components which became
+     * satisfiable. This method is invoked by the {@code StartupComponentManager} as soon as a startup
+     * component becomes satisfiable.
+     * <p>
+     * RequiredCapabilityListeners are notified by the capabilityListenerExecutor, not in the thread which registered
+     * the last required capability.
+     */
+    private void scheduleSatisfiableComponentNotification() {
+        if (!notificationScheduled.compareAndSet(false, true)) {
+            // There is a pending notification task which will handle this component as well.
+            return;
+        }
 
-                    logger.debug("All the StartupComponents are satisfied. Cancelling the capabilityListenerTimer");
+        try {
+            capabilityListenerTimer.schedule(new TimerTask() {
 
+                @Override
+                public void run() {
+                    notificationScheduled.set(false);
+                    notifyQueuedSatisfiableComponents();
+                    checkStartupCompletion();
+                }
+            }, 0);
+        } catch (IllegalStateException e) {
+            // The capabilityListenerTimer is cancelled only when all the startup components are notified.
+            logger.debug("Startup Order Resolver has already completed, ignoring the satisfiable component " +
+                    "notification.");
+        }
+    }
+
+    /**
+     * Completes the startup order resolution if there are no pending startup components. Startup is completed once
+     * all the RequiredCapabilityListeners return.
+     * <p>
+     * This method is always invoked in the capabilityListenerTimer thread.
+     */
+    private void checkStartupCompletion() {
+        if (startupComponentManager.hasRemainingComponents()) {
+            return;
+        }
+
+        logger.debug("All the StartupComponents are satisfied. Cancelling the capabilityListenerTimer");
+        capabilityListenerTimer.cancel();
+
+        CompletableFuture.allOf(notificationFutureMap.values().toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> {
                     CarbonStartupHandler.logServerStartupTime();
+                    CarbonStartupHandler.publishStartupTimeline();
                     CarbonStartupHandler.registerCarbonServerInfoService();
 
-                    capabilityListenerTimer.cancel();
-                    osgiServiceTracker.closeTracker();
+                    // Required capabilities of the notified components are tracked until the deactivation.
+                    if (capabilityChangeExecutor == null) {
+                        osgiServiceTracker.closeTracker();
+                    }
+                    capabilityListenerExecutor.shutdown();
 
                     logger.debug("Complete - Startup Order Resolver.");
-                    return;
-                }
-
-                notifySatisfiableComponents();
-
-            }
-        }, capabilityListenerTimerDelay, capabilityListenerTimerPeriod);
+                });
     }
 
     private void schedulePendingCapabilityTimerTask() {
@@ -223,10 +638,10 @@ public class StartupOrderResolver {
 
             @Override
             public void run() {
-                List<StartupComponent> pendingComponents =
+                Collection<StartupComponent> pendingComponents =
                         startupComponentManager.getPendingComponents();
 
-                if (pendingComponents.size() == 0) {
+                if (pendingComponents.isEmpty()) {
                     logger.debug("All the RequiredCapabilityListeners are notified, " +
                             "therefore cancelling the pendingCapabilityTimer");
                     pendingCapabilityTimer.cancel();
@@ -281,20 +696,20 @@ public class StartupOrderResolver {
      * Process all the Startup-Component manifest header elements. Creates {@code StartupComponent} instances
      * for each and every ManifestElement.
      *
-     * @param manifestElementList a list of {@code ManifestElement} whose header name is Startup-Component.
+     * @param manifestElementList  a list of {@code ManifestElement} whose header name is Startup-Component.
+     * @param startupComponentList list to which the created {@code StartupComponent} instances are added.
      */
-    private void processStartupComponents(List<ManifestElement> manifestElementList) {
+    private void processStartupComponents(List<ManifestElement> manifestElementList,
+                                          List<StartupComponent> startupComponentList) {
         if (manifestElementList == null) {
             return;
         }
 
         // Create StartupComponents from the manifest elements.
-        List<StartupComponent> startupComponentList = manifestElementList
+        manifestElementList
                 .stream()
                 .map(StartupOrderResolverUtils::getStartupComponentBean)
-                .collect(Collectors.toList());
-        startupComponentManager.addComponents(startupComponentList);
-
+                .forEach(startupComponentList::add);
     }
 
     /**
@@ -302,24 +717,32 @@ public class StartupOrderResolver {
      * <p>
      * At the moment this methods process manifest elements with the namespace osgi.service.
      *
-     * @param groupedManifestElements partitioned manifest elements by the header name.
+     * @param groupedManifestElements   partitioned manifest elements by the header name.
+     * @param startupComponentList      list to which the StartupComponents of RequiredCapabilityListeners are added.
+     * @param capabilityProviderList    list to which the CapabilityProviders are added.
+     * @param osgiServiceCapabilityList list to which the OSGi service capabilities are added.
      */
-    private void processProvidedCapabilities(Map<String, List<ManifestElement>> groupedManifestElements) {
+    private void processProvidedCapabilities(Map<String, List<ManifestElement>> groupedManifestElements,
+                                             List<StartupComponent> startupComponentList,
+                                             List<CapabilityProviderCapability> capabilityProviderList,
+                                             List<OSGiServiceCapability> osgiServiceCapabilityList) {
+        List<ManifestElement> manifestElementList = groupedManifestElements.get(PROVIDE_CAPABILITY_HEADER);
+        if (manifestElementList == null) {
+            return;
+        }
 
         // Create StartupComponents from the RequiredCapabilityListeners. To achieve backward compatibility.
         List<Capability> providedCapabilityList = processProvideCapabilitiesInternal(
-                groupedManifestElements.get(PROVIDE_CAPABILITY_HEADER), new RequireCapabilityListenerProcessor());
-        processRequiredCapabilityListeners(providedCapabilityList);
+                manifestElementList, new RequireCapabilityListenerProcessor());
+        processRequiredCapabilityListeners(providedCapabilityList, startupComponentList);
 
         // Handle CapabilityProviderBeans
-        providedCapabilityList = processProvideCapabilitiesInternal(
-                groupedManifestElements.get(PROVIDE_CAPABILITY_HEADER), new CapabilityProviderProcessor());
-        processCapabilityProviders(providedCapabilityList);
+        processProvideCapabilitiesInternal(manifestElementList, new CapabilityProviderProcessor())
+                .forEach(capability -> capabilityProviderList.add((CapabilityProviderCapability) capability));
 
         // Handle OSGiServiceCapabilities
-        providedCapabilityList = processProvideCapabilitiesInternal(
-                groupedManifestElements.get(PROVIDE_CAPABILITY_HEADER), new OSGiServiceCapabilityProcessor());
-        processOSGiServiceCapabilities(providedCapabilityList);
+        processProvideCapabilitiesInternal(manifestElementList, new OSGiServiceCapabilityProcessor())
+                .forEach(capability -> osgiServiceCapabilityList.add((OSGiServiceCapability) capability));
 
         // You can add logic to handle other types of provide capabilities here.
         // e.g. custom manifest headers, config files etc.
@@ -351,19 +774,16 @@ public class StartupOrderResolver {
     }
 
     /**
-     * Create a list of StartupComponents from RequiredCapabilityLister elements and
-     * add the list to the {@code StartupComponentManager}.
+     * Create a list of StartupComponents from RequiredCapabilityLister elements.
      * <p>
      * This is to support backward compatibility.
      *
      * @param requiredCapabilityListenerList list of RequiredCapabilityLister capabilities
+     * @param startupComponentList           list to which the created StartupComponents are added.
      */
-    private void processRequiredCapabilityListeners(List<Capability> requiredCapabilityListenerList) {
-        if (requiredCapabilityListenerList == null) {
-            return;
-        }
-
-        List<StartupComponent> startupComponentList = requiredCapabilityListenerList
+    private void processRequiredCapabilityListeners(List<Capability> requiredCapabilityListenerList,
+                                                    List<StartupComponent> startupComponentList) {
+        requiredCapabilityListenerList
                 .stream()
                 .map(provideCapability -> (RequiredCapabilityListenerCapability) provideCapability)
                 .map(capabilityListener -> {
@@ -372,54 +792,121 @@ public class StartupOrderResolver {
                     startupComponent.setRequiredServiceList(capabilityListener.getRequiredServiceList());
                     return startupComponent;
                 })
-                .collect(Collectors.toList());
+                .forEach(startupComponentList::add);
+    }
 
-        startupComponentManager.addComponents(startupComponentList);
+    private void processCapabilityProviders(List<CapabilityProviderCapability> capabilityProviderList) {
+        capabilityProviderList.forEach(startupComponentManager::addExpectedCapabilityProvider);
+    }
+
+    private void processOSGiServiceCapabilities(List<OSGiServiceCapability> osgiServiceCapabilityList) {
+        osgiServiceCapabilityList.forEach(osgiServiceCapability -> {
+            if (osgiServiceCapability.getDependentComponentName() != null) {
+                startupComponentManager.addRequiredOSGiServiceCapabilityToComponent(
+                        osgiServiceCapability.getDependentComponentName(), osgiServiceCapability.getName());
+            }
+            startupComponentManager.addExpectedRequiredCapability(osgiServiceCapability);
+        });
+    }
+
+    /**
+     * Notifies all the satisfiable startup components. This includes the components which became satisfiable due to
+     * recent capability registrations as well as any other satisfiable component.
+     */
+    private void notifySatisfiableComponents() {
+        notifyQueuedSatisfiableComponents();
+        startupComponentManager.getSatisfiableComponents()
+                .forEach(this::notifySatisfiableComponent);
     }
 
-    private void processCapabilityProviders(List<Capability> capabilityProviderList) {
-        if (capabilityProviderList != null) {
-            capabilityProviderList
-                    .forEach(ProvideCapability -> startupComponentManager.addExpectedCapabilityProvider(
-                            (CapabilityProviderCapability) ProvideCapability));
+    /**
+     * Notifies the startup components which became satisfiable due to recent capability registrations.
+     */
+    private void notifyQueuedSatisfiableComponents() {
+        StartupComponent startupComponent;
+        while ((startupComponent = startupComponentManager.pollSatisfiableComponent()) != null) {
+            if (startupComponentManager.isSatisfiable(startupComponent.getName())) {
+                notifySatisfiableComponent(startupComponent);
+            }
         }
     }
 
-    private void processOSGiServiceCapabilities(List<Capability> providedCapabilityList) {
-        if (providedCapabilityList != null) {
-            providedCapabilityList
-                    .stream()
-                    .map(provideCapability -> (OSGiServiceCapability) provideCapability)
-                    .forEach(osgiServiceCapability -> {
-                        if (osgiServiceCapability.getDependentComponentName() != null) {
-                            startupComponentManager.addRequiredOSGiServiceCapabilityToComponent(
-                                    osgiServiceCapability.getDependentComponentName(), osgiServiceCapability.getName());
-                        }
-                        startupComponentManager.addExpectedRequiredCapability(osgiServiceCapability);
-                    });
+    /**
+     * Hands over the notification of a satisfied startup component to the capabilityListenerExecutor.
+     * <p>
+     * Startup components which provide capabilities required by this component may register those capabilities
+     * in their RequiredCapabilityListeners. Therefore, if such a component is being notified, this component is
+     * notified only after that RequiredCapabilityListener returns. Independent components are notified concurrently.
+     *
+     * @param startupComponent satisfied startup component.
+     */
+    private void notifySatisfiableComponent(StartupComponent startupComponent) {
+        notifySatisfiableComponent(startupComponent, Collections.emptyList());
+    }
+
+    /**
+     * Hands over the notification of a startup component to the capabilityListenerExecutor. The component is
+     * notified of a degraded start if some of its required capabilities are missing.
+     *
+     * @param startupComponent    the startup component
+     * @param missingCapabilities names of the missing required capabilities, which is empty if the component is
+     *                            satisfied
+     */
+    private void notifySatisfiableComponent(StartupComponent startupComponent, List<String> missingCapabilities) {
+        // Only one caller can remove a satisfied component, hence the listener is notified exactly once.
+        if (!startupComponentManager.removeSatisfiedComponent(startupComponent)) {
+            return;
         }
+
+        CompletableFuture<?>[] providerNotificationFutures = startupComponentManager
+                .getProviderComponentNames(startupComponent.getName())
+                .stream()
+                .map(notificationFutureMap::get)
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture<?>[]::new);
+
+        CompletableFuture<Void> notificationFuture = CompletableFuture.allOf(providerNotificationFutures)
+                .thenRunAsync(() -> notifyCapabilityListener(startupComponent, missingCapabilities),
+                        capabilityListenerExecutor);
+        notificationFutureMap.put(startupComponent.getName(), notificationFuture);
     }
 
-    private void notifySatisfiableComponents() {
-        startupComponentManager.getSatisfiableComponents()
-                .forEach(startupComponent -> {
-                    String componentName = startupComponent.getName();
-
-                    synchronized (componentName.intern()) {
-                        startupComponentManager.removeSatisfiedComponent(startupComponent);
-                        RequiredCapabilityListener capabilityListener = startupComponent.getListener();
-
-                        if (logger.isDebugEnabled()) {
-                            logger.debug("Notifying RequiredCapabilityListener of component {} from bundle({}:{}) " +
-                                            "since all the required capabilities are available",
-                                    componentName,
-                                    startupComponent.getBundle().getSymbolicName(),
-                                    startupComponent.getBundle().getVersion());
-                        }
+    private void notifyCapabilityListener(StartupComponent startupComponent, List<String> missingCapabilities) {
+        RequiredCapabilityListener capabilityListener = startupComponent.getListener();
+        StartupDependencyGraph dependencyGraph = startupComponentManager.getDependencyGraph();
 
-                        capabilityListener.onAllRequiredCapabilitiesAvailable();
-                    }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Notifying RequiredCapabilityListener of component {} from bundle({}:{}) " +
+                            "since all the required capabilities are available",
+                    startupComponent.getName(),
+                    startupComponent.getBundle().getSymbolicName(),
+                    startupComponent.getBundle().getVersion());
+        }
 
-                });
+        dependencyGraph.notificationStarted(startupComponent.getName());
+        long phaseStartTime = System.nanoTime();
+        try {
+            if (missingCapabilities.isEmpty()) {
+                capabilityListener.onAllRequiredCapabilitiesAvailable();
+            } else {
+                capabilityListener.onDegradedStart(missingCapabilities);
+            }
+        } catch (Throwable e) {
+            logger.error("Error occurred while notifying the RequiredCapabilityListener of component " +
+                    startupComponent.getName() + " from bundle(" + startupComponent.getBundle().getSymbolicName() +
+                    ":" + startupComponent.getBundle().getVersion() + ")", e);
+        } finally {
+            StartupTimeline.recordPhase("resolver.notification." + startupComponent.getName(), phaseStartTime);
+            dependencyGraph.notificationCompleted(startupComponent.getName());
+        }
+    }
+
+    /**
+     * Returns the {@code StartupComponentManager} which keeps the startup components resolved by this resolver.
+     *
+     * @return the {@code StartupComponentManager} of this resolver
+     */
+    StartupComponentManager getStartupComponentManager() {
+        return startupComponentManager;
     }
 }
@@ -167,7 +167,7 @@ class StartupOrderResolverUtils {
 
     private static List<ManifestElement> processManifestHeader(String headerName, String headerValue, Bundle bundle) {
         try {
-            return ManifestElement.parseHeader(headerName, headerValue, bundle);
+            return ManifestElement.parseHeaderInPlace(headerName, headerValue, bundle);
         } catch (ManifestElementParserException e) {
             String message = "Error occurred while parsing the " + headerName + " header in bundle(" +
                     bundle.getSymbolicName() + ":" + bundle.getVersion() + "). " + "Header value: " + headerValue;
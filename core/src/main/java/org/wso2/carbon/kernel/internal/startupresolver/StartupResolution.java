@@ -0,0 +1,56 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.List;
+
+/**
+ * {@code StartupResolution} holds the startup components and capabilities resolved from the Startup-Component and
+ * Provide-Capability manifest headers of the installed bundles.
+ *
+ * @since 5.1.0
+ */
+class StartupResolution {
+    private List<StartupComponent> startupComponentList;
+    private List<CapabilityProviderCapability> capabilityProviderList;
+    private List<OSGiServiceCapability> osgiServiceCapabilityList;
+
+    StartupResolution(List<StartupComponent> startupComponentList,
+                      List<CapabilityProviderCapability> capabilityProviderList,
+                      List<OSGiServiceCapability> osgiServiceCapabilityList) {
+        this.startupComponentList = startupComponentList;
+        this.capabilityProviderList = capabilityProviderList;
+        this.osgiServiceCapabilityList = osgiServiceCapabilityList;
+    }
+
+    List<StartupComponent> getStartupComponentList() {
+        return startupComponentList;
+    }
+
+    List<CapabilityProviderCapability> getCapabilityProviderList() {
+        return capabilityProviderList;
+    }
+
+    List<OSGiServiceCapability> getOSGiServiceCapabilityList() {
+        return osgiServiceCapabilityList;
+    }
+}
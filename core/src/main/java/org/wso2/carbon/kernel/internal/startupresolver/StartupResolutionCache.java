@@ -0,0 +1,211 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists a {@code StartupResolution} in a compact binary file, so that the manifest headers of the installed
+ * bundles need not be parsed again on subsequent server startups.
+ * <p>
+ * The file is keyed by a fingerprint of the installed bundles. The fingerprint changes whenever a bundle is
+ * installed, uninstalled or updated, and the cached {@code StartupResolution} is discarded in that case.
+ *
+ * @since 5.1.0
+ */
+class StartupResolutionCache {
+    private static final Logger logger = LoggerFactory.getLogger(StartupResolutionCache.class);
+
+    // Magic number and the format version of the cache file.
+    private static final int MAGIC_NUMBER = 0x43534F52;
+    private static final int FORMAT_VERSION = 1;
+
+    private Path cacheFile;
+
+    StartupResolutionCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Computes a fingerprint of the given bundles using the bundle id, symbolic name, version and the last modified
+     * time of each bundle.
+     *
+     * @param bundleList installed bundles
+     * @return the fingerprint as a hex string
+     */
+    static String getFingerprint(List<Bundle> bundleList) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new StartOrderResolverException("SHA-1 message digest is not available", e);
+        }
+
+        bundleList.stream()
+                .sorted(Comparator.comparingLong(Bundle::getBundleId))
+                .forEach(bundle -> messageDigest.update((bundle.getBundleId() + ":" + bundle.getSymbolicName() + ":" +
+                        bundle.getVersion() + ":" + bundle.getLastModified() + "\n").getBytes(StandardCharsets.UTF_8)));
+
+        StringBuilder fingerprint = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            fingerprint.append(String.format("%02x", b));
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Loads the cached {@code StartupResolution} if it was stored with the given fingerprint.
+     *
+     * @param fingerprint fingerprint of the installed bundles
+     * @param bundleMap   installed bundles against the bundle id
+     * @return the cached {@code StartupResolution}, or an empty Optional if the cache is not valid
+     */
+    Optional<StartupResolution> load(String fingerprint, Map<Long, Bundle> bundleMap) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION || !fingerprint.equals(in.readUTF())) {
+                logger.debug("Discarding the outdated startup resolution cache {}", cacheFile);
+                return Optional.empty();
+            }
+
+            int componentCount = in.readInt();
+            List<StartupComponent> startupComponentList = new ArrayList<>(componentCount);
+            for (int i = 0; i < componentCount; i++) {
+                StartupComponent startupComponent = new StartupComponent(in.readUTF(),
+                        getBundle(bundleMap, in.readLong()));
+                int requiredServiceCount = in.readInt();
+                List<String> requiredServiceList = new ArrayList<>(requiredServiceCount);
+                for (int j = 0; j < requiredServiceCount; j++) {
+                    requiredServiceList.add(in.readUTF());
+                }
+                startupComponent.setRequiredServiceList(requiredServiceList);
+                startupComponentList.add(startupComponent);
+            }
+
+            int capabilityProviderCount = in.readInt();
+            List<CapabilityProviderCapability> capabilityProviderList = new ArrayList<>(capabilityProviderCount);
+            for (int i = 0; i < capabilityProviderCount; i++) {
+                capabilityProviderList.add(new CapabilityProviderCapability(in.readUTF(),
+                        Capability.CapabilityType.OSGi_SERVICE, in.readUTF(), getBundle(bundleMap, in.readLong())));
+            }
+
+            int osgiServiceCapabilityCount = in.readInt();
+            List<OSGiServiceCapability> osgiServiceCapabilityList = new ArrayList<>(osgiServiceCapabilityCount);
+            for (int i = 0; i < osgiServiceCapabilityCount; i++) {
+                OSGiServiceCapability osgiServiceCapability = new OSGiServiceCapability(in.readUTF(),
+                        Capability.CapabilityType.OSGi_SERVICE, getBundle(bundleMap, in.readLong()));
+                if (in.readBoolean()) {
+                    osgiServiceCapability.setDependentComponentName(in.readUTF());
+                }
+                osgiServiceCapabilityList.add(osgiServiceCapability);
+            }
+
+            logger.debug("Loaded the startup resolution from the cache {}", cacheFile);
+            return Optional.of(new StartupResolution(startupComponentList, capabilityProviderList,
+                    osgiServiceCapabilityList));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | StartOrderResolverException e) {
+            logger.warn("Failed to read the startup resolution cache " + cacheFile + ", hence ignoring it", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the given {@code StartupResolution} with the fingerprint of the installed bundles.
+     *
+     * @param fingerprint       fingerprint of the installed bundles
+     * @param startupResolution {@code StartupResolution} to be stored
+     */
+    void store(String fingerprint, StartupResolution startupResolution) {
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(fingerprint);
+
+            out.writeInt(startupResolution.getStartupComponentList().size());
+            for (StartupComponent startupComponent : startupResolution.getStartupComponentList()) {
+                out.writeUTF(startupComponent.getName());
+                out.writeLong(startupComponent.getBundle().getBundleId());
+                out.writeInt(startupComponent.getRequiredServiceList().size());
+                for (String requiredService : startupComponent.getRequiredServiceList()) {
+                    out.writeUTF(requiredService);
+                }
+            }
+
+            out.writeInt(startupResolution.getCapabilityProviderList().size());
+            for (CapabilityProviderCapability capabilityProvider : startupResolution.getCapabilityProviderList()) {
+                out.writeUTF(capabilityProvider.getName());
+                out.writeUTF(capabilityProvider.getProvidedCapabilityName());
+                out.writeLong(capabilityProvider.getBundle().getBundleId());
+            }
+
+            out.writeInt(startupResolution.getOSGiServiceCapabilityList().size());
+            for (OSGiServiceCapability osgiServiceCapability : startupResolution.getOSGiServiceCapabilityList()) {
+                out.writeUTF(osgiServiceCapability.getName());
+                out.writeLong(osgiServiceCapability.getBundle().getBundleId());
+                out.writeBoolean(osgiServiceCapability.getDependentComponentName() != null);
+                if (osgiServiceCapability.getDependentComponentName() != null) {
+                    out.writeUTF(osgiServiceCapability.getDependentComponentName());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write the startup resolution cache " + cacheFile, e);
+            return;
+        }
+
+        try {
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write the startup resolution cache " + cacheFile, e);
+        }
+    }
+
+    private static Bundle getBundle(Map<Long, Bundle> bundleMap, long bundleId) {
+        Bundle bundle = bundleMap.get(bundleId);
+        if (bundle == null) {
+            throw new StartOrderResolverException("Bundle " + bundleId + " in the startup resolution cache is not " +
+                    "installed");
+        }
+        return bundle;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.eclipse.osgi.framework.console.CommandInterpreter;
+import org.eclipse.osgi.framework.console.CommandProvider;
+
+/**
+ * Provides OSGi console commands to inspect the startup dependency graph recorded by the startup order resolver.
+ *
+ * @since 5.1.0
+ */
+public class StartupResolverCommandProvider implements CommandProvider {
+
+    private StartupDependencyGraph dependencyGraph;
+
+    public StartupResolverCommandProvider(StartupDependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+    }
+
+    @Override
+    public String getHelp() {
+        return "---Startup Order Resolver---\n" +
+                "\tstartupGraph [dot|json] - Print the startup dependency graph in the given format (default: dot)\n" +
+                "\tstartupCriticalPath - Print the chain of startup components which delayed the server startup\n";
+    }
+
+    public void _startupGraph(CommandInterpreter ci) {
+        String format = ci.nextArgument();
+
+        if (format == null || format.equals("") || format.equalsIgnoreCase("dot")) {
+            ci.println(dependencyGraph.getDependencyGraphAsDOT());
+        } else if (format.equalsIgnoreCase("json")) {
+            ci.println(dependencyGraph.getDependencyGraphAsJSON());
+        } else {
+            throw new IllegalArgumentException("Invalid format: " + format + ". Supported formats are dot and json.");
+        }
+    }
+
+    public void _startupCriticalPath(CommandInterpreter ci) {
+        for (String node : dependencyGraph.getCriticalPath()) {
+            ci.println(node);
+        }
+    }
+}
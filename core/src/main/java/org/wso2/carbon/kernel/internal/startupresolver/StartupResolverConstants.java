@@ -35,6 +35,7 @@ class StartupResolverConstants {
     static final String OBJECT_CLASS_LIST_STRING = "objectClass:List<String>";
     static final String CAPABILITY_NAME_SPLIT_CHAR = ",";
     static final String REQUIRED_SERVICE = "required-service";
+    static final String STARTUP_RESOLUTION_CACHE_FILE = "startup-resolution.cache";
 
 
     private StartupResolverConstants() {
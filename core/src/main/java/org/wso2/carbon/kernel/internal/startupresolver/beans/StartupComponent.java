@@ -37,7 +37,7 @@ import java.util.List;
 public class StartupComponent {
     private String name;
     private List<String> requiredServiceList;
-    private RequiredCapabilityListener listener;
+    private volatile RequiredCapabilityListener listener;
     private Bundle bundle;
 
     public StartupComponent(String componentName, Bundle bundle) {
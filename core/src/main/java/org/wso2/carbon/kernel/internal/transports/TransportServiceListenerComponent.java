@@ -87,4 +87,20 @@ public class TransportServiceListenerComponent implements RequiredCapabilityList
         bundleContext.registerService(CommandProvider.class.getName(),
                 new TransportMgtCommandProvider(transportManager), null);
     }
+
+    @Override
+    public void onRequiredCapabilityLost(String capabilityName) {
+        // Only the transport whose service is unregistered depends on the lost capability, and it is already removed
+        // from the TransportManager. Hence the remaining transports are kept in service.
+        logger.warn("Required capability {} is lost. The remaining transports are kept in service.", capabilityName);
+    }
+
+    @Override
+    public void onAllRequiredCapabilitiesRestored() {
+        logger.info("Required capabilities are restored, hence starting the transports registered meanwhile");
+        transportManager.getTransports().values()
+                .stream()
+                .filter(transport -> transport.getState() == CarbonTransport.State.UNINITIALIZED)
+                .forEach(transport -> transportManager.startTransport(transport.getId()));
+    }
 }
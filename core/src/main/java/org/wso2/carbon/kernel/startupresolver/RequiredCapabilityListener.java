@@ -15,6 +15,8 @@
  */
 package org.wso2.carbon.kernel.startupresolver;
 
+import java.util.List;
+
 /**
  * RequiredCapabilityListener is a listener interface that may be implemented by a Carbon component developer. When
  * all the required capabilities are available, this event is asynchronously delivered to a RequiredCapabilityListener.
@@ -38,4 +40,42 @@ public interface RequiredCapabilityListener {
      * Receives a notification when all the required services are available in the OSGi service registry.
      */
     void onAllRequiredCapabilitiesAvailable();
+
+    /**
+     * Receives a notification when a required service disappears from the OSGi service registry after
+     * {@link #onAllRequiredCapabilitiesAvailable()} is delivered. Implementations may use this to quiesce until
+     * {@link #onAllRequiredCapabilitiesRestored()} is delivered.
+     * <p>
+     * This event is delivered only if continuous capability tracking is enabled in the startupResolver configuration.
+     *
+     * @param capabilityName name of the lost capability
+     * @since 5.1.0
+     */
+    default void onRequiredCapabilityLost(String capabilityName) {
+    }
+
+    /**
+     * Receives a notification when all the required services which were lost after
+     * {@link #onAllRequiredCapabilitiesAvailable()} are available again in the OSGi service registry.
+     * <p>
+     * This event is delivered only if continuous capability tracking is enabled in the startupResolver configuration.
+     *
+     * @since 5.1.0
+     */
+    default void onAllRequiredCapabilitiesRestored() {
+    }
+
+    /**
+     * Receives a notification, instead of {@link #onAllRequiredCapabilitiesAvailable()}, when the component is started
+     * although some of the required services are not available. This happens only if the degraded policy is
+     * configured for the component and it is not resolved within its pendingComponentTimeout.
+     * <p>
+     * By default, this delegates to {@link #onAllRequiredCapabilitiesAvailable()}.
+     *
+     * @param missingCapabilities names of the required capabilities which are not available
+     * @since 5.1.0
+     */
+    default void onDegradedStart(List<String> missingCapabilities) {
+        onAllRequiredCapabilitiesAvailable();
+    }
 }
@@ -17,14 +17,12 @@ package org.wso2.carbon.kernel.utils;
 
 
 import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.internal.config.PlaceholderRegistry;
+import org.wso2.carbon.launcher.template.VariableTemplate;
 
 import java.lang.management.ManagementPermission;
-import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Carbon utility methods.
@@ -32,8 +30,6 @@ import java.util.regex.Pattern;
  * @since 5.0.0
  */
 public class Utils {
-    private static final Pattern varPattern = Pattern.compile("\\$\\{([^}]*)}");
-
     /**
      * Remove default constructor and make it not available to initialize.
      */
@@ -70,43 +66,36 @@ public class Utils {
 
     /**
      * Replace system property holders in the property values.
-     * e.g. Replace ${carbon.home} with value of the carbon.home system property.
+     * e.g. Replace ${carbon.home} with value of the carbon.home system property. A default value can be given as
+     * ${variable:-default}, which is used when the variable is not specified.
      *
      * @param value string value to substitute
      * @return String substituted string
      */
     public static String substituteVariables(String value) {
-        Matcher matcher = varPattern.matcher(value);
-        boolean found = matcher.find();
-        if (!found) {
-            return value;
-        }
-        StringBuffer sb = new StringBuffer();
-        do {
-            String sysPropKey = matcher.group(1);
-            String sysPropValue = getSystemVariableValue(sysPropKey, null);
-            if (sysPropValue == null || sysPropValue.length() == 0) {
-                throw new RuntimeException("System property " + sysPropKey + " is not specified");
-            }
-            // Due to reported bug under CARBON-14746
-            sysPropValue = sysPropValue.replace("\\", "\\\\");
-            matcher.appendReplacement(sb, sysPropValue);
-        } while (matcher.find());
-        matcher.appendTail(sb);
-        return sb.toString();
+        return VariableTemplate.compile(value).substitute(name -> getSystemVariableValue(name, null));
     }
 
     /**
      * A utility which allows reading variables from the environment or System properties.
      * If the variable in available in the environment as well as a System property, the System property takes
-     * precedence.
+     * precedence. If the variable is not specified, the {@link Constants.PlaceHolders} and the placeholders contributed
+     * by {@link org.wso2.carbon.kernel.config.PlaceholderProvider} services are looked up.
      *
      * @param variableName System/environment variable name
      * @param defaultValue default value to be returned if the specified system variable is not specified.
      * @return value of the system/environment variable
      */
     public static String getSystemVariableValue(String variableName, String defaultValue) {
-        return getSystemVariableValue(variableName, defaultValue, Constants.PlaceHolders.class);
+        String value = getEnvironmentValue(variableName);
+        if (value == null) {
+            String placeholderName = PlaceholderRegistry.toConstantName(variableName);
+            value = PlaceholderRegistry.getConstantValue(placeholderName, Constants.PlaceHolders.class);
+            if (value == null) {
+                value = PlaceholderRegistry.getInstance().getProvidedValue(placeholderName);
+            }
+        }
+        return value != null ? value : defaultValue;
     }
 
     /**
@@ -121,24 +110,17 @@ public class Utils {
      * @return value of the system/environment variable
      */
     public static String getSystemVariableValue(String variableName, String defaultValue, Class constantClass) {
-        String value = null;
-        if (System.getProperty(variableName) != null) {
-            value = System.getProperty(variableName);
-        } else if (System.getenv(variableName) != null) {
-            value = System.getenv(variableName);
-        } else {
-            try {
-                String constant = variableName.replaceAll("\\.", "_").toUpperCase(Locale.getDefault());
-                Field field = constantClass.getField(constant);
-                value = (String) field.get(constant);
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                //Nothing to do
-            }
-            if (value == null) {
-                value = defaultValue;
-            }
+        String value = getEnvironmentValue(variableName);
+        if (value == null) {
+            value = PlaceholderRegistry.getConstantValue(PlaceholderRegistry.toConstantName(variableName),
+                    constantClass);
         }
-        return value;
+        return value != null ? value : defaultValue;
+    }
+
+    private static String getEnvironmentValue(String variableName) {
+        String value = System.getProperty(variableName);
+        return value != null ? value : System.getenv(variableName);
     }
 
     /**
@@ -22,9 +22,14 @@ import org.wso2.carbon.kernel.utils.Tokenizer;
 
 import java.util.ArrayList;
 import java.util.Enumeration;
-import java.util.Hashtable;
 import java.util.List;
 
+import static org.wso2.carbon.kernel.utils.manifest.ManifestHeaderScanner.DIRECTIVE;
+import static org.wso2.carbon.kernel.utils.manifest.ManifestHeaderScanner.ESCAPED;
+import static org.wso2.carbon.kernel.utils.manifest.ManifestHeaderScanner.PARAMETER_SLOTS;
+import static org.wso2.carbon.kernel.utils.manifest.ManifestHeaderScanner.PRESERVE_ESCAPES;
+import static org.wso2.carbon.kernel.utils.manifest.ManifestHeaderScanner.VALUE_SLOTS;
+
 /**
  * This class represents a single manifest element.  A manifest element must consist of a single
  * {@link String} value.  The {@link String} value may be split up into component values each
@@ -87,17 +92,27 @@ public class ManifestElement {
     /**
      * The value of the manifest element.
      */
-    private final String mainValue;
+    private volatile String mainValue;
 
     /**
      * The table of attributes for the manifest element.
      */
-    private Hashtable<String, Object> attributes;
+    private ParameterTable attributes;
 
     /**
      * The table of directives for the manifest element.
      */
-    private Hashtable<String, Object> directives;
+    private ParameterTable directives;
+
+    /**
+     * The header value and the offsets of this manifest element, if it was created by scanning the header value in
+     * place. These are released once the value, attributes and directives are materialised. Materialisation is done
+     * while holding the lock of this manifest element, and source is cleared last so that a null source guarantees
+     * that the attributes and directives are fully built.
+     */
+    private volatile CharSequence source;
+    private int[] offsets;
+    private int offset;
 
     /**
      * Containing OSGi bundle.
@@ -113,6 +128,18 @@ public class ManifestElement {
         this.bundle = bundle;
     }
 
+    /**
+     * Constructs a manifest element whose value, attributes and directives are backed by offsets into the header
+     * value.
+     */
+    ManifestElement(String manifestHeaderName, CharSequence source, int[] offsets, int offset, Bundle bundle) {
+        this.manifestHeaderName = manifestHeaderName;
+        this.source = source;
+        this.offsets = offsets;
+        this.offset = offset;
+        this.bundle = bundle;
+    }
+
     /**
      * Returns the name of the manifest header of this manifest element.
      * <p>
@@ -138,7 +165,17 @@ public class ManifestElement {
      * @return the value of the manifest element.
      */
     public String getValue() {
-        return mainValue;
+        String value = mainValue;
+        if (value == null) {
+            synchronized (this) {
+                value = mainValue;
+                if (value == null) {
+                    value = source.subSequence(offsets[offset], offsets[offset + 1]).toString();
+                    mainValue = value;
+                }
+            }
+        }
+        return value;
     }
 
     /**
@@ -157,6 +194,7 @@ public class ManifestElement {
      * @return the attribute value or <code>null</code>
      */
     public String getAttribute(String key) {
+        materializeParameters();
         return getTableValue(attributes, key);
     }
 
@@ -169,6 +207,7 @@ public class ManifestElement {
      * @see #getAttribute(String)
      */
     public String[] getAttributes(String key) {
+        materializeParameters();
         return getTableValues(attributes, key);
     }
 
@@ -179,6 +218,7 @@ public class ManifestElement {
      * @return the enumeration of attribute keys or null if none exist.
      */
     public Enumeration<String> getKeys() {
+        materializeParameters();
         return getTableKeys(attributes);
     }
 
@@ -209,6 +249,7 @@ public class ManifestElement {
      * @return the array of directive values or <code>null</code>
      */
     public String[] getDirectives(String key) {
+        materializeParameters();
         return getTableValues(directives, key);
     }
 
@@ -219,6 +260,7 @@ public class ManifestElement {
      * @return the enumeration of directive keys or <code>null</code>
      */
     public Enumeration<String> getDirectiveKeys() {
+        materializeParameters();
         return getTableKeys(directives);
     }
 
@@ -232,14 +274,52 @@ public class ManifestElement {
         directives = addTableValue(directives, key, value);
     }
 
+    /**
+     * Materialises the attributes and directives of a manifest element which was created by scanning the header
+     * value in place.
+     */
+    private void materializeParameters() {
+        if (source == null) {
+            return;
+        }
+        synchronized (this) {
+            CharSequence headerValue = source;
+            if (headerValue == null) {
+                return;
+            }
+            getValue();
+
+            int parameterCount = offsets[offset + 2];
+            for (int i = 0; i < parameterCount; i++) {
+                int parameterOffset = offset + VALUE_SLOTS + i * PARAMETER_SLOTS;
+                String key = headerValue.subSequence(offsets[parameterOffset], offsets[parameterOffset + 1])
+                        .toString();
+                int flags = offsets[parameterOffset + 4];
+                String value = (flags & ESCAPED) != 0 ?
+                        ManifestHeaderScanner.unescape(headerValue, offsets[parameterOffset + 2],
+                                offsets[parameterOffset + 3], (flags & PRESERVE_ESCAPES) != 0) :
+                        headerValue.subSequence(offsets[parameterOffset + 2], offsets[parameterOffset + 3])
+                                .toString();
+                if ((flags & DIRECTIVE) != 0) {
+                    addDirective(key, value);
+                } else {
+                    addAttribute(key, value);
+                }
+            }
+            offsets = null;
+            // Cleared last, since the attributes and directives are read without holding the lock once it is null.
+            source = null;
+        }
+    }
+
     /**
      * Return the last value associated with the given key in the specified table.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ParameterTable
      * @param key   String
      * @return String
      */
-    private String getTableValue(Hashtable<String, Object> table, String key) {
+    private String getTableValue(ParameterTable table, String key) {
         if (table == null) {
             return null;
         }
@@ -259,11 +339,11 @@ public class ManifestElement {
     /**
      * Return the values associated with the given key in the specified table.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ParameterTable
      * @param key   String
      * @return String[]
      */
-    private String[] getTableValues(Hashtable<String, Object> table, String key) {
+    private String[] getTableValues(ParameterTable table, String key) {
         if (table == null) {
             return new String[]{};
         }
@@ -282,10 +362,10 @@ public class ManifestElement {
     /**
      * Return an enumeration of table keys for the specified table.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ParameterTable
      * @return Enumeration&lt;String&gt;
      */
-    private Enumeration<String> getTableKeys(Hashtable<String, Object> table) {
+    private Enumeration<String> getTableKeys(ParameterTable table) {
         if (table == null) {
             return null;
         }
@@ -294,34 +374,18 @@ public class ManifestElement {
 
     /**
      * Add the given key/value association to the specified table. If an entry already exists
-     * for this key, then create an array list from the current value (if necessary) and
-     * append the new value to the end of the list.
+     * for this key, then the value is appended to the list of values of the key.
      *
-     * @param table Hashtable&lt;String, Object&gt;
+     * @param table ParameterTable
      * @param key   String
      * @param value String
-     * @return Hashtable&lt;String, Object&gt;
+     * @return ParameterTable
      */
-    @SuppressWarnings("unchecked")
-    private Hashtable<String, Object> addTableValue(Hashtable<String, Object> table, String key, String value) {
+    private ParameterTable addTableValue(ParameterTable table, String key, String value) {
         if (table == null) {
-            table = new Hashtable<>(7);
-        }
-        Object curValue = table.get(key);
-        if (curValue != null) {
-            List<String> newList;
-            // create a list to contain multiple values
-            if (curValue instanceof List) {
-                newList = (List<String>) curValue;
-            } else {
-                newList = new ArrayList<>(5);
-                newList.add((String) curValue);
-            }
-            newList.add(value);
-            table.put(key, newList);
-        } else {
-            table.put(key, value);
+            table = new ParameterTable();
         }
+        table.add(key, value);
         return table;
     }
 
@@ -352,7 +416,7 @@ public class ManifestElement {
             }
             StringBuilder headerValue = new StringBuilder(next);
 
-            logger.debug("parseHeader: " + next);
+            logger.debug("parseHeader: {}", next);
             boolean directive = false;
             char c = tokenizer.getChar();
             // Header values may be a list of ';' separated values.  Just append them all into one value until the
@@ -381,7 +445,7 @@ public class ManifestElement {
                 }
                 if (c == ';' || c == ',' || c == '\0') /* more */ {
                     headerValue.append(";").append(next);
-                    logger.debug(";" + next);
+                    logger.debug(";{}", next);
                 }
             }
             // found the header value create a manifestElement for it.
@@ -423,7 +487,7 @@ public class ManifestElement {
                             header + ", Value: " + value);
                 }
 
-                logger.debug(";" + next + "=" + val);
+                logger.debug(";{}={}", next, val);
                 try {
                     if (directive) {
                         manifestElement.addDirective(next, val);
@@ -464,18 +528,50 @@ public class ManifestElement {
         return headerElements;
     }
 
+    /**
+     * Parses a manifest header value into a list of ManifestElements by scanning the header value in place.
+     * <p>
+     * This is equivalent to {@link #parseHeader(String, String, Bundle)}, but the returned ManifestElements are
+     * backed by offsets into the header value. The value, attributes and directives of a ManifestElement are
+     * created only when they are first requested. Header values which need to be normalised (e.g. quoted value
+     * components) are parsed with {@link #parseHeader(String, String, Bundle)}.
+     * <p>
+     * The returned ManifestElements should not be shared among threads until they are materialised.
+     *
+     * @param header the header name to parse.  This is only specified to provide error messages
+     *               when the header value is invalid.
+     * @param value  the header value to parse.
+     * @param bundle the bundle which contains the header
+     * @return the list of ManifestElements that are represented by the header value; an empty list will be
+     * returned if the value specified is null.
+     * @throws ManifestElementParserException if the header value is invalid
+     * @since 5.1.0
+     */
+    public static List<ManifestElement> parseHeaderInPlace(String header, CharSequence value, Bundle bundle)
+            throws ManifestElementParserException {
+        if (value == null) {
+            return new ArrayList<>();
+        }
+        List<ManifestElement> headerElements = new ManifestHeaderScanner(header, value, bundle).scan();
+        if (headerElements == null) {
+            return parseHeader(header, value.toString(), bundle);
+        }
+        return headerElements;
+    }
+
     /**
      * Returns the string representation of the manifest element.
      *
      * @return String
      */
     public String toString() {
+        materializeParameters();
         Enumeration<String> attrKeys = getKeys();
         Enumeration<String> directiveKeys = getDirectiveKeys();
         if (attrKeys == null && directiveKeys == null) {
-            return mainValue;
+            return getValue();
         }
-        StringBuffer result = new StringBuffer(mainValue);
+        StringBuffer result = new StringBuffer(getValue());
         if (attrKeys != null) {
             while (attrKeys.hasMoreElements()) {
                 String key = attrKeys.nextElement();
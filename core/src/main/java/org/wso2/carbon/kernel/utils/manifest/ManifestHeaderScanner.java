@@ -0,0 +1,387 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.utils.manifest;
+
+import org.osgi.framework.Bundle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scans a manifest header value in place and creates {@code ManifestElement}s which are backed by offsets into the
+ * header value.
+ * <p>
+ * This scanner follows exactly the same grammar as {@link ManifestElement#parseHeader(String, String, Bundle)}, but
+ * it does not create a String for each token. Instead, the offsets of the value and the parameters of each manifest
+ * element are recorded in a single int array which is shared by all the manifest elements of the header. Values of
+ * the attributes and directives are materialised only when they are requested from a manifest element.
+ * <p>
+ * A header which needs to be normalised (e.g. quoted value components, quoted keys or whitespace within keys and
+ * values composed of many tokens) cannot be represented with offsets. {@link #scan()} returns null for such headers
+ * and those are parsed with {@code ManifestElement.parseHeader}.
+ *
+ * @since 5.1.0
+ */
+final class ManifestHeaderScanner {
+    static final int DIRECTIVE = 1;
+    static final int ESCAPED = 2;
+    static final int PRESERVE_ESCAPES = 4;
+
+    // Number of offsets recorded for the value of a manifest element: begin, end and the parameter count.
+    static final int VALUE_SLOTS = 3;
+
+    // Number of offsets recorded for a parameter: key begin, key end, value begin, value end and flags.
+    static final int PARAMETER_SLOTS = 5;
+
+    private static final String MANIFEST_INVALID_HEADER_EXCEPTION = "Invalid header found.";
+
+    private final String header;
+    private final CharSequence value;
+    private final Bundle bundle;
+    private final int max;
+    private int cursor;
+
+    // Span of the last token or string scanned.
+    private int tokenBegin;
+    private int tokenEnd;
+    private boolean tokenQuoted;
+    private boolean tokenEscaped;
+
+    private int[] offsets = new int[32];
+    private int offsetCount;
+
+    ManifestHeaderScanner(String header, CharSequence value, Bundle bundle) {
+        this.header = header;
+        this.value = value;
+        this.bundle = bundle;
+        this.max = value.length();
+    }
+
+    /**
+     * Scans the header value and creates a manifest element for each element of the header.
+     *
+     * @return the list of manifest elements or null if the header needs to be normalised
+     * @throws ManifestElementParserException if the header value is invalid
+     */
+    List<ManifestElement> scan() throws ManifestElementParserException {
+        List<Integer> elementOffsets = new ArrayList<>();
+        while (true) {
+            int elementOffset = offsetCount;
+            if (!scanString(";,")) {
+                throw invalidHeader();
+            }
+            if (tokenQuoted) {
+                return null;
+            }
+            int valueBegin = tokenBegin;
+            int valueEnd = tokenEnd;
+            boolean compositeValue = false;
+
+            int keyBegin = 0;
+            int keyEnd = 0;
+            boolean keyQuoted = false;
+            boolean compositeKey = false;
+
+            boolean directive = false;
+            char c = getChar();
+            // Header values may be a list of ';' separated values. All of them belong to the value until the
+            // first '=' or ','
+            while (c == ';') {
+                if (!scanString(";,=:")) {
+                    throw invalidHeader();
+                }
+                keyBegin = tokenBegin;
+                keyEnd = tokenEnd;
+                keyQuoted = tokenQuoted;
+                compositeKey = false;
+                c = getChar();
+                while (c == ':') { // may not really be a :=
+                    c = getChar();
+                    if (c != '=') {
+                        if (!scanToken(";,=:")) {
+                            throw invalidHeader();
+                        }
+                        keyEnd = tokenEnd;
+                        compositeKey = true;
+                        c = getChar();
+                    } else {
+                        directive = true;
+                    }
+                }
+                if (c == ';' || c == ',' || c == '\0') /* more */ {
+                    if (keyQuoted) {
+                        return null;
+                    }
+                    valueEnd = keyEnd;
+                    compositeValue = true;
+                }
+            }
+            if (compositeValue && containsWhitespace(valueBegin, valueEnd)) {
+                return null;
+            }
+            addOffset(valueBegin);
+            addOffset(valueEnd);
+            addOffset(0);
+
+            // now add any attributes/directives for the manifestElement.
+            int parameterCount = 0;
+            while (c == '=' || c == ':') {
+                while (c == ':') { // may not really be a :=
+                    c = getChar();
+                    if (c != '=') {
+                        if (!scanToken("=:")) {
+                            throw invalidHeader();
+                        }
+                        keyEnd = tokenEnd;
+                        compositeKey = true;
+                        c = getChar();
+                    } else {
+                        directive = true;
+                    }
+                }
+                if (keyQuoted || (compositeKey && containsWhitespace(keyBegin, keyEnd))) {
+                    return null;
+                }
+
+                // determine if the attribute is the form attr:List<type>
+                boolean preserveEscapes = !directive && isListType(keyBegin, keyEnd);
+                if (!scanString(";,")) {
+                    throw invalidHeader();
+                }
+
+                int flags = (directive ? DIRECTIVE : 0) |
+                        (tokenEscaped ? ESCAPED : 0) |
+                        (preserveEscapes ? PRESERVE_ESCAPES : 0);
+                addOffset(keyBegin);
+                addOffset(keyEnd);
+                addOffset(tokenBegin);
+                addOffset(tokenEnd);
+                addOffset(flags);
+                parameterCount++;
+                directive = false;
+
+                c = getChar();
+                if (c == ';') /* more */ {
+                    if (!scanToken("=:")) {
+                        throw invalidHeader();
+                    }
+                    keyBegin = tokenBegin;
+                    keyEnd = tokenEnd;
+                    keyQuoted = false;
+                    compositeKey = false;
+                    c = getChar();
+                }
+            }
+            offsets[elementOffset + 2] = parameterCount;
+            elementOffsets.add(elementOffset);
+
+            if (c == ',') { /* another manifest element */
+                continue;
+            }
+            if (c == '\0') { /* end of value */
+                break;
+            }
+            throw invalidHeader();
+        }
+
+        List<ManifestElement> headerElements = new ArrayList<>(elementOffsets.size());
+        for (int elementOffset : elementOffsets) {
+            headerElements.add(new ManifestElement(header, value, offsets, elementOffset, bundle));
+        }
+        return headerElements;
+    }
+
+    /**
+     * Materialises the value of a quoted string. Escape characters are removed, unless the escaped character is
+     * '\' or ',' and escapes are to be preserved.
+     *
+     * @param value           header value
+     * @param begin           begin offset of the quoted string, excluding the quote
+     * @param end             end offset of the quoted string, excluding the quote
+     * @param preserveEscapes whether the escapes of '\' and ',' should be preserved
+     * @return the unescaped String
+     */
+    static String unescape(CharSequence value, int begin, int end, boolean preserveEscapes) {
+        StringBuilder sb = new StringBuilder(end - begin);
+        for (int cur = begin; cur < end; cur++) {
+            char c = value.charAt(cur);
+            // this is an escaped char
+            if (c == '\\') {
+                cur++; // skip the escape char
+                if (cur == end) {
+                    break;
+                }
+                c = value.charAt(cur); // include the escaped char
+                if (preserveEscapes && (c == '\\' || c == ',')) {
+                    sb.append('\\'); // must preserve escapes for c
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private void addOffset(int offset) {
+        if (offsetCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsetCount * 2);
+        }
+        offsets[offsetCount++] = offset;
+    }
+
+    private ManifestElementParserException invalidHeader() {
+        return new ManifestElementParserException(MANIFEST_INVALID_HEADER_EXCEPTION + " Header: " + header +
+                ", Value: " + value);
+    }
+
+    private boolean containsWhitespace(int begin, int end) {
+        for (int cur = begin; cur < end; cur++) {
+            if (isWhitespace(value.charAt(cur))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the key is of the form attr:List&lt;type&gt;.
+     */
+    private boolean isListType(int begin, int end) {
+        int colon = begin;
+        while (colon < end && value.charAt(colon) != ':') {
+            colon++;
+        }
+        if (colon == begin || colon == end) {
+            return false;
+        }
+
+        int typeEnd = colon + 1;
+        while (typeEnd < end && value.charAt(typeEnd) != '<') {
+            typeEnd++;
+        }
+        return typeEnd - colon - 1 == 4 && value.charAt(colon + 1) == 'L' && value.charAt(colon + 2) == 'i' &&
+                value.charAt(colon + 3) == 's' && value.charAt(colon + 4) == 't';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\r');
+    }
+
+    private void skipWhiteSpace() {
+        int cur = cursor;
+        while (cur < max && isWhitespace(value.charAt(cur))) {
+            cur++;
+        }
+        cursor = cur;
+    }
+
+    /**
+     * Scans the next token delimited by any character in the provided terminals String.
+     *
+     * @param terminals String
+     * @return true if a token was found
+     */
+    private boolean scanToken(String terminals) {
+        skipWhiteSpace();
+        int cur = cursor;
+
+        int begin = cur;
+        while (cur < max && terminals.indexOf(value.charAt(cur)) == -1) {
+            cur++;
+        }
+        cursor = cur;
+        int count = cur - begin;
+        if (count > 0) {
+            skipWhiteSpace();
+            while (count > 0 && (value.charAt(begin + count - 1) == ' ' || value.charAt(begin + count - 1) == '\t')) {
+                count--;
+            }
+            tokenBegin = begin;
+            tokenEnd = begin + count;
+            tokenQuoted = false;
+            tokenEscaped = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Scans the next token delimited by any character in the provided terminals String. If the text content being
+     * considered is within quotes, then the span of the entire string within quotes is recorded.
+     *
+     * @param terminals String
+     * @return true if a token was found
+     */
+    private boolean scanString(String terminals) {
+        skipWhiteSpace();
+        int cur = cursor;
+
+        if (cur < max) {
+            if (value.charAt(cur) == '\"') { /* if a quoted string */
+                cur++; /* skip quote */
+                char c = '\0';
+                boolean escaped = false;
+                int begin = cur;
+                for (; cur < max; cur++) {
+                    c = value.charAt(cur);
+                    // this is an escaped char
+                    if (c == '\\') {
+                        escaped = true;
+                        cur++; // skip the escaped char
+                        if (cur == max) {
+                            break;
+                        }
+                        c = value.charAt(cur);
+                    } else if (c == '\"') {
+                        break;
+                    }
+                }
+                int end = Math.min(cur, max);
+                if (c == '\"' && cur < max) {
+                    cur++;
+                }
+                cursor = cur;
+                if (end - begin > 0) {
+                    skipWhiteSpace();
+                    tokenBegin = begin;
+                    tokenEnd = end;
+                    tokenQuoted = true;
+                    tokenEscaped = escaped;
+                    return true;
+                }
+            } else { /* not a quoted string; same as token */
+                return scanToken(terminals);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the next character to be processed by the scanner.
+     *
+     * @return char
+     */
+    private char getChar() {
+        int cur = cursor;
+        if (cur < max) {
+            cursor = cur + 1;
+            return value.charAt(cur);
+        }
+        return '\0'; /* end of value */
+    }
+}
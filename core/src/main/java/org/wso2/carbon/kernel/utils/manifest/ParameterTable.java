@@ -0,0 +1,98 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.utils.manifest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * An unsynchronized, insertion ordered table of the attributes or directives of a {@code ManifestElement}.
+ * <p>
+ * A manifest element usually has only a handful of parameters, hence keys and values are kept in parallel arrays
+ * which are searched linearly. A value is either a String, or a List of Strings if the key is specified many times.
+ *
+ * @since 5.1.0
+ */
+final class ParameterTable {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the value associated with the given key.
+     *
+     * @param key the key
+     * @return a String, a List of Strings or null if the key does not exist
+     */
+    Object get(String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given key/value association. If an entry already exists for this key, then the value is appended to
+     * the list of values of the key.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    @SuppressWarnings("unchecked")
+    void add(String key, String value) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                List<String> valueList;
+                // create a list to contain multiple values
+                if (values[i] instanceof List) {
+                    valueList = (List<String>) values[i];
+                } else {
+                    valueList = new ArrayList<>(5);
+                    valueList.add((String) values[i]);
+                    values[i] = valueList;
+                }
+                valueList.add(value);
+                return;
+            }
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * Returns an enumeration of the keys in the order they were added.
+     *
+     * @return Enumeration&lt;String&gt;
+     */
+    Enumeration<String> keys() {
+        return Collections.enumeration(Arrays.asList(keys).subList(0, size));
+    }
+}
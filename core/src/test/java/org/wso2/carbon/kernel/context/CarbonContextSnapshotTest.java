@@ -0,0 +1,109 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.context;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the functionality of CarbonContextSnapshot and CarbonContextExecutors classes.
+ *
+ * @since 5.1.0
+ */
+public class CarbonContextSnapshotTest {
+    private static final String PROPERTY_NAME = "snapshotKey";
+
+    @AfterMethod
+    public void cleanup() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Test
+    public void testRestoreSnapshot() throws Exception {
+        Principal userPrincipal = () -> "snapshot-user";
+        PrivilegedCarbonContext.getCurrentContext().setUserPrincipal(userPrincipal);
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "value");
+        CarbonContextSnapshot snapshot = CarbonContextSnapshot.capture();
+
+        PrivilegedCarbonContext.destroyCurrentContext();
+        PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "other");
+
+        CarbonContextSnapshot.Scope scope = snapshot.restore();
+        try {
+            Assert.assertEquals(CarbonContext.getCurrentContext().getUserPrincipal(), userPrincipal);
+            Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME), "value");
+
+            // Changes made within a scope do not change the snapshot
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "changed");
+        } finally {
+            scope.close();
+        }
+        Assert.assertEquals(snapshot.getProperty(PROPERTY_NAME), "value");
+        Assert.assertEquals(CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME), "other");
+        Assert.assertNull(CarbonContext.getCurrentContext().getUserPrincipal());
+    }
+
+    @Test
+    public void testPropagatingExecutorService() throws Exception {
+        ExecutorService executorService = CarbonContextExecutors.propagating(Executors.newSingleThreadExecutor());
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "first");
+            Future<Object> first = executorService.submit(() ->
+                    CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME));
+            Assert.assertEquals(first.get(10, TimeUnit.SECONDS), "first");
+
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "second");
+            List<Future<Object>> futures = executorService.invokeAll(Arrays.asList(
+                    () -> CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME),
+                    () -> CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME)));
+            Assert.assertEquals(futures.get(0).get(), "second");
+            Assert.assertEquals(futures.get(1).get(), "second");
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testPooledThreadDoesNotRetainContext() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Executor executor = CarbonContextExecutors.propagating((Executor) pool);
+        try {
+            PrivilegedCarbonContext.getCurrentContext().setProperty(PROPERTY_NAME, "async");
+            Object value = CompletableFuture.supplyAsync(() ->
+                    CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME), executor).get(10, TimeUnit.SECONDS);
+            Assert.assertEquals(value, "async");
+
+            Object leakedValue = pool.submit(() -> CarbonContext.getCurrentContext().getProperty(PROPERTY_NAME))
+                    .get(10, TimeUnit.SECONDS);
+            Assert.assertNull(leakedValue);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
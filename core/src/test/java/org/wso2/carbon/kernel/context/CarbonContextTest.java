@@ -115,6 +115,22 @@ public class CarbonContextTest {
                 );
     }
 
+    @Test(dependsOnMethods = "testMultiThreadedCarbonContextInvocation")
+    public void testCarbonContextReuse() throws Exception {
+        CarbonContext carbonContext = CarbonContext.getCurrentContext();
+        PrivilegedCarbonContext privilegedCarbonContext = PrivilegedCarbonContext.getCurrentContext();
+        Assert.assertSame(CarbonContext.getCurrentContext(), carbonContext);
+        Assert.assertSame(PrivilegedCarbonContext.getCurrentContext(), privilegedCarbonContext);
+
+        privilegedCarbonContext.setProperty("reuseKey", "reuseValue");
+        Assert.assertEquals(carbonContext.getProperty("reuseKey"), "reuseValue");
+
+        PrivilegedCarbonContext.destroyCurrentContext();
+        Assert.assertNotSame(CarbonContext.getCurrentContext(), carbonContext);
+        Assert.assertNotSame(PrivilegedCarbonContext.getCurrentContext(), privilegedCarbonContext);
+        Assert.assertNull(CarbonContext.getCurrentContext().getProperty("reuseKey"));
+    }
+
     private class CarbonContextInvoker extends Thread {
         String carbonContextPropertyKey;
         Object carbonContextPropertyValue;
@@ -0,0 +1,125 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.context;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.internal.context.CarbonContextHolder;
+import org.wso2.carbon.kernel.internal.context.TenantResourceUsage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the functionality of TenantResourceAccounting and TenantResourceUsage classes.
+ *
+ * @since 5.1.0
+ */
+public class TenantResourceAccountingTest {
+    private final TenantResourceUsage tenantResourceUsage = TenantResourceUsage.getInstance();
+
+    @BeforeMethod
+    public void setup() {
+        tenantResourceUsage.reset();
+        tenantResourceUsage.setEnabled(true);
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        tenantResourceUsage.setEnabled(false);
+        tenantResourceUsage.reset();
+        PrivilegedCarbonContext.destroyCurrentContext();
+    }
+
+    @Test
+    public void testMeasurement() {
+        List<String> values = new ArrayList<>();
+        TenantResourceAccounting.Measurement measurement = TenantResourceAccounting.startMeasurement();
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                values.add(String.valueOf(i));
+            }
+        } finally {
+            measurement.close();
+        }
+        Assert.assertEquals(values.size(), 10_000);
+        Assert.assertEquals(tenantResourceUsage.getRequestCount(Constants.DEFAULT_TENANT), 1);
+        Assert.assertTrue(tenantResourceUsage.getCpuTime(Constants.DEFAULT_TENANT) >= 0);
+        if (tenantResourceUsage.getCurrentThreadAllocatedBytes() > 0) {
+            Assert.assertTrue(tenantResourceUsage.getAllocatedBytes(Constants.DEFAULT_TENANT) > 0);
+        }
+        Assert.assertTrue(tenantResourceUsage.getUsageAsJSON().contains("\"tenant\": \"" +
+                Constants.DEFAULT_TENANT + "\""));
+    }
+
+    @Test
+    public void testDisabledMeasurement() {
+        tenantResourceUsage.setEnabled(false);
+        TenantResourceAccounting.Measurement measurement = TenantResourceAccounting.startMeasurement();
+        try {
+            Assert.assertFalse(TenantResourceAccounting.isEnabled());
+        } finally {
+            measurement.close();
+        }
+        Assert.assertEquals(tenantResourceUsage.getRequestCount(Constants.DEFAULT_TENANT), 0);
+        Assert.assertEquals(tenantResourceUsage.getUsageAsJSON(), "{\n  \"tenants\": [\n  ]\n}\n");
+    }
+
+    @Test
+    public void testPropagatedTasksAreMeasured() throws Exception {
+        ExecutorService executorService = CarbonContextExecutors.propagating(Executors.newFixedThreadPool(2));
+        try {
+            for (int i = 0; i < 4; i++) {
+                executorService.submit(() -> CarbonContext.getCurrentContext().getTenant());
+            }
+        } finally {
+            executorService.shutdown();
+            Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(tenantResourceUsage.getRequestCount(Constants.DEFAULT_TENANT), 4);
+        Assert.assertEquals(tenantResourceUsage.getRequestCount("unknown-tenant"), 0);
+    }
+
+    @Test
+    public void testMeasurementDoesNotCreateContext() {
+        PrivilegedCarbonContext.destroyCurrentContext();
+        TenantResourceAccounting.Measurement measurement = TenantResourceAccounting.startMeasurement();
+        try {
+            Assert.assertNull(CarbonContextHolder.peekCurrentContextHolder());
+        } finally {
+            measurement.close();
+        }
+        Assert.assertNull(CarbonContextHolder.peekCurrentContextHolder());
+        Assert.assertEquals(tenantResourceUsage.getRequestCount(Constants.DEFAULT_TENANT), 1);
+    }
+
+    @Test
+    public void testUsageAsJSON() {
+        tenantResourceUsage.record("tenant\\\"1\n", 2_500_000, 10);
+        Assert.assertEquals(tenantResourceUsage.getUsageAsJSON(), "{\n  \"tenants\": [" +
+                "\n    {\"tenant\": \"tenant\\\\\\\"1\\n\", \"cpuTimeMillis\": 2.500, \"allocatedBytes\": 10, " +
+                "\"requestCount\": 1}\n  ]\n}\n");
+        Assert.assertEquals(tenantResourceUsage.getCpuTime("tenant\\\"1\n"), 2_500_000);
+    }
+}
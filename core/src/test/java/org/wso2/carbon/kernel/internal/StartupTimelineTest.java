@@ -0,0 +1,90 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for org.wso2.carbon.kernel.internal.StartupTimeline class.
+ *
+ * @since 5.1.0
+ */
+public class StartupTimelineTest {
+    private StartupTimeline startupTimeline = new StartupTimeline();
+    private long startNanoTime;
+
+    @BeforeClass
+    public void setup() {
+        startNanoTime = System.nanoTime();
+        System.setProperty(Constants.START_NANO_TIME, Long.toString(startNanoTime));
+        System.setProperty(Constants.STARTUP_TIMELINE,
+                "launcher.config=" + (startNanoTime + 1_000_000) + "," + (startNanoTime + 3_000_000) +
+                        ";launcher.args=" + startNanoTime + "," + (startNanoTime + 1_000_000) +
+                        ";launcher.invalid=invalid;invalid");
+    }
+
+    @AfterClass
+    public void cleanup() {
+        System.clearProperty(Constants.START_NANO_TIME);
+        System.clearProperty(Constants.STARTUP_TIMELINE);
+    }
+
+    @Test
+    public void testGetPhases() {
+        List<StartupTimeline.Phase> phases = startupTimeline.getPhases();
+
+        Assert.assertEquals(phases.size(), 2);
+        Assert.assertEquals(phases.get(0).getName(), "launcher.args");
+        Assert.assertEquals(phases.get(1).getName(), "launcher.config");
+        Assert.assertEquals(phases.get(1).getDuration(), 2_000_000);
+        Assert.assertEquals(startupTimeline.getStartupDuration(), 3.0);
+
+        // The launcher phases are consumed once
+        Assert.assertNull(System.getProperty(Constants.STARTUP_TIMELINE));
+        Assert.assertEquals(startupTimeline.getPhases().size(), 2);
+    }
+
+    @Test(dependsOnMethods = "testGetPhases")
+    public void testAddPhase() {
+        startupTimeline.addPhase("kernel.activator", startNanoTime + 4_000_000, startNanoTime + 5_000_000);
+
+        Assert.assertEquals(startupTimeline.getPhases().size(), 3);
+        Assert.assertEquals(startupTimeline.getPhases().get(2).getName(), "kernel.activator");
+        Assert.assertEquals(startupTimeline.getStartupDuration(), 5.0);
+    }
+
+    @Test(dependsOnMethods = "testAddPhase")
+    public void testWriteTimeline() throws Exception {
+        Path timelineFile = Files.createTempDirectory("carbon-startup").resolve("logs")
+                .resolve(Constants.STARTUP_TIMELINE_FILE);
+        startupTimeline.writeTo(timelineFile);
+
+        String timeline = new String(Files.readAllBytes(timelineFile), StandardCharsets.UTF_8);
+        Assert.assertTrue(timeline.contains("{\"name\": \"launcher.config\", \"start\": 1.000, \"duration\": 2.000}"));
+        Assert.assertTrue(timeline.contains("\"name\": \"kernel.activator\""));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.config.ConfigurationBeans class.
+ *
+ * @since 5.1.0
+ */
+public class ConfigurationBeansTest {
+
+    @Test
+    public void testCopyCarbonConfiguration() {
+        CarbonConfiguration carbonConfiguration = new CarbonConfiguration();
+        CarbonConfiguration copy = ConfigurationBeans.copy(carbonConfiguration);
+
+        Assert.assertNotSame(copy, carbonConfiguration);
+        Assert.assertNotSame(copy.getStartupResolverConfig(), carbonConfiguration.getStartupResolverConfig());
+        Assert.assertNotSame(copy.getStartupResolverConfig().getPendingComponentTimeout().getComponents(),
+                carbonConfiguration.getStartupResolverConfig().getPendingComponentTimeout().getComponents());
+        Assert.assertEquals(copy.getId(), carbonConfiguration.getId());
+        Assert.assertEquals(copy.getPortsConfig().getOffset(), carbonConfiguration.getPortsConfig().getOffset());
+    }
+
+    @Test
+    public void testCopyComponentConfiguration() {
+        ComponentConfig config = new ComponentConfig();
+        config.ratio = 0.5f;
+        config.hosts.addAll(Arrays.asList("a", "b"));
+        config.properties.put("key", new ArrayList<>(Collections.singletonList("value")));
+        config.fixedNames = Collections.unmodifiableList(new ArrayList<>(Collections.singletonList("fixed")));
+        config.nested = new ComponentConfig();
+        config.nested.ratio = 1.5f;
+
+        ComponentConfig copy = ConfigurationBeans.copy(config);
+        config.hosts.add("c");
+        config.properties.get("key").add("other");
+        config.nested.ratio = 2.5f;
+
+        Assert.assertEquals(copy.ratio, 0.5f);
+        Assert.assertEquals(copy.hosts, new HashSet<>(Arrays.asList("a", "b")));
+        Assert.assertEquals(copy.properties.get("key"), Collections.singletonList("value"));
+        Assert.assertEquals(copy.fixedNames, Collections.singletonList("fixed"));
+        Assert.assertEquals(copy.nested.ratio, 1.5f);
+        Assert.assertNull(copy.nested.nested);
+    }
+
+    @Test
+    public void testImmutableValuesAreShared() {
+        String value = "value";
+        Assert.assertSame(ConfigurationBeans.copy(value), value);
+        Assert.assertNull(ConfigurationBeans.copy(null));
+    }
+
+    /**
+     * Configuration bean which does not belong to the Carbon kernel.
+     */
+    public static class ComponentConfig {
+        private float ratio;
+        private Set<String> hosts = new HashSet<>();
+        private Map<String, List<String>> properties = new HashMap<>();
+        private List<String> fixedNames;
+        private ComponentConfig nested;
+    }
+}
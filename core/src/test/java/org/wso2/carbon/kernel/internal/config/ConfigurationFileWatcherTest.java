@@ -0,0 +1,128 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.config.ConfigurationFileWatcher class.
+ *
+ * @since 5.1.0
+ */
+public class ConfigurationFileWatcherTest {
+    private Path configFile;
+    private ConfigurationFileWatcher configurationFileWatcher;
+
+    @BeforeMethod
+    public void init() throws IOException {
+        configFile = Paths.get("target", "ConfigurationFileWatcherTest", "carbon.yml").toAbsolutePath();
+        Files.createDirectories(configFile.getParent());
+        Files.write(configFile, "id: carbon-kernel\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        configurationFileWatcher.stop();
+    }
+
+    @Test
+    public void testReloadOnModification() throws Exception {
+        BlockingQueue<String> reloadedContents = new LinkedBlockingQueue<>();
+        configurationFileWatcher = new ConfigurationFileWatcher(configFile, 500,
+                () -> reloadedContents.add(readFile(configFile)));
+        configurationFileWatcher.start();
+
+        Files.write(configFile.resolveSibling("other.yml"), "id: other\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(configFile, "id: carbon-kernel\nname: first\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(configFile, "id: carbon-kernel\nname: second\n".getBytes(StandardCharsets.UTF_8));
+
+        // Both modifications are within the delay, hence a single reload sees the second one.
+        Assert.assertEquals(reloadedContents.poll(30, TimeUnit.SECONDS), "id: carbon-kernel\nname: second\n");
+
+        // An additional reload caused by the previous modifications would be seen before this one.
+        Files.write(configFile, "id: carbon-kernel\nname: third\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(reloadedContents.poll(30, TimeUnit.SECONDS), "id: carbon-kernel\nname: third\n");
+    }
+
+    @Test
+    public void testReloadFailure() throws Exception {
+        CountDownLatch firstReload = new CountDownLatch(1);
+        CountDownLatch secondReload = new CountDownLatch(2);
+        configurationFileWatcher = new ConfigurationFileWatcher(configFile, 100, () -> {
+            firstReload.countDown();
+            secondReload.countDown();
+            throw new IllegalStateException("Invalid configuration");
+        });
+        configurationFileWatcher.start();
+
+        Files.write(configFile, "id: first\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(firstReload.await(30, TimeUnit.SECONDS), "Configuration is not reloaded");
+        Files.write(configFile, "id: second\n".getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertTrue(secondReload.await(30, TimeUnit.SECONDS), "Watcher is stopped after a failed reload");
+    }
+
+    @Test
+    public void testReloadOnSymbolicLinkSwap() throws Exception {
+        // Mimics a mounted configuration, in which carbon.yml -> ..data/carbon.yml and ..data is swapped atomically.
+        Path directory = Paths.get("target", "ConfigurationFileWatcherTest", "mounted").toAbsolutePath();
+        Path firstVersion = Files.createDirectories(directory.resolve("..first"));
+        Path secondVersion = Files.createDirectories(directory.resolve("..second"));
+        Files.write(firstVersion.resolve("carbon.yml"), "id: first\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(secondVersion.resolve("carbon.yml"), "id: second\n".getBytes(StandardCharsets.UTF_8));
+        Path dataLink = directory.resolve("..data");
+        Path linkedConfigFile = directory.resolve("carbon.yml");
+        Files.deleteIfExists(dataLink);
+        Files.deleteIfExists(linkedConfigFile);
+        Files.createSymbolicLink(dataLink, firstVersion.getFileName());
+        Files.createSymbolicLink(linkedConfigFile, Paths.get("..data", "carbon.yml"));
+
+        BlockingQueue<String> reloadedContents = new LinkedBlockingQueue<>();
+        configurationFileWatcher = new ConfigurationFileWatcher(linkedConfigFile, 100,
+                () -> reloadedContents.add(readFile(linkedConfigFile)));
+        configurationFileWatcher.start();
+
+        Path newDataLink = Files.createSymbolicLink(directory.resolve("..data_tmp"), secondVersion.getFileName());
+        Files.move(newDataLink, dataLink, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        Assert.assertEquals(reloadedContents.poll(30, TimeUnit.SECONDS), "id: second\n");
+    }
+
+    private static String readFile(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
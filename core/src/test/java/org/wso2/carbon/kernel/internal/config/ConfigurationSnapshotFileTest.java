@@ -0,0 +1,114 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.config;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.BaseTest;
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
+import org.wso2.carbon.kernel.config.model.PendingComponentPolicyEnum;
+import org.wso2.carbon.kernel.config.model.PendingComponentTimeout;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.config.ConfigurationSnapshotFile class.
+ *
+ * @since 5.1.0
+ */
+public class ConfigurationSnapshotFileTest extends BaseTest {
+    private Path carbonHome = Paths.get("target", "ConfigurationSnapshotFileTest").toAbsolutePath();
+    private Path configFile = carbonHome.resolve("conf").resolve(Constants.CARBON_CONFIG_YAML);
+    private Path snapshotFile = carbonHome.resolve(Constants.CARBON_CONFIG_SNAPSHOT_FILE);
+
+    public ConfigurationSnapshotFileTest(String testName) {
+        super(testName);
+    }
+
+    @BeforeClass
+    public void init() throws IOException {
+        System.setProperty("carbon.version", "1.0.0");
+        System.setProperty("carbon.offset", "10");
+        Files.createDirectories(configFile.getParent());
+        Files.copy(getTestResourceFile("yaml/conf/carbon.yml").toPath(), configFile,
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        System.setProperty(Constants.CARBON_HOME, carbonHome.toString());
+        CarbonConfiguration parsedConfiguration = new YAMLBasedConfigProvider(snapshotFile).getCarbonConfiguration();
+        Assert.assertTrue(Files.exists(snapshotFile));
+
+        CarbonConfiguration carbonConfiguration = new YAMLBasedConfigProvider(snapshotFile).getCarbonConfiguration();
+        Assert.assertNotSame(carbonConfiguration, parsedConfiguration);
+        Assert.assertEquals(carbonConfiguration.getVersion(), "1.0.0");
+        Assert.assertEquals(carbonConfiguration.getPortsConfig().getOffset(), 10);
+        Assert.assertEquals(carbonConfiguration.getDeploymentConfig().getRepositoryLocation(),
+                carbonHome + "/deployment/");
+        Assert.assertEquals(carbonConfiguration.getStartupResolverConfig().getCapabilityListenerTimer().getPeriod(),
+                200);
+        PendingComponentTimeout pendingComponentTimeout =
+                carbonConfiguration.getStartupResolverConfig().getPendingComponentTimeout();
+        Assert.assertEquals(pendingComponentTimeout.getTimeout("carbon-transport-mgt"), 120000);
+        Assert.assertEquals(pendingComponentTimeout.getPolicy("carbon-runtime-mgt"),
+                PendingComponentPolicyEnum.degraded);
+        Assert.assertEquals(carbonConfiguration.getJmxConfiguration().isEnabled(),
+                parsedConfiguration.getJmxConfiguration().isEnabled());
+    }
+
+    @Test(dependsOnMethods = "testStoreAndLoad")
+    public void testLoadWithDifferentDigest() throws Exception {
+        ConfigurationSnapshotFile configurationSnapshotFile = new ConfigurationSnapshotFile(snapshotFile);
+        Assert.assertFalse(configurationSnapshotFile.load("0000").isPresent());
+
+        // A changed variable value changes the digest of the substituted configuration
+        System.setProperty("carbon.offset", "20");
+        try {
+            Assert.assertEquals(new YAMLBasedConfigProvider(snapshotFile).getCarbonConfiguration().getPortsConfig()
+                    .getOffset(), 20);
+        } finally {
+            System.setProperty("carbon.offset", "10");
+        }
+    }
+
+    @Test(dependsOnMethods = "testLoadWithDifferentDigest")
+    public void testLoadCorruptedSnapshot() throws Exception {
+        ConfigurationSnapshotFile configurationSnapshotFile = new ConfigurationSnapshotFile(snapshotFile);
+        configurationSnapshotFile.store("digest", new YAMLBasedConfigProvider().getCarbonConfiguration());
+        Assert.assertEquals(configurationSnapshotFile.load("digest").get().getStartupResolverConfig()
+                .getPendingComponentTimeout().getTimeout("carbon-transport-mgt"), 120000);
+
+        byte[] content = Files.readAllBytes(snapshotFile);
+        Files.write(snapshotFile, Arrays.copyOf(content, content.length / 2));
+        Assert.assertEquals(configurationSnapshotFile.load("digest"), Optional.empty());
+
+        Files.write(snapshotFile, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(configurationSnapshotFile.load("digest"), Optional.empty());
+    }
+}
@@ -24,6 +24,18 @@ import org.wso2.carbon.kernel.Constants;
 import org.wso2.carbon.kernel.config.model.CarbonConfiguration;
 import org.wso2.carbon.kernel.config.model.DeploymentConfig;
 import org.wso2.carbon.kernel.config.model.DeploymentModeEnum;
+import org.wso2.carbon.kernel.config.model.PendingComponentPolicyEnum;
+import org.wso2.carbon.kernel.config.model.PendingComponentTimeout;
+import org.wso2.carbon.kernel.config.model.PortsConfig;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
 
 /**
  * This class tests the functionality of org.wso2.carbon.kernel.internal.kernel.config.XMLBasedConfigProvider class.
@@ -74,5 +86,86 @@ public class YAMLBasedConfigProviderTest extends BaseTest {
         Assert.assertEquals(deploymentConfig.getUpdateInterval(), 15);
 
         Assert.assertEquals(deploymentConfig.getMode(), DeploymentModeEnum.scheduled);
+
+        PendingComponentTimeout pendingComponentTimeout =
+                carbonConfiguration.getStartupResolverConfig().getPendingComponentTimeout();
+        Assert.assertEquals(pendingComponentTimeout.getTimeout("carbon-transport-mgt"), 120000);
+        Assert.assertEquals(pendingComponentTimeout.getPolicy("carbon-transport-mgt"),
+                PendingComponentPolicyEnum.abort);
+        Assert.assertEquals(pendingComponentTimeout.getTimeout("carbon-runtime-mgt"), 60000);
+        Assert.assertEquals(pendingComponentTimeout.getPolicy("carbon-runtime-mgt"),
+                PendingComponentPolicyEnum.degraded);
+        Assert.assertEquals(pendingComponentTimeout.getPolicy("carbon-deployment"), PendingComponentPolicyEnum.wait);
+    }
+
+    @Test(dependsOnMethods = "testGetCarbonConfiguration")
+    public void testGetConfigurationSection() throws Exception {
+        CarbonConfiguration carbonConfiguration = yamlBasedConfigProvider.getCarbonConfiguration();
+        Assert.assertNotSame(yamlBasedConfigProvider.getCarbonConfiguration(), carbonConfiguration);
+
+        // A copy of the cached configuration is returned, so that changes made by a caller are not shared
+        carbonConfiguration.getStartupResolverConfig().getPendingComponentTimeout().getComponents().clear();
+        Assert.assertEquals(yamlBasedConfigProvider.getCarbonConfiguration().getStartupResolverConfig()
+                .getPendingComponentTimeout().getPolicy("carbon-runtime-mgt"), PendingComponentPolicyEnum.degraded);
+
+        SampleComponentConfig sampleComponentConfig = yamlBasedConfigProvider
+                .getConfigurationSection("sampleComponent", SampleComponentConfig.class).get();
+        Assert.assertEquals(sampleComponentConfig.name, "sample-1.0.0");
+        Assert.assertEquals(sampleComponentConfig.workers, 4);
+
+        // A copy of the cached section is returned, so that changes made by a caller are not shared
+        sampleComponentConfig.workers = 16;
+        Assert.assertEquals(yamlBasedConfigProvider.getConfigurationSection("sampleComponent",
+                SampleComponentConfig.class).get().workers, 4);
+
+        Assert.assertEquals(yamlBasedConfigProvider.getConfigurationSection("ports", PortsConfig.class).get()
+                .getOffset(), 10);
+        Assert.assertEquals(yamlBasedConfigProvider.getConfigurationSection("id", String.class).get(),
+                "carbon-kernel");
+        Assert.assertFalse(yamlBasedConfigProvider.getConfigurationSection("unknown", Object.class).isPresent());
+    }
+
+    @Test(dependsOnMethods = "testGetConfigurationSection")
+    public void testReloadCarbonConfiguration() throws Exception {
+        Path carbonHome = Paths.get("target", "YAMLBasedConfigProviderTest").toAbsolutePath();
+        Path configFile = carbonHome.resolve("conf").resolve(Constants.CARBON_CONFIG_YAML);
+        Files.createDirectories(configFile.getParent());
+        Files.copy(getTestResourceFile("yaml/conf/carbon.yml").toPath(), configFile,
+                StandardCopyOption.REPLACE_EXISTING);
+        System.setProperty(Constants.CARBON_HOME, carbonHome.toString());
+
+        YAMLBasedConfigProvider configProvider = new YAMLBasedConfigProvider();
+        CarbonConfiguration carbonConfiguration = configProvider.getCarbonConfiguration();
+        Assert.assertTrue(configProvider.reloadCarbonConfiguration().isEmpty());
+        Assert.assertEquals(configProvider.getCarbonConfiguration().getPortsConfig().getOffset(), 10);
+
+        String config = new String(Files.readAllBytes(configFile), StandardCharsets.UTF_8)
+                .replace("offset: ${carbon.offset}", "offset: 20")
+                .replace("workers: 4", "workers: 8");
+        Files.write(configFile, config.getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(configProvider.reloadCarbonConfiguration(),
+                new HashSet<>(Arrays.asList("ports", "sampleComponent")));
+        Assert.assertEquals(configProvider.getCarbonConfiguration().getPortsConfig().getOffset(), 20);
+        Assert.assertEquals(configProvider.getConfigurationSection("sampleComponent", SampleComponentConfig.class)
+                .get().workers, 8);
+        Assert.assertEquals(carbonConfiguration.getPortsConfig().getOffset(), 10);
+
+        // An invalid configuration does not replace the current configuration
+        Files.write(configFile, config.replace("offset: 20", "offset: twenty").getBytes(StandardCharsets.UTF_8));
+        try {
+            configProvider.reloadCarbonConfiguration();
+            Assert.fail("Invalid configuration is reloaded");
+        } catch (YAMLException e) {
+            Assert.assertEquals(configProvider.getCarbonConfiguration().getPortsConfig().getOffset(), 20);
+        }
+    }
+
+    /**
+     * Configuration of a component which is not a part of the CarbonConfiguration.
+     */
+    public static class SampleComponentConfig {
+        private String name;
+        private int workers;
     }
 }
@@ -0,0 +1,79 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.CapabilityMultiset.
+ *
+ * @since 5.1.0
+ */
+public class CapabilityMultisetTest {
+    private static final String TRANSPORT_CAPABILITY = "org.wso2.carbon.kernel.transports.CarbonTransport";
+
+    private Bundle httpBundle = new DummyBundle(1, "org.wso2.carbon.transport.http");
+    private Bundle jmsBundle = new DummyBundle(2, "org.wso2.carbon.transport.jms");
+
+    @Test
+    public void testMultipleInstancesOfSameCapability() {
+        CapabilityMultiset capabilityMultiset = new CapabilityMultiset();
+        int transportCount = 50;
+        for (int i = 0; i < transportCount; i++) {
+            Assert.assertEquals(capabilityMultiset.add(getCapability(httpBundle)), i + 1);
+        }
+        Assert.assertEquals(capabilityMultiset.count(getCapability(httpBundle)), transportCount);
+        Assert.assertEquals(capabilityMultiset.getCapabilities().size(), transportCount);
+
+        for (int i = transportCount - 1; i >= 0; i--) {
+            Assert.assertEquals(capabilityMultiset.remove(getCapability(httpBundle)), i);
+        }
+        Assert.assertEquals(capabilityMultiset.size(), 0);
+        Assert.assertEquals(capabilityMultiset.getCapabilities().size(), 0);
+    }
+
+    @Test
+    public void testCapabilitiesFromDifferentBundles() {
+        CapabilityMultiset capabilityMultiset = new CapabilityMultiset();
+        capabilityMultiset.add(getCapability(httpBundle));
+        capabilityMultiset.add(getCapability(jmsBundle));
+
+        capabilityMultiset.remove(getCapability(httpBundle));
+        Assert.assertEquals(capabilityMultiset.count(getCapability(httpBundle)), 0);
+        Assert.assertEquals(capabilityMultiset.count(getCapability(jmsBundle)), 1);
+        Assert.assertEquals(capabilityMultiset.getCapabilities().get(0).getBundle(), jmsBundle);
+    }
+
+    @Test
+    public void testAvailableBeforeExpected() {
+        CapabilityMultiset capabilityMultiset = new CapabilityMultiset();
+        Assert.assertEquals(capabilityMultiset.remove(getCapability(httpBundle)), 1);
+        Assert.assertEquals(capabilityMultiset.count(getCapability(httpBundle)), -1);
+
+        Assert.assertEquals(capabilityMultiset.add(getCapability(httpBundle)), 0);
+        Assert.assertEquals(capabilityMultiset.count(getCapability(httpBundle)), 0);
+    }
+
+    private Capability getCapability(Bundle bundle) {
+        return new OSGiServiceCapability(TRANSPORT_CAPABILITY, Capability.CapabilityType.OSGi_SERVICE, bundle);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.Version;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.cert.X509Certificate;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class acts as a dummy bundle for the startup order resolver test cases.
+ *
+ * @since 5.1.0
+ */
+public class DummyBundle implements Bundle {
+    private long bundleId;
+    private String symbolicName;
+
+    public DummyBundle(long bundleId, String symbolicName) {
+        this.bundleId = bundleId;
+        this.symbolicName = symbolicName;
+    }
+
+    @Override
+    public int getState() {
+        return ACTIVE;
+    }
+
+    @Override
+    public void start(int options) {
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop(int options) {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public void update(InputStream input) {
+    }
+
+    @Override
+    public void update() {
+    }
+
+    @Override
+    public void uninstall() {
+    }
+
+    @Override
+    public Dictionary<String, String> getHeaders() {
+        return new Hashtable<>();
+    }
+
+    @Override
+    public long getBundleId() {
+        return bundleId;
+    }
+
+    @Override
+    public String getLocation() {
+        return symbolicName;
+    }
+
+    @Override
+    public ServiceReference<?>[] getRegisteredServices() {
+        return null;
+    }
+
+    @Override
+    public ServiceReference<?>[] getServicesInUse() {
+        return null;
+    }
+
+    @Override
+    public boolean hasPermission(Object permission) {
+        return true;
+    }
+
+    @Override
+    public URL getResource(String name) {
+        return null;
+    }
+
+    @Override
+    public Dictionary<String, String> getHeaders(String locale) {
+        return getHeaders();
+    }
+
+    @Override
+    public String getSymbolicName() {
+        return symbolicName;
+    }
+
+    @Override
+    public Class<?> loadClass(String name) throws ClassNotFoundException {
+        throw new ClassNotFoundException(name);
+    }
+
+    @Override
+    public Enumeration<URL> getResources(String name) {
+        return null;
+    }
+
+    @Override
+    public Enumeration<String> getEntryPaths(String path) {
+        return null;
+    }
+
+    @Override
+    public URL getEntry(String path) {
+        return null;
+    }
+
+    @Override
+    public long getLastModified() {
+        return 0;
+    }
+
+    @Override
+    public Enumeration<URL> findEntries(String path, String filePattern, boolean recurse) {
+        return null;
+    }
+
+    @Override
+    public BundleContext getBundleContext() {
+        return null;
+    }
+
+    @Override
+    public Map<X509Certificate, List<X509Certificate>> getSignerCertificates(int signersType) {
+        return null;
+    }
+
+    @Override
+    public Version getVersion() {
+        return Version.emptyVersion;
+    }
+
+    @Override
+    public <A> A adapt(Class<A> type) {
+        return null;
+    }
+
+    @Override
+    public File getDataFile(String filename) {
+        return null;
+    }
+
+    @Override
+    public int compareTo(Bundle o) {
+        return Long.compare(bundleId, o.getBundleId());
+    }
+}
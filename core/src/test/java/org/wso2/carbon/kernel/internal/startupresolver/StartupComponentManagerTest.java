@@ -0,0 +1,413 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.CapabilityProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupComponentManager.
+ *
+ * @since 5.1.0
+ */
+public class StartupComponentManagerTest {
+    private static final String TRANSPORT_MGT_COMPONENT = "carbon-transport-mgt";
+    private static final String TRANSPORT_CAPABILITY = "org.wso2.carbon.kernel.transports.CarbonTransport";
+
+    private Bundle transportMgtBundle = new DummyBundle(1, "org.wso2.carbon.transport.mgt");
+    private Bundle transportBundle = new DummyBundle(2, "org.wso2.carbon.transport.http");
+    private AtomicInteger satisfiableNotificationCount;
+    private StartupComponentManager startupComponentManager;
+
+    @BeforeMethod
+    public void init() {
+        satisfiableNotificationCount = new AtomicInteger(0);
+        startupComponentManager = new StartupComponentManager(satisfiableNotificationCount::incrementAndGet);
+
+        startupComponentManager.addComponents(Collections.singletonList(
+                getStartupComponent(TRANSPORT_MGT_COMPONENT, TRANSPORT_CAPABILITY)));
+    }
+
+    @Test
+    public void testSatisfiableComponentNotifiedOnLastCapability() {
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+
+        Assert.assertEquals(satisfiableNotificationCount.get(), 0);
+        Assert.assertNull(startupComponentManager.pollSatisfiableComponent());
+        Assert.assertEquals(startupComponentManager.getPendingComponents().size(), 1);
+
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+
+        Assert.assertEquals(satisfiableNotificationCount.get(), 1);
+        StartupComponent startupComponent = startupComponentManager.pollSatisfiableComponent();
+        Assert.assertNotNull(startupComponent);
+        Assert.assertEquals(startupComponent.getName(), TRANSPORT_MGT_COMPONENT);
+        Assert.assertTrue(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+    }
+
+    @Test
+    public void testSatisfiableComponentNotifiedOnListenerRegistration() {
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertEquals(satisfiableNotificationCount.get(), 0);
+
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+
+        Assert.assertEquals(satisfiableNotificationCount.get(), 1);
+        Assert.assertEquals(startupComponentManager.getSatisfiableComponents().size(), 1);
+    }
+
+    @Test
+    public void testSatisfiableComponentBecomesPendingAgain() {
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        Assert.assertFalse(startupComponentManager.isPending(TRANSPORT_MGT_COMPONENT));
+        Assert.assertEquals(startupComponentManager.getSatisfiableComponents().size(), 1);
+
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        Assert.assertTrue(startupComponentManager.isPending(TRANSPORT_MGT_COMPONENT));
+        Assert.assertEquals(startupComponentManager.getSatisfiableComponents().size(), 0);
+        Assert.assertEquals(startupComponentManager.getPendingComponents().size(), 1);
+
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertFalse(startupComponentManager.isPending(TRANSPORT_MGT_COMPONENT));
+        Assert.assertEquals(startupComponentManager.getSatisfiableComponents().size(), 1);
+
+        startupComponentManager.removeSatisfiedComponent(startupComponentManager.pollSatisfiableComponent());
+        Assert.assertEquals(startupComponentManager.getSatisfiableComponents().size(), 0);
+        Assert.assertEquals(startupComponentManager.getPendingComponents().size(), 0);
+    }
+
+    @Test
+    public void testPendingCapabilityProvider() {
+        startupComponentManager.addExpectedCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE, TRANSPORT_CAPABILITY,
+                transportBundle));
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        Assert.assertEquals(satisfiableNotificationCount.get(), 0);
+
+        // CapabilityProvider registration adds the expected capabilities before the provider becomes available.
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        startupComponentManager.addAvailableCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE, TRANSPORT_CAPABILITY,
+                transportBundle));
+        Assert.assertEquals(satisfiableNotificationCount.get(), 0);
+        Assert.assertFalse(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertEquals(satisfiableNotificationCount.get(), 1);
+        Assert.assertTrue(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+    }
+
+    @Test
+    public void testPendingCapabilityProviderOfComponent() {
+        startupComponentManager.addExpectedCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE, TRANSPORT_CAPABILITY,
+                transportBundle));
+        startupComponentManager.addExpectedCapabilityProvider(getCapabilityProvider(1, transportBundle));
+
+        List<CapabilityProviderCapability> pendingCapabilityProviders =
+                startupComponentManager.getPendingCapabilityProviderList(TRANSPORT_MGT_COMPONENT);
+        Assert.assertEquals(pendingCapabilityProviders.size(), 1);
+        Assert.assertEquals(pendingCapabilityProviders.get(0).getProvidedCapabilityName(), TRANSPORT_CAPABILITY);
+        Assert.assertTrue(startupComponentManager.getPendingCapabilityProviderList("unknown-component").isEmpty());
+    }
+
+    @Test
+    public void testCapabilityLostAndRestored() {
+        List<String> capabilityEvents = new ArrayList<>();
+        startupComponentManager.trackSatisfiedComponents(
+                (startupComponent, capability) -> capabilityEvents.add("lost:" + capability.getName()),
+                startupComponent -> capabilityEvents.add("restored:" + startupComponent.getName()));
+
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertTrue(startupComponentManager.removeSatisfiedComponent(
+                startupComponentManager.pollSatisfiableComponent()));
+
+        // A new instance of an available capability does not affect the notified component.
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertTrue(capabilityEvents.isEmpty());
+
+        startupComponentManager.removeAvailableRequiredCapability(getTransportCapability());
+        startupComponentManager.removeAvailableRequiredCapability(getTransportCapability());
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertEquals(capabilityEvents, Collections.singletonList("lost:" + TRANSPORT_CAPABILITY));
+        Assert.assertTrue(startupComponentManager.isPending(TRANSPORT_MGT_COMPONENT));
+        Assert.assertTrue(startupComponentManager.hasLostCapabilities(TRANSPORT_MGT_COMPONENT));
+        Assert.assertEquals(startupComponentManager.getPendingProvideCapabilityList(TRANSPORT_MGT_COMPONENT).size(),
+                1);
+
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertEquals(capabilityEvents, Arrays.asList("lost:" + TRANSPORT_CAPABILITY,
+                "restored:" + TRANSPORT_MGT_COMPONENT));
+        Assert.assertFalse(startupComponentManager.isPending(TRANSPORT_MGT_COMPONENT));
+        Assert.assertFalse(startupComponentManager.hasLostCapabilities(TRANSPORT_MGT_COMPONENT));
+        Assert.assertFalse(startupComponentManager.hasRemainingComponents());
+    }
+
+    @Test
+    public void testCapabilityRemovedFromPendingComponent() {
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        startupComponentManager.removeAvailableRequiredCapability(getTransportCapability());
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        Assert.assertFalse(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertTrue(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+    }
+
+    @Test
+    public void testRemoveSatisfiedComponent() {
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        StartupComponent startupComponent = startupComponentManager.pollSatisfiableComponent();
+        Assert.assertNotNull(startupComponent);
+
+        Assert.assertTrue(startupComponentManager.removeSatisfiedComponent(startupComponent));
+        Assert.assertFalse(startupComponentManager.removeSatisfiedComponent(startupComponent));
+        Assert.assertFalse(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+        Assert.assertEquals(startupComponentManager.getPendingComponents().size(), 0);
+    }
+
+    @Test
+    public void testMultipleCapabilitiesFromCapabilityProvider() {
+        int transportCount = 50;
+        startupComponentManager.addExpectedCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE, TRANSPORT_CAPABILITY,
+                transportBundle));
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+
+        for (int i = 0; i < transportCount; i++) {
+            startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        }
+        startupComponentManager.addAvailableCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE, TRANSPORT_CAPABILITY,
+                transportBundle));
+        Assert.assertEquals(startupComponentManager.getPendingProvideCapabilityList(TRANSPORT_MGT_COMPONENT).size(),
+                transportCount);
+
+        for (int i = 0; i < transportCount; i++) {
+            Assert.assertFalse(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+            startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        }
+        Assert.assertTrue(startupComponentManager.isSatisfiable(TRANSPORT_MGT_COMPONENT));
+        Assert.assertEquals(satisfiableNotificationCount.get(), 1);
+    }
+
+    @Test
+    public void testCapabilityProviderProcessedBeforeDependentComponent() {
+        String runtimeMgtComponent = "carbon-runtime-mgt";
+        String runtimeCapability = "org.wso2.carbon.kernel.runtime.Runtime";
+        startupComponentManager.addComponents(Collections.singletonList(
+                getStartupComponent(runtimeMgtComponent)));
+        startupComponentManager.addExpectedCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE, runtimeCapability,
+                transportBundle));
+
+        // Dependent component is added via the dependent-component-name attribute after processing providers.
+        startupComponentManager.addRequiredOSGiServiceCapabilityToComponent(runtimeMgtComponent, runtimeCapability);
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, runtimeMgtComponent, transportMgtBundle);
+        Assert.assertFalse(startupComponentManager.isSatisfiable(runtimeMgtComponent));
+
+        startupComponentManager.addAvailableCapabilityProvider(new CapabilityProviderCapability(
+                CapabilityProvider.class.getName(), Capability.CapabilityType.OSGi_SERVICE, runtimeCapability,
+                transportBundle));
+        Assert.assertTrue(startupComponentManager.isSatisfiable(runtimeMgtComponent));
+        Assert.assertEquals(startupComponentManager.pollSatisfiableComponent().getName(), runtimeMgtComponent);
+        Assert.assertNull(startupComponentManager.pollSatisfiableComponent());
+    }
+
+    @Test
+    public void testMultipleDependentComponents() {
+        int componentCount = 100;
+        for (int i = 0; i < componentCount; i++) {
+            startupComponentManager.addComponents(Collections.singletonList(
+                    getStartupComponent("component-" + i, TRANSPORT_CAPABILITY)));
+        }
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        for (int i = 0; i < componentCount; i++) {
+            startupComponentManager.addRequiredCapabilityListener(() -> {
+            }, "component-" + i, transportMgtBundle);
+        }
+        Assert.assertEquals(startupComponentManager.getPendingComponents().size(), componentCount + 1);
+
+        startupComponentManager.addAvailableRequiredCapability(getTransportCapability());
+        Assert.assertEquals(satisfiableNotificationCount.get(), componentCount);
+        Assert.assertEquals(startupComponentManager.getSatisfiableComponents().size(), componentCount);
+        Assert.assertTrue(startupComponentManager.hasRemainingComponents());
+    }
+
+    @Test
+    public void testConcurrentCapabilityRegistrations() throws Exception {
+        int capabilityCount = 20;
+        int providerCapabilityCount = 5;
+        int instanceCount = 100;
+        int componentCount = 500;
+
+        AtomicReference<StartupComponentManager> managerReference = new AtomicReference<>();
+        StartupComponentManager manager = new StartupComponentManager(() -> {
+            StartupComponentManager componentManager = managerReference.get();
+            StartupComponent startupComponent;
+            while ((startupComponent = componentManager.pollSatisfiableComponent()) != null) {
+                if (componentManager.isSatisfiable(startupComponent.getName()) &&
+                        componentManager.removeSatisfiedComponent(startupComponent)) {
+                    startupComponent.getListener().onAllRequiredCapabilitiesAvailable();
+                }
+            }
+        });
+        managerReference.set(manager);
+
+        List<Bundle> bundleList = new ArrayList<>();
+        for (int i = 0; i < capabilityCount; i++) {
+            bundleList.add(new DummyBundle(i, "org.wso2.carbon.capability." + i));
+        }
+
+        // Manifest header processing stage.
+        List<StartupComponent> startupComponentList = new ArrayList<>();
+        for (int i = 0; i < componentCount; i++) {
+            startupComponentList.add(getStartupComponent("component-" + i,
+                    "capability-" + (i % capabilityCount), "capability-" + ((i + 7) % capabilityCount)));
+        }
+        manager.addComponents(startupComponentList);
+        for (int i = 0; i < capabilityCount; i++) {
+            if (i < providerCapabilityCount) {
+                manager.addExpectedCapabilityProvider(getCapabilityProvider(i, bundleList.get(i)));
+            } else {
+                for (int j = 0; j < instanceCount; j++) {
+                    manager.addExpectedRequiredCapability(getCapability(i, bundleList.get(i)));
+                }
+            }
+        }
+
+        // OSGi service registrations from parallel threads.
+        Map<String, AtomicInteger> notificationCountMap = new ConcurrentHashMap<>();
+        List<Runnable> registrationList = new ArrayList<>();
+        for (int i = 0; i < componentCount; i++) {
+            String componentName = "component-" + i;
+            notificationCountMap.put(componentName, new AtomicInteger(0));
+            registrationList.add(() -> manager.addRequiredCapabilityListener(
+                    () -> notificationCountMap.get(componentName).incrementAndGet(), componentName,
+                    transportMgtBundle));
+        }
+        for (int i = 0; i < capabilityCount; i++) {
+            int capabilityIndex = i;
+            Bundle bundle = bundleList.get(i);
+            if (i < providerCapabilityCount) {
+                registrationList.add(() -> {
+                    for (int j = 0; j < instanceCount; j++) {
+                        manager.addExpectedRequiredCapability(getCapability(capabilityIndex, bundle));
+                    }
+                    manager.addAvailableCapabilityProvider(getCapabilityProvider(capabilityIndex, bundle));
+                });
+            }
+            for (int j = 0; j < instanceCount; j++) {
+                registrationList.add(() ->
+                        manager.addAvailableRequiredCapability(getCapability(capabilityIndex, bundle)));
+            }
+        }
+        Collections.shuffle(registrationList, new Random(componentCount));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futureList = new ArrayList<>();
+        for (Runnable registration : registrationList) {
+            futureList.add(executorService.submit(() -> {
+                startSignal.await();
+                registration.run();
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futureList) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        notificationCountMap.forEach((componentName, notificationCount) ->
+                Assert.assertEquals(notificationCount.get(), 1, "Notification count of " + componentName));
+        Assert.assertFalse(manager.hasRemainingComponents());
+    }
+
+    @Test
+    public void testProviderComponentNames() {
+        StartupComponent transportComponent = new StartupComponent("carbon-transport-http", transportBundle);
+        transportComponent.setRequiredServiceList(new ArrayList<>());
+        startupComponentManager.addComponents(Collections.singletonList(transportComponent));
+
+        Assert.assertTrue(startupComponentManager.getProviderComponentNames(TRANSPORT_MGT_COMPONENT).isEmpty());
+
+        startupComponentManager.addExpectedRequiredCapability(getTransportCapability());
+        Assert.assertEquals(startupComponentManager.getProviderComponentNames(TRANSPORT_MGT_COMPONENT),
+                Collections.singleton("carbon-transport-http"));
+        Assert.assertTrue(startupComponentManager.getProviderComponentNames("carbon-transport-http").isEmpty());
+    }
+
+    private Capability getCapability(int capabilityIndex, Bundle bundle) {
+        return new OSGiServiceCapability("capability-" + capabilityIndex, Capability.CapabilityType.OSGi_SERVICE,
+                bundle);
+    }
+
+    private CapabilityProviderCapability getCapabilityProvider(int capabilityIndex, Bundle bundle) {
+        return new CapabilityProviderCapability(CapabilityProvider.class.getName(),
+                Capability.CapabilityType.OSGi_SERVICE, "capability-" + capabilityIndex, bundle);
+    }
+
+    private OSGiServiceCapability getTransportCapability() {
+        return new OSGiServiceCapability(TRANSPORT_CAPABILITY, Capability.CapabilityType.OSGi_SERVICE,
+                transportBundle);
+    }
+
+    private StartupComponent getStartupComponent(String componentName, String... requiredServices) {
+        StartupComponent startupComponent = new StartupComponent(componentName, transportMgtBundle);
+        startupComponent.setRequiredServiceList(new ArrayList<>(Arrays.asList(requiredServices)));
+        return startupComponent;
+    }
+}
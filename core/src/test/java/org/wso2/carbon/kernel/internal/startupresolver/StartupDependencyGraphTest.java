@@ -0,0 +1,114 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupDependencyGraph.
+ *
+ * @since 5.1.0
+ */
+public class StartupDependencyGraphTest {
+    private static final String TRANSPORT_MGT_COMPONENT = "carbon-transport-mgt";
+    private static final String TRANSPORT_COMPONENT = "carbon-transport-http";
+    private static final String TRANSPORT_CAPABILITY = "org.wso2.carbon.kernel.transports.CarbonTransport";
+    private static final String DEPLOYER_CAPABILITY = "org.wso2.carbon.deployment.engine.Deployer";
+
+    private Bundle transportMgtBundle = new DummyBundle(1, "org.wso2.carbon.transport.mgt");
+    private Bundle transportBundle = new DummyBundle(2, "org.wso2.carbon.transport.http");
+    private Bundle deployerBundle = new DummyBundle(3, "org.wso2.carbon.deployment.engine");
+    private StartupComponentManager startupComponentManager;
+    private StartupDependencyGraph dependencyGraph;
+
+    @BeforeMethod
+    public void init() {
+        startupComponentManager = new StartupComponentManager(() -> {
+        });
+        dependencyGraph = startupComponentManager.getDependencyGraph();
+
+        startupComponentManager.addComponents(Arrays.asList(
+                getStartupComponent(TRANSPORT_MGT_COMPONENT, transportMgtBundle, TRANSPORT_CAPABILITY),
+                getStartupComponent(TRANSPORT_COMPONENT, transportBundle, DEPLOYER_CAPABILITY)));
+
+        startupComponentManager.addExpectedRequiredCapability(getCapability(DEPLOYER_CAPABILITY, deployerBundle));
+        startupComponentManager.addExpectedRequiredCapability(getCapability(TRANSPORT_CAPABILITY, transportBundle));
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+        }, TRANSPORT_COMPONENT, transportBundle);
+
+        startupComponentManager.addAvailableRequiredCapability(getCapability(DEPLOYER_CAPABILITY, deployerBundle));
+        dependencyGraph.notificationStarted(TRANSPORT_COMPONENT);
+        dependencyGraph.notificationCompleted(TRANSPORT_COMPONENT);
+
+        startupComponentManager.addAvailableRequiredCapability(getCapability(TRANSPORT_CAPABILITY, transportBundle));
+        dependencyGraph.notificationStarted(TRANSPORT_MGT_COMPONENT);
+        dependencyGraph.notificationCompleted(TRANSPORT_MGT_COMPONENT);
+    }
+
+    @Test
+    public void testCriticalPath() {
+        Assert.assertEquals(dependencyGraph.getCriticalPath(), new String[]{
+                DEPLOYER_CAPABILITY + "@org.wso2.carbon.deployment.engine:0.0.0",
+                TRANSPORT_COMPONENT,
+                TRANSPORT_CAPABILITY + "@org.wso2.carbon.transport.http:0.0.0",
+                TRANSPORT_MGT_COMPONENT});
+    }
+
+    @Test
+    public void testDependencyGraphAsDOT() {
+        String dot = dependencyGraph.getDependencyGraphAsDOT();
+
+        Assert.assertTrue(dot.startsWith("digraph StartupDependencyGraph {"));
+        Assert.assertTrue(dot.contains("\"" + TRANSPORT_COMPONENT + "\" -> \"" + TRANSPORT_CAPABILITY +
+                "@org.wso2.carbon.transport.http:0.0.0\";"));
+        Assert.assertTrue(dot.contains("\"" + TRANSPORT_CAPABILITY + "@org.wso2.carbon.transport.http:0.0.0\" -> \"" +
+                TRANSPORT_MGT_COMPONENT + "\";"));
+    }
+
+    @Test
+    public void testDependencyGraphAsJSON() {
+        String json = dependencyGraph.getDependencyGraphAsJSON();
+
+        Assert.assertTrue(json.contains("\"name\": \"" + TRANSPORT_MGT_COMPONENT + "\", " +
+                "\"bundle\": \"org.wso2.carbon.transport.mgt\", " +
+                "\"requiredCapabilities\": [\"" + TRANSPORT_CAPABILITY + "\"]"));
+        Assert.assertTrue(json.contains("\"expectedCount\": 1, \"availableCount\": 1"));
+        Assert.assertFalse(json.contains("\"notificationEndTime\": -1"));
+    }
+
+    private Capability getCapability(String capabilityName, Bundle bundle) {
+        return new OSGiServiceCapability(capabilityName, Capability.CapabilityType.OSGi_SERVICE, bundle);
+    }
+
+    private StartupComponent getStartupComponent(String componentName, Bundle bundle, String... requiredServices) {
+        StartupComponent startupComponent = new StartupComponent(componentName, bundle);
+        startupComponent.setRequiredServiceList(new ArrayList<>(Arrays.asList(requiredServices)));
+        return startupComponent;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.config.model.PendingComponentPolicyEnum;
+import org.wso2.carbon.kernel.internal.DataHolder;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+import org.wso2.carbon.kernel.startupresolver.RequiredCapabilityListener;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class tests the handling of the startup components which are not resolved within their deadlines by
+ * org.wso2.carbon.kernel.internal.startupresolver.StartupOrderResolver.
+ *
+ * @since 5.1.0
+ */
+public class StartupOrderResolverTest {
+    private static final String TRANSPORT_MGT_COMPONENT = "carbon-transport-mgt";
+    private static final String TRANSPORT_CAPABILITY = "org.wso2.carbon.kernel.transports.CarbonTransport";
+    private static final long TIMEOUT = 1000;
+
+    private Bundle transportMgtBundle = new DummyBundle(1, "org.wso2.carbon.transport.mgt");
+    private Bundle transportBundle = new DummyBundle(2, "org.wso2.carbon.transport.http");
+    private Timer capabilityListenerTimer;
+    private Timer pendingCapabilityTimer;
+    private ExecutorService capabilityListenerExecutor;
+    private StartupOrderResolver startupOrderResolver;
+    private StartupComponentManager startupComponentManager;
+    private StartupComponent startupComponent;
+    private BundleContext bundleContext;
+
+    @BeforeMethod
+    public void init() {
+        capabilityListenerTimer = new Timer(true);
+        pendingCapabilityTimer = new Timer(true);
+        capabilityListenerExecutor = Executors.newSingleThreadExecutor();
+        startupOrderResolver = new StartupOrderResolver(capabilityListenerTimer, pendingCapabilityTimer,
+                capabilityListenerExecutor);
+        startupComponentManager = startupOrderResolver.getStartupComponentManager();
+
+        startupComponent = new StartupComponent(TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        startupComponent.setRequiredServiceList(new ArrayList<>(Collections.singletonList(TRANSPORT_CAPABILITY)));
+        startupComponentManager.addComponents(Collections.singletonList(startupComponent));
+        startupComponentManager.addExpectedRequiredCapability(new OSGiServiceCapability(TRANSPORT_CAPABILITY,
+                Capability.CapabilityType.OSGi_SERVICE, transportBundle));
+        bundleContext = DataHolder.getInstance().getBundleContext();
+    }
+
+    @AfterMethod
+    public void destroy() {
+        capabilityListenerTimer.cancel();
+        pendingCapabilityTimer.cancel();
+        capabilityListenerExecutor.shutdownNow();
+        DataHolder.getInstance().setBundleContext(bundleContext);
+        System.clearProperty(Constants.STARTUP_ABORTED);
+    }
+
+    @Test
+    public void testAbortPolicy() throws InterruptedException {
+        CountDownLatch frameworkStopped = new CountDownLatch(1);
+        Bundle systemBundle = new DummyBundle(0, "org.eclipse.osgi") {
+            @Override
+            public void stop() {
+                frameworkStopped.countDown();
+            }
+        };
+        DataHolder.getInstance().setBundleContext((BundleContext) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{BundleContext.class}, (proxy, method, args) -> {
+                    if ("getBundle".equals(method.getName()) && args != null && Long.valueOf(0).equals(args[0])) {
+                        return systemBundle;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+
+        startupOrderResolver.handlePendingComponentDeadline(startupComponent, TIMEOUT,
+                PendingComponentPolicyEnum.abort);
+
+        Assert.assertEquals(System.getProperty(Constants.STARTUP_ABORTED), "true");
+        Assert.assertTrue(frameworkStopped.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(isCancelled(capabilityListenerTimer));
+        Assert.assertTrue(isCancelled(pendingCapabilityTimer));
+    }
+
+    @Test
+    public void testDegradedPolicyNotifiesListener() throws InterruptedException {
+        CountDownLatch listenerNotified = new CountDownLatch(1);
+        AtomicInteger availableNotificationCount = new AtomicInteger();
+        List<String> notifiedMissingCapabilities = new ArrayList<>();
+        startupComponentManager.addRequiredCapabilityListener(new RequiredCapabilityListener() {
+            @Override
+            public void onAllRequiredCapabilitiesAvailable() {
+                availableNotificationCount.incrementAndGet();
+            }
+
+            @Override
+            public void onDegradedStart(List<String> missingCapabilities) {
+                notifiedMissingCapabilities.addAll(missingCapabilities);
+                listenerNotified.countDown();
+            }
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+
+        startupOrderResolver.handlePendingComponentDeadline(startupComponent, TIMEOUT,
+                PendingComponentPolicyEnum.degraded);
+
+        Assert.assertTrue(listenerNotified.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(notifiedMissingCapabilities, Collections.singletonList(TRANSPORT_CAPABILITY));
+        Assert.assertEquals(availableNotificationCount.get(), 0);
+        Assert.assertTrue(startupComponentManager.getPendingComponents().isEmpty());
+        Assert.assertNull(System.getProperty(Constants.STARTUP_ABORTED));
+    }
+
+    @Test
+    public void testDegradedPolicyRemovesComponentWithoutListener() throws InterruptedException {
+        startupOrderResolver.handlePendingComponentDeadline(startupComponent, TIMEOUT,
+                PendingComponentPolicyEnum.degraded);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!startupComponentManager.getPendingComponents().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(startupComponentManager.getPendingComponents().isEmpty());
+        Assert.assertNull(System.getProperty(Constants.STARTUP_ABORTED));
+    }
+
+    @Test
+    public void testWaitPolicyKeepsComponentPending() {
+        startupOrderResolver.handlePendingComponentDeadline(startupComponent, TIMEOUT,
+                PendingComponentPolicyEnum.wait);
+
+        Assert.assertEquals(startupComponentManager.getPendingComponents().size(), 1);
+        Assert.assertFalse(isCancelled(capabilityListenerTimer));
+        Assert.assertFalse(isCancelled(pendingCapabilityTimer));
+    }
+
+    @Test
+    public void testComponentResolvedBeforeDeadline() throws InterruptedException {
+        // Another pending component keeps the startup from completing, which would cancel the timers as well.
+        StartupComponent pendingComponent = new StartupComponent("carbon-pending", transportMgtBundle);
+        pendingComponent.setRequiredServiceList(new ArrayList<>(Collections.singletonList("carbon-pending-service")));
+        startupComponentManager.addComponents(Collections.singletonList(pendingComponent));
+
+        AtomicInteger notificationCount = new AtomicInteger();
+        CountDownLatch listenerNotified = new CountDownLatch(1);
+        startupComponentManager.addRequiredCapabilityListener(() -> {
+            notificationCount.incrementAndGet();
+            listenerNotified.countDown();
+        }, TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        startupComponentManager.addAvailableRequiredCapability(new OSGiServiceCapability(TRANSPORT_CAPABILITY,
+                Capability.CapabilityType.OSGi_SERVICE, transportBundle));
+        Assert.assertTrue(listenerNotified.await(5, TimeUnit.SECONDS));
+
+        for (PendingComponentPolicyEnum policy : PendingComponentPolicyEnum.values()) {
+            startupOrderResolver.handlePendingComponentDeadline(startupComponent, TIMEOUT, policy);
+        }
+
+        Assert.assertNull(System.getProperty(Constants.STARTUP_ABORTED));
+        Assert.assertFalse(isCancelled(capabilityListenerTimer));
+        Assert.assertFalse(isCancelled(pendingCapabilityTimer));
+        Thread.sleep(200);
+        Assert.assertEquals(notificationCount.get(), 1);
+    }
+
+    private static boolean isCancelled(Timer timer) {
+        try {
+            timer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                }
+            }, 0);
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+*  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.carbon.kernel.internal.startupresolver;
+
+import org.osgi.framework.Bundle;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.Capability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.CapabilityProviderCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.OSGiServiceCapability;
+import org.wso2.carbon.kernel.internal.startupresolver.beans.StartupComponent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This class tests the functionality of org.wso2.carbon.kernel.internal.startupresolver.StartupResolutionCache.
+ *
+ * @since 5.1.0
+ */
+public class StartupResolutionCacheTest {
+    private static final String TRANSPORT_MGT_COMPONENT = "carbon-transport-mgt";
+    private static final String TRANSPORT_CAPABILITY = "org.wso2.carbon.kernel.transports.CarbonTransport";
+    private static final String CAPABILITY_PROVIDER = "org.wso2.carbon.kernel.startupresolver.CapabilityProvider";
+
+    private Bundle transportMgtBundle = new DummyBundle(1, "org.wso2.carbon.transport.mgt");
+    private Bundle transportBundle = new DummyBundle(2, "org.wso2.carbon.transport.http");
+    private List<Bundle> bundleList = Arrays.asList(transportMgtBundle, transportBundle);
+    private Map<Long, Bundle> bundleMap = new HashMap<>();
+    private Path cacheFile = Paths.get("target", "StartupResolutionCacheTest", "startup-resolution.cache");
+
+    @BeforeClass
+    public void init() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Files.deleteIfExists(cacheFile);
+        bundleList.forEach(bundle -> bundleMap.put(bundle.getBundleId(), bundle));
+    }
+
+    @Test
+    public void testLoadWithoutCacheFile() {
+        StartupResolutionCache resolutionCache = new StartupResolutionCache(cacheFile);
+        Assert.assertFalse(resolutionCache.load(StartupResolutionCache.getFingerprint(bundleList), bundleMap)
+                .isPresent());
+    }
+
+    @Test(dependsOnMethods = "testLoadWithoutCacheFile")
+    public void testStoreAndLoad() {
+        StartupComponent startupComponent = new StartupComponent(TRANSPORT_MGT_COMPONENT, transportMgtBundle);
+        startupComponent.setRequiredServiceList(Collections.singletonList(TRANSPORT_CAPABILITY));
+
+        OSGiServiceCapability osgiServiceCapability = new OSGiServiceCapability(TRANSPORT_CAPABILITY,
+                Capability.CapabilityType.OSGi_SERVICE, transportBundle);
+        osgiServiceCapability.setDependentComponentName(TRANSPORT_MGT_COMPONENT);
+
+        CapabilityProviderCapability capabilityProvider = new CapabilityProviderCapability(CAPABILITY_PROVIDER,
+                Capability.CapabilityType.OSGi_SERVICE, TRANSPORT_CAPABILITY, transportBundle);
+
+        String fingerprint = StartupResolutionCache.getFingerprint(bundleList);
+        new StartupResolutionCache(cacheFile).store(fingerprint, new StartupResolution(
+                Collections.singletonList(startupComponent), Collections.singletonList(capabilityProvider),
+                Collections.singletonList(osgiServiceCapability)));
+
+        Optional<StartupResolution> startupResolution = new StartupResolutionCache(cacheFile)
+                .load(fingerprint, bundleMap);
+        Assert.assertTrue(startupResolution.isPresent());
+
+        Assert.assertEquals(startupResolution.get().getStartupComponentList().size(), 1);
+        StartupComponent cachedComponent = startupResolution.get().getStartupComponentList().get(0);
+        Assert.assertEquals(cachedComponent.getName(), TRANSPORT_MGT_COMPONENT);
+        Assert.assertEquals(cachedComponent.getBundle(), transportMgtBundle);
+        Assert.assertEquals(cachedComponent.getRequiredServiceList(), Collections.singletonList(TRANSPORT_CAPABILITY));
+
+        Assert.assertEquals(startupResolution.get().getCapabilityProviderList().size(), 1);
+        CapabilityProviderCapability cachedProvider = startupResolution.get().getCapabilityProviderList().get(0);
+        Assert.assertEquals(cachedProvider.getName(), CAPABILITY_PROVIDER);
+        Assert.assertEquals(cachedProvider.getProvidedCapabilityName(), TRANSPORT_CAPABILITY);
+        Assert.assertEquals(cachedProvider.getBundle(), transportBundle);
+
+        Assert.assertEquals(startupResolution.get().getOSGiServiceCapabilityList().size(), 1);
+        OSGiServiceCapability cachedCapability = startupResolution.get().getOSGiServiceCapabilityList().get(0);
+        Assert.assertEquals(cachedCapability.getName(), TRANSPORT_CAPABILITY);
+        Assert.assertEquals(cachedCapability.getDependentComponentName(), TRANSPORT_MGT_COMPONENT);
+        Assert.assertEquals(cachedCapability.getBundle(), transportBundle);
+    }
+
+    @Test(dependsOnMethods = "testStoreAndLoad")
+    public void testLoadWithChangedBundles() {
+        List<Bundle> changedBundleList = Arrays.asList(transportMgtBundle, transportBundle,
+                new DummyBundle(3, "org.wso2.carbon.deployment.engine"));
+        String fingerprint = StartupResolutionCache.getFingerprint(changedBundleList);
+        Assert.assertNotEquals(fingerprint, StartupResolutionCache.getFingerprint(bundleList));
+        Assert.assertFalse(new StartupResolutionCache(cacheFile).load(fingerprint, bundleMap).isPresent());
+    }
+
+    @Test(dependsOnMethods = "testStoreAndLoad")
+    public void testLoadWithUninstalledBundle() {
+        Map<Long, Bundle> changedBundleMap = Collections.singletonMap(transportMgtBundle.getBundleId(),
+                transportMgtBundle);
+        Assert.assertFalse(new StartupResolutionCache(cacheFile)
+                .load(StartupResolutionCache.getFingerprint(bundleList), changedBundleMap).isPresent());
+    }
+
+    @Test
+    public void testFingerprintIgnoresBundleOrder() {
+        Assert.assertEquals(StartupResolutionCache.getFingerprint(Arrays.asList(transportBundle, transportMgtBundle)),
+                StartupResolutionCache.getFingerprint(bundleList));
+    }
+}
@@ -19,6 +19,10 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.wso2.carbon.kernel.Constants;
+import org.wso2.carbon.kernel.config.PlaceholderProvider;
+import org.wso2.carbon.kernel.internal.config.PlaceholderRegistry;
+
+import java.util.Collections;
 
 /**
  * This class tests the functionality of org.wso2.carbon.kernel.utils.Utils class.
@@ -77,4 +81,27 @@ public class UtilsTest {
         Assert.assertEquals(Utils.substituteVariables(config),
                 carbonHome + pathSeparator + "deployment" + pathSeparator);
     }
+
+    @Test
+    public void testPlaceholderConstantSubstitution() {
+        Assert.assertEquals(Utils.substituteVariables("${server.key}/${server.name}"),
+                Constants.PlaceHolders.SERVER_KEY + "/" + Constants.PlaceHolders.SERVER_NAME);
+        Assert.assertEquals(Utils.getSystemVariableValue("server.version", null, Constants.PlaceHolders.class),
+                Constants.PlaceHolders.SERVER_VERSION);
+        Assert.assertEquals(Utils.getSystemVariableValue("server.unknown", "default", Constants.PlaceHolders.class),
+                "default");
+    }
+
+    @Test
+    public void testProvidedPlaceholderSubstitution() {
+        PlaceholderProvider provider = () -> Collections.singletonMap("test.component.name", "sample");
+        PlaceholderRegistry.getInstance().addProvider(provider);
+        try {
+            Assert.assertEquals(Utils.substituteVariables("${test.component.name}"), "sample");
+            Assert.assertEquals(Utils.getSystemVariableValue("TEST_COMPONENT_NAME", null), "sample");
+        } finally {
+            PlaceholderRegistry.getInstance().removeProvider(provider);
+        }
+        Assert.assertNull(Utils.getSystemVariableValue("test.component.name", null));
+    }
 }
@@ -18,8 +18,14 @@ package org.wso2.carbon.kernel.utils.manifest;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Test class for ManifestElement class.
@@ -85,4 +91,102 @@ public class ManifestElementTest {
             Assert.assertTrue(false);
         }
     }
+
+    @Test
+    public void testParseHeaderInPlace() throws ManifestElementParserException {
+        String[] headers = {
+                "osgi.service;effective:=active;objectClass=\"org.wso2.carbon.kernel.startupresolver." +
+                        "RequiredCapabilityListener\";capability-name=\"org.wso2.carbon.sample.transport.mgt." +
+                        "Transport,org.wso2.carbon.sample.runtime.mgt.Runtime\";" +
+                        "component-key=carbon-sample-transport-mgt,abc=org.wso2.carbon",
+                "wireAdmin: cap=osgi.service;objectClass=org.osgi.service.wireadmin.WireAdmin;uses:=\"" +
+                        "org.osgi.service.wireadmin\";effective:=active",
+                "osgi.service; objectClass:List<String>=\"org.wso2.A\\,B,org.wso2.C\"; service.ranking:Long=10 ," +
+                        " osgi.service;objectClass=\"org.wso2.D\";objectClass=org.wso2.E",
+                "code1.jar;code2.jar;code3.jar;attr1=value1;attr2=\"va\\\"lue2\";attr3=value3",
+                "\"component ; 1\"; \"component , 2\"; attr1=value1",
+                "code1.jar ; code2.jar;attr1=value1"
+        };
+
+        for (String header : headers) {
+            List<ManifestElement> expectedElements = ManifestElement.parseHeader(PROVIDE_CAPABILITY, header, null);
+            List<ManifestElement> actualElements = ManifestElement.parseHeaderInPlace(PROVIDE_CAPABILITY, header,
+                    null);
+            Assert.assertEquals(actualElements.size(), expectedElements.size(), header);
+
+            for (int i = 0; i < expectedElements.size(); i++) {
+                ManifestElement expected = expectedElements.get(i);
+                ManifestElement actual = actualElements.get(i);
+                Assert.assertEquals(actual.getValue(), expected.getValue(), header);
+                Assert.assertEquals(actual.toString(), expected.toString(), header);
+                Assert.assertEquals(getKeys(actual.getKeys()), getKeys(expected.getKeys()), header);
+                Assert.assertEquals(getKeys(actual.getDirectiveKeys()), getKeys(expected.getDirectiveKeys()), header);
+                for (String key : getKeys(expected.getKeys())) {
+                    Assert.assertEquals(actual.getAttributes(key), expected.getAttributes(key), header);
+                    Assert.assertEquals(actual.getAttribute(key), expected.getAttribute(key), header);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParseHeaderInPlaceAttributes() throws ManifestElementParserException {
+        String header = "osgi.service;objectClass:List<String>=\"org.wso2.A\\,B,org.wso2.C\";" +
+                "service.ranking=10;service.ranking=20";
+        ManifestElement element = ManifestElement.parseHeaderInPlace(PROVIDE_CAPABILITY, header, null).get(0);
+
+        Assert.assertEquals(element.getValue(), "osgi.service");
+        Assert.assertEquals(element.getAttribute("objectClass:List<String>"), "org.wso2.A\\,B,org.wso2.C");
+        Assert.assertEquals(element.getAttribute("service.ranking"), "20");
+        Assert.assertEquals(element.getAttributes("service.ranking"), new String[]{"10", "20"});
+        Assert.assertEquals(element.getAttributes("service.pid"), new String[]{});
+        Assert.assertNull(element.getDirectiveKeys());
+    }
+
+    @Test(expectedExceptions = ManifestElementParserException.class)
+    public void testParseHeaderInPlaceFail() throws ManifestElementParserException {
+        String key = "abc=org.wso2.carbon;something:something,";
+        ManifestElement.parseHeaderInPlace(PROVIDE_CAPABILITY, key, null);
+    }
+
+    @Test
+    public void testParseHeaderInPlaceEmptyValue() throws ManifestElementParserException {
+        Assert.assertEquals(ManifestElement.parseHeaderInPlace(PROVIDE_CAPABILITY, null, null).size(), 0);
+    }
+
+    @Test
+    public void testParseHeaderInPlaceConcurrentAccess() throws Exception {
+        String header = "osgi.service;effective:=active;objectClass=\"org.wso2.A\";service.ranking=10;" +
+                "service.ranking=20";
+        int threadCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (int i = 0; i < 200; i++) {
+                ManifestElement element = ManifestElement.parseHeaderInPlace(PROVIDE_CAPABILITY, header, null)
+                        .get(0);
+                CountDownLatch startLatch = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int j = 0; j < threadCount; j++) {
+                    futures.add(executorService.submit(() -> {
+                        startLatch.await();
+                        Assert.assertEquals(element.getValue(), "osgi.service");
+                        Assert.assertEquals(element.getAttributes("service.ranking"), new String[]{"10", "20"});
+                        Assert.assertEquals(element.getAttribute("objectClass"), "org.wso2.A");
+                        Assert.assertEquals(element.getDirectives("effective"), new String[]{"active"});
+                        return null;
+                    }));
+                }
+                startLatch.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private List<String> getKeys(Enumeration<String> keys) {
+        return keys == null ? Collections.emptyList() : Collections.list(keys);
+    }
 }
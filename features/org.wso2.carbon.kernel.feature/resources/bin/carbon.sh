@@ -150,6 +150,8 @@ do
           CMD="restart"
     elif [ "$c" = "--test" ] || [ "$c" = "-test" ] || [ "$c" = "test" ]; then
           CMD="test"
+    elif [ "$c" = "--cds" ] || [ "$c" = "-cds" ]; then
+          CDS="true"
     else
         args="$args $c"
     fi
@@ -204,11 +206,8 @@ elif [ "$CMD" = "version" ]; then
 fi
 
 # ---------- Handle the SSL Issue with proper JDK version --------------------
-jdk_18=`$JAVA_HOME/bin/java -version 2>&1 | grep "1.[8]"`
-if [ "$jdk_18" = "" ]; then
-   echo " Starting WSO2 Carbon (in unsupported JDK)"
-   echo " [ERROR] CARBON is supported only on JDK 1.8"
-fi
+. "$PRGDIR/jdk-check.sh"
+check_jdk_version "Starting WSO2 Carbon"
 
 CARBON_XBOOTCLASSPATH=""
 for f in "$CARBON_HOME"/bin/bootstrap/xboot/*.jar
@@ -234,6 +233,37 @@ for t in "$CARBON_HOME"/bin/bootstrap/commons-lang*.jar
 do
     CARBON_CLASSPATH="$CARBON_CLASSPATH":$t
 done
+
+# ---------- Use the class data sharing archive generated by appcds.sh ----------
+CDS_OPTS=""
+CDS_DIR="$CARBON_HOME/bin/cds"
+if [ "$CDS" = "true" ]; then
+    if [ -f "$CDS_DIR/carbon.jsa" ] && [ -f "$CDS_DIR/carbon.classpath" ] && [ -f "$CDS_DIR/carbon.jvmoptions" ]; then
+        CDS_CLASSPATH=`cat "$CDS_DIR/carbon.classpath"`
+        # The archive is used only with the class path it was generated for. Fall back to the default class path if
+        # a JAR of it no longer exists or is modified after the archive is generated, e.g. after an update.
+        CDS_STALE="false"
+        OLD_IFS="$IFS"
+        IFS=":"
+        for f in $CDS_CLASSPATH
+        do
+            if [ ! -f "$f" ] || [ -n "`find "$f" -newer "$CDS_DIR/carbon.jsa"`" ]; then
+                CDS_STALE="true"
+            fi
+        done
+        IFS="$OLD_IFS"
+        if [ "$CDS_STALE" = "true" ]; then
+            echo "Warning !!!. The class data sharing archive is stale. Run appcds.sh to regenerate it."
+        else
+            # The archived class path has to be a prefix of the class path, hence the default class path is
+            # appended to it.
+            CARBON_CLASSPATH="$CDS_CLASSPATH":"${CARBON_CLASSPATH#:}"
+            CDS_OPTS="`cat "$CDS_DIR/carbon.jvmoptions"` -Dcarbon.cds=true"
+        fi
+    else
+        echo "Warning !!!. The class data sharing archive does not exist. Run appcds.sh to generate it."
+    fi
+fi
 # For Cygwin, switch paths to Windows format before running java
 if $cygwin; then
   JAVA_HOME=`cygpath --absolute --windows "$JAVA_HOME"`
@@ -265,6 +295,7 @@ do
     -XX:+HeapDumpOnOutOfMemoryError \
     -XX:HeapDumpPath="$CARBON_HOME/logs/heap-dump.hprof" \
     $JAVA_OPTS \
+    $CDS_OPTS \
     -classpath "$CARBON_CLASSPATH" \
     -Djava.endorsed.dirs="$JAVA_ENDORSED_DIRS" \
     -Djava.io.tmpdir="$CARBON_HOME/tmp" \
@@ -0,0 +1,31 @@
+#!/bin/sh
+# ---------------------------------------------------------------------------
+#  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+#
+#  Licensed under the Apache License, Version 2.0 (the "License");
+#  you may not use this file except in compliance with the License.
+#  You may obtain a copy of the License at
+#
+#  http://www.apache.org/licenses/LICENSE-2.0
+#
+#  Unless required by applicable law or agreed to in writing, software
+#  distributed under the License is distributed on an "AS IS" BASIS,
+#  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+#  See the License for the specific language governing permissions and
+#  limitations under the License.
+
+# ----------------------------------------------------------------------------
+# Sourced by carbon.sh and appcds.sh once JAVA_HOME is verified.
+#
+# check_jdk_version <action>
+#   Prints an error if the JDK in JAVA_HOME is not supported. <action> describes
+#   what the calling script is about to do, e.g. "Starting WSO2 Carbon".
+# ----------------------------------------------------------------------------
+
+check_jdk_version() {
+    jdk_18=`$JAVA_HOME/bin/java -version 2>&1 | grep "1.[8]"`
+    if [ "$jdk_18" = "" ]; then
+       echo " $1 (in unsupported JDK)"
+       echo " [ERROR] CARBON is supported only on JDK 1.8"
+    fi
+}
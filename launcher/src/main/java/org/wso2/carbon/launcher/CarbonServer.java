@@ -15,14 +15,16 @@
  */
 package org.wso2.carbon.launcher;
 
-import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleException;
 import org.osgi.framework.FrameworkEvent;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
 import org.osgi.framework.launch.Framework;
 import org.osgi.framework.launch.FrameworkFactory;
-import org.wso2.carbon.launcher.config.CarbonInitialBundle;
 import org.wso2.carbon.launcher.config.CarbonLaunchConfig;
+import org.wso2.carbon.launcher.utils.StartupTimeline;
 
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -67,20 +69,35 @@ public class CarbonServer {
         System.setProperty(CARBON_START_TIME, Long.toString(System.currentTimeMillis()));
 
         try {
+            setServerCurrentStatus(ServerStatus.STARTING);
+            // Notify Carbon server start. Listeners may update the bundle set, e.g. the dropins bundles, hence the
+            // start mode is resolved afterwards.
+            dispatchEvent(CarbonServerEvent.STARTING);
+
+            // Decides whether the persisted OSGi framework state can be reused.
+            long phaseStartTime = System.nanoTime();
+            WarmStartResolver warmStartResolver = new WarmStartResolver(config);
+            warmStartResolver.resolveStartMode();
+            StartupTimeline.recordPhase("launcher.framework.startmode", phaseStartTime);
+
             // Creates an OSGi framework instance.
+            phaseStartTime = System.nanoTime();
             ClassLoader fwkClassLoader = createOSGiFwkClassLoader();
             FrameworkFactory fwkFactory = loadOSGiFwkFactory(fwkClassLoader);
             framework = fwkFactory.newFramework(config.getProperties());
-
-            setServerCurrentStatus(ServerStatus.STARTING);
-            // Notify Carbon server start.
-            dispatchEvent(CarbonServerEvent.STARTING);
+            StartupTimeline.recordPhase("launcher.framework.create", phaseStartTime);
 
             // Initialize and start OSGi framework.
             initAndStartOSGiFramework(framework);
 
             // Loads initial bundles listed in the launch.properties file.
             loadInitialBundles(framework.getBundleContext());
+            warmStartResolver.storeFingerprint();
+
+            // A training run, e.g. to record the classes loaded at startup, stops once the server is started.
+            if (Boolean.getBoolean(Constants.CARBON_TRAINING_RUN)) {
+                stopAfterStartup(framework.getBundleContext());
+            }
 
             setServerCurrentStatus(ServerStatus.STARTED);
             // This thread waits until the OSGi framework comes to a complete shutdown.
@@ -147,14 +164,18 @@ public class CarbonServer {
             logger.log(Level.FINE, "Initializing the OSGi framework.");
         }
 
+        long phaseStartTime = System.nanoTime();
         framework.init();
+        StartupTimeline.recordPhase("launcher.framework.init", phaseStartTime);
 
         // Starts the framework.
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "Starting the OSGi framework.");
         }
 
+        phaseStartTime = System.nanoTime();
         framework.start();
+        StartupTimeline.recordPhase("launcher.framework.start", phaseStartTime);
 
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "Started the OSGi framework.");
@@ -221,7 +242,7 @@ public class CarbonServer {
     }
 
     /**
-     * Installs a bundle from the specified locations.
+     * Installs the initial bundles and starts them in the order of their start levels.
      *
      * @param bundleContext bundle's execution context within the Framework
      * @throws BundleException
@@ -231,16 +252,31 @@ public class CarbonServer {
         //which are loaded from initial bundle list.
         System.setProperty(Constants.EQUINOX_SIMPLE_CONFIGURATOR_EXCLUSIVE_INSTALLATION, "false");
 
-        for (CarbonInitialBundle initialBundleInfo : config.getInitialBundles()) {
-            if (logger.isLoggable(Level.FINE)) {
-                logger.log(Level.FINE, "Loading initial bundle: " + initialBundleInfo.getLocation().toExternalForm() +
-                        " with startlevel " + initialBundleInfo.getLevel());
-            }
+        long phaseStartTime = System.nanoTime();
+        new InitialBundleLoader(bundleContext).load(config.getInitialBundles());
+        StartupTimeline.recordPhase("launcher.bundles.load", phaseStartTime);
+    }
 
-            Bundle bundle = bundleContext.installBundle(initialBundleInfo.getLocation().toString());
-            if (initialBundleInfo.shouldStart()) {
-                bundle.start();
+    /**
+     * Stops this Carbon server instance once the kernel reports the server startup completion by registering the
+     * CarbonServerInfo service.
+     *
+     * @param bundleContext bundle's execution context within the Framework
+     * @throws InvalidSyntaxException if the service filter is invalid
+     */
+    private void stopAfterStartup(BundleContext bundleContext) throws InvalidSyntaxException {
+        String filter = "(" + org.osgi.framework.Constants.OBJECTCLASS + "=" +
+                Constants.CARBON_SERVER_INFO_SERVICE + ")";
+        ServiceListener serviceListener = event -> {
+            if (event.getType() == ServiceEvent.REGISTERED) {
+                logger.log(Level.INFO, "Stopping the Carbon server after the training run");
+                new Thread(this::stop).start();
             }
+        };
+        bundleContext.addServiceListener(serviceListener, filter);
+        if (bundleContext.getServiceReferences(Constants.CARBON_SERVER_INFO_SERVICE, null) != null) {
+            bundleContext.removeServiceListener(serviceListener);
+            new Thread(this::stop).start();
         }
     }
 
@@ -282,7 +318,12 @@ public class CarbonServer {
                 String eventName = (event == CarbonServerEvent.STARTING) ? "STARTING" : "STOPPING";
                 logger.log(Level.FINE, "Dispatching " + eventName + " event to " + listener.getClass().getName());
             }
+            long phaseStartTime = System.nanoTime();
             listener.notify(carbonServerEvent);
+            if (event == CarbonServerEvent.STARTING) {
+                StartupTimeline.recordPhase("launcher.listener." + listener.getClass().getSimpleName(),
+                        phaseStartTime);
+            }
         });
     }
 }
@@ -31,17 +31,28 @@ public class Constants {
     public static final String PROFILE_PATH = "profiles";
     public static final String DEFAULT_PROFILE = "default";
     public static final String DROPINS = "dropins";
+    public static final String DROPINS_INDEX = "dropins.index";
+    public static final String PLUGINS = "plugins";
     public static final String BUNDLES_INFO = "bundles.info";
 
     public static final String CARBON_OSGI_REPOSITORY = "carbon.osgi.repository";
     public static final String CARBON_OSGI_FRAMEWORK = "carbon.osgi.framework";
     public static final String CARBON_INITIAL_OSGI_BUNDLES = "carbon.initial.osgi.bundles";
     public static final String CARBON_SERVER_LISTENERS = "carbon.server.listeners";
+    public static final String CARBON_INITIAL_BUNDLES_PARALLELISM = "carbon.initial.bundles.parallelism";
+    public static final String CARBON_DROPINS_PARALLELISM = "carbon.dropins.parallelism";
+    public static final String CARBON_OSGI_WARM_START = "carbon.osgi.warm.start";
+    public static final String CARBON_START_MODE = "carbon.start.mode";
+    public static final String FRAMEWORK_FINGERPRINT_FILE = "carbon-framework.fingerprint";
+    public static final String CARBON_TRAINING_RUN = "carbon.training.run";
+    static final String CARBON_CDS = "carbon.cds";
+    static final String CARBON_SERVER_INFO_SERVICE = "org.wso2.carbon.kernel.utils.CarbonServerInfo";
 
     public static final String OSGI_INSTALL_AREA = "osgi.install.area";
     public static final String OSGI_CONFIG_AREA = "osgi.configuration.area";
     public static final String OSGI_INSTANCE_AREA = "osgi.instance.area";
     public static final String ECLIPSE_P2_DATA_AREA = "eclipse.p2.data.area";
+    public static final String OSGI_CLEAN = "osgi.clean";
 
     public static final String PAX_DEFAULT_SERVICE_LOG_LEVEL = "org.ops4j.pax.logging.DefaultServiceLog.level";
     static final String PAX_LOG_SERVICE_RANKING_LEVEL = "org.ops4j.pax.logging.ranking";
@@ -50,6 +61,9 @@ public class Constants {
             "org.eclipse.equinox.simpleconfigurator.exclusiveInstallation";
 
     static final String START_TIME = "carbon.start.time";
+    public static final String START_NANO_TIME = "carbon.start.nanotime";
+    public static final String STARTUP_TIMELINE = "carbon.startup.timeline";
+    static final String STARTUP_ABORTED = "carbon.startup.aborted";
 
     //  Constants relevant to log level.
     public static final String LOG_LEVEL_WARN = "WARN";
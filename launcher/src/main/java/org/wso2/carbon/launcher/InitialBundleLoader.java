@@ -0,0 +1,175 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.wso2.carbon.launcher.config.CarbonInitialBundle;
+import org.wso2.carbon.launcher.utils.StartupTimeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Installs and starts the initial bundles listed in the launch.properties file.
+ * <p>
+ * All initial bundles are installed concurrently, since reading and verifying the bundle JARs dominates the
+ * installation. Bundles are then started level by level, in the ascending order of their start levels, and the bundles
+ * of the same level are started concurrently. A level is started only after all the bundles of the previous levels are
+ * started. The number of threads is set with the carbon.initial.bundles.parallelism system property, where 1 installs
+ * and starts the bundles sequentially in the listed order.
+ *
+ * @since 5.1.0
+ */
+public class InitialBundleLoader {
+    private static final Logger logger = Logger.getLogger(InitialBundleLoader.class.getName());
+
+    private final BundleContext bundleContext;
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param bundleContext bundle context of the OSGi framework
+     */
+    public InitialBundleLoader(BundleContext bundleContext) {
+        this(bundleContext, Integer.getInteger(Constants.CARBON_INITIAL_BUNDLES_PARALLELISM,
+                Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param bundleContext bundle context of the OSGi framework
+     * @param parallelism   maximum number of bundles installed or started concurrently
+     */
+    public InitialBundleLoader(BundleContext bundleContext, int parallelism) {
+        this.bundleContext = bundleContext;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Installs the given initial bundles and starts the bundles which should be started.
+     *
+     * @param initialBundles initial bundles in the order listed in the launch.properties file
+     * @throws BundleException if a bundle could not be installed or started
+     */
+    public void load(List<CarbonInitialBundle> initialBundles) throws BundleException {
+        if (initialBundles.isEmpty()) {
+            return;
+        }
+
+        int threadCount = Math.min(parallelism, initialBundles.size());
+        if (threadCount == 1) {
+            for (CarbonInitialBundle initialBundle : initialBundles) {
+                Bundle bundle = installBundle(initialBundle);
+                if (initialBundle.shouldStart()) {
+                    startBundle(bundle);
+                }
+            }
+            return;
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "CarbonInitialBundleLoader-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // 1) Install all initial bundles concurrently.
+            List<Callable<Bundle>> installTasks = new ArrayList<>(initialBundles.size());
+            initialBundles.forEach(initialBundle -> installTasks.add(() -> installBundle(initialBundle)));
+            List<Bundle> bundles = invokeAll(executorService, installTasks);
+
+            // 2) Start the bundles level by level.
+            Map<Integer, List<Callable<Bundle>>> startTasksByLevel = new TreeMap<>();
+            for (int i = 0; i < initialBundles.size(); i++) {
+                CarbonInitialBundle initialBundle = initialBundles.get(i);
+                if (initialBundle.shouldStart()) {
+                    Bundle bundle = bundles.get(i);
+                    startTasksByLevel.computeIfAbsent(initialBundle.getLevel(), level -> new ArrayList<>())
+                            .add(() -> startBundle(bundle));
+                }
+            }
+            for (List<Callable<Bundle>> startTasks : startTasksByLevel.values()) {
+                invokeAll(executorService, startTasks);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Bundle installBundle(CarbonInitialBundle initialBundle) throws BundleException {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Loading initial bundle: " + initialBundle.getLocation().toExternalForm() +
+                    " with startlevel " + initialBundle.getLevel());
+        }
+
+        long phaseStartTime = System.nanoTime();
+        Bundle bundle = bundleContext.installBundle(initialBundle.getLocation().toString());
+        StartupTimeline.recordPhase("launcher.bundle.install." + bundle.getSymbolicName(), phaseStartTime);
+        return bundle;
+    }
+
+    private Bundle startBundle(Bundle bundle) throws BundleException {
+        long phaseStartTime = System.nanoTime();
+        bundle.start();
+        StartupTimeline.recordPhase("launcher.bundle.start." + bundle.getSymbolicName(), phaseStartTime);
+        return bundle;
+    }
+
+    /**
+     * Runs the given tasks concurrently and waits for all of them to complete.
+     *
+     * @return the results of the tasks, in the order of the given tasks
+     * @throws BundleException the first failure of the tasks, in the order of the given tasks
+     */
+    private static List<Bundle> invokeAll(ExecutorService executorService, List<Callable<Bundle>> tasks)
+            throws BundleException {
+        try {
+            List<Bundle> bundles = new ArrayList<>(tasks.size());
+            for (Future<Bundle> future : executorService.invokeAll(tasks)) {
+                bundles.add(future.get());
+            }
+            return bundles;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BundleException("Interrupted while loading the initial bundles", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BundleException) {
+                throw (BundleException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new BundleException("Failed to load the initial bundles", cause);
+        }
+    }
+}
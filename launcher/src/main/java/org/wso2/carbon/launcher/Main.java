@@ -16,6 +16,7 @@
 package org.wso2.carbon.launcher;
 
 import org.wso2.carbon.launcher.config.CarbonLaunchConfig;
+import org.wso2.carbon.launcher.utils.StartupTimeline;
 import org.wso2.carbon.launcher.utils.Utils;
 
 import java.io.BufferedReader;
@@ -25,11 +26,16 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 
 import static org.wso2.carbon.launcher.Constants.CARBON_HOME;
 import static org.wso2.carbon.launcher.Constants.DEFAULT_PROFILE;
@@ -48,6 +54,7 @@ import static org.wso2.carbon.launcher.Constants.PROFILE;
 public class Main {
 
     private static final Logger logger = Logger.getLogger(Main.class.getName());
+    private static final String SHARED_ARCHIVE_FILE_OPTION = "-XX:SharedArchiveFile=";
 
     /**
      * @param args arguments
@@ -58,15 +65,27 @@ public class Main {
         if (System.getProperty(Constants.START_TIME) == null) {
             System.setProperty(Constants.START_TIME, System.currentTimeMillis() + "");
         }
+        StartupTimeline.markServerStart();
 
         // 1) Process command line arguments.
+        long phaseStartTime = System.nanoTime();
         processCmdLineArgs(args);
+        StartupTimeline.recordPhase("launcher.args", phaseStartTime);
 
         // 2) Initialize and/or verify System properties
+        phaseStartTime = System.nanoTime();
         initAndVerifySysProps();
+        // Checking the archive needs the management beans, hence it is done only if the archive is requested with
+        // carbon.sh --cds or when debugging.
+        if (Boolean.getBoolean(Constants.CARBON_CDS) || logger.isLoggable(Level.FINE)) {
+            logClassDataSharingStatus();
+        }
+        StartupTimeline.recordPhase("launcher.sysprops", phaseStartTime);
 
         // 3) Load the Carbon start configuration
+        phaseStartTime = System.nanoTime();
         CarbonLaunchConfig config = loadCarbonLaunchConfig();
+        StartupTimeline.recordPhase("launcher.config", phaseStartTime);
 
         CarbonServer carbonServer = new CarbonServer(config);
 
@@ -88,6 +107,9 @@ public class Main {
                 //  memory leaks. Hence we do a complete JVM level restart. Exit state 121 is a special value.
                 //  Once the startup script receives this value, it restarts the JVM with the same arguments.
                 System.exit(ExitCodes.RESTART_ACTION);
+            } else if (Boolean.parseBoolean(System.getProperty(Constants.STARTUP_ABORTED))) {
+                // The kernel stops the OSGi framework if a startup component is not resolved within its deadline.
+                System.exit(ExitCodes.UNSUCCESSFUL_TERMINATION);
             } else {
                 System.exit(ExitCodes.SUCCESSFUL_TERMINATION);
             }
@@ -158,6 +180,37 @@ public class Main {
         System.setProperty(PAX_LOG_SERVICE_RANKING_LEVEL, String.valueOf(Integer.MAX_VALUE));
     }
 
+    /**
+     * Logs whether the class data sharing archive given with -XX:SharedArchiveFile is used. The JVM falls back to
+     * loading classes without the archive if it is stale, e.g. if the JDK or a JAR in the class path is changed.
+     */
+    private static void logClassDataSharingStatus() {
+        Optional<String> sharedArchiveFile = ManagementFactory.getRuntimeMXBean().getInputArguments()
+                .stream()
+                .filter(argument -> argument.startsWith(SHARED_ARCHIVE_FILE_OPTION))
+                .map(argument -> argument.substring(SHARED_ARCHIVE_FILE_OPTION.length()))
+                .findFirst();
+        if (!sharedArchiveFile.isPresent()) {
+            return;
+        }
+
+        boolean used = false;
+        try {
+            CompositeData vmOption = (CompositeData) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=HotSpotDiagnostic"), "getVMOption",
+                    new Object[]{"UseSharedSpaces"}, new String[]{String.class.getName()});
+            used = Boolean.parseBoolean((String) vmOption.get("value"));
+        } catch (JMException | RuntimeException e) {
+            logger.log(Level.FINE, "Unable to check whether the class data sharing archive is used", e);
+        }
+        if (used) {
+            logger.log(Level.INFO, "Using the class data sharing archive " + sharedArchiveFile.get());
+        } else {
+            logger.log(Level.WARNING, "The class data sharing archive " + sharedArchiveFile.get() + " is stale or " +
+                    "invalid and is not used. Regenerate it with the appcds tool.");
+        }
+    }
+
     /**
      * Process command line arguments and set corresponding system properties.
      *
@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher;
+
+import org.wso2.carbon.launcher.config.CarbonInitialBundle;
+import org.wso2.carbon.launcher.config.CarbonLaunchConfig;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decides whether the OSGi framework can be warm started, i.e. started with the bundle cache and the resolver state
+ * persisted by its previous run.
+ * <p>
+ * A fingerprint of the bundle set is computed from the launch properties, the OSGi framework, the initial bundles, the
+ * bundles.info file of the profile and the contents of the plugins and dropins directories. The fingerprint is kept in
+ * the OSGi configuration area after the server starts, and the persisted framework state is discarded only if the
+ * fingerprint of the next start is different.
+ *
+ * @since 5.1.0
+ */
+public class WarmStartResolver {
+    private static final Logger logger = Logger.getLogger(WarmStartResolver.class.getName());
+
+    public static final String WARM_START = "warm";
+    public static final String CLEAN_START = "clean";
+
+    private final CarbonLaunchConfig config;
+    private final Path fingerprintFile;
+    private String fingerprint;
+
+    /**
+     * Constructor.
+     *
+     * @param config Carbon launcher configuration
+     */
+    public WarmStartResolver(CarbonLaunchConfig config) {
+        this.config = config;
+        this.fingerprintFile = toPath(config.getOSGiConfigurationArea()).resolve(Constants.FRAMEWORK_FINGERPRINT_FILE);
+    }
+
+    /**
+     * Configures the OSGi framework to reuse its persisted state if warm start is enabled and the bundle set is not
+     * changed since the previous start, or to discard it otherwise. If warm start is not enabled, the persisted state
+     * is handled as configured with osgi.clean. The start mode is set as the carbon.start.mode system property.
+     *
+     * @return the start mode, which is either warm or clean
+     */
+    public String resolveStartMode() {
+        String startMode;
+        if (!config.isWarmStartEnabled()) {
+            // The persisted state is kept or discarded only as configured with osgi.clean.
+            startMode = config.isOSGiClean() ? CLEAN_START : WARM_START;
+        } else if (config.isOSGiClean()) {
+            startMode = CLEAN_START;
+            logger.log(Level.INFO, "Clean starting the OSGi framework since " + Constants.OSGI_CLEAN +
+                    " is set to true");
+        } else {
+            fingerprint = computeFingerprint();
+            if (fingerprint.equals(readStoredFingerprint())) {
+                startMode = WARM_START;
+                logger.log(Level.INFO, "Warm starting the OSGi framework with its persisted state");
+            } else {
+                startMode = CLEAN_START;
+                config.setOSGiClean(true);
+                logger.log(Level.INFO, "Clean starting the OSGi framework since the OSGi bundle set has changed");
+            }
+        }
+        System.setProperty(Constants.CARBON_START_MODE, startMode);
+        return startMode;
+    }
+
+    /**
+     * Stores the fingerprint of the bundle set the OSGi framework is started with, which is compared on the next start.
+     */
+    public void storeFingerprint() {
+        if (!config.isWarmStartEnabled()) {
+            return;
+        }
+        if (fingerprint == null) {
+            fingerprint = computeFingerprint();
+        }
+        try {
+            Files.createDirectories(fingerprintFile.getParent());
+            Files.write(fingerprintFile, fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to store the OSGi bundle set fingerprint in " + fingerprintFile, e);
+        }
+    }
+
+    private String readStoredFingerprint() {
+        try {
+            return Files.exists(fingerprintFile) ?
+                    new String(Files.readAllBytes(fingerprintFile), StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to read the OSGi bundle set fingerprint from " + fingerprintFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the bundle set. Files are identified by their size and last modified time, hence
+     * the bundle JARs are not read.
+     *
+     * @return the fingerprint as a hex string
+     */
+    public String computeFingerprint() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+
+        Map<String, String> properties = new TreeMap<>(config.getProperties());
+        properties.remove(Constants.OSGI_CLEAN);
+        properties.forEach((key, value) -> update(digest, key + "=" + value));
+
+        updateWithFile(digest, toPath(config.getCarbonOSGiFramework()));
+        for (CarbonInitialBundle initialBundle : config.getInitialBundles()) {
+            update(digest, initialBundle.getLevel() + ":" + initialBundle.shouldStart());
+            updateWithFile(digest, toPath(initialBundle.getLocation()));
+        }
+
+        Path bundlesInfoFile = toPath(config.getOSGiConfigurationArea())
+                .resolve("org.eclipse.equinox.simpleconfigurator").resolve(Constants.BUNDLES_INFO);
+        try {
+            if (Files.exists(bundlesInfoFile)) {
+                digest.update(Files.readAllBytes(bundlesInfoFile));
+            }
+        } catch (IOException e) {
+            update(digest, "unreadable:" + bundlesInfoFile);
+        }
+
+        Path repository = toPath(config.getCarbonOSGiRepository());
+        updateWithDirectory(digest, repository.resolve(Constants.PLUGINS));
+        updateWithDirectory(digest, repository.resolve(Constants.DROPINS));
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void updateWithDirectory(MessageDigest digest, Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            update(digest, "unreadable:" + directory);
+            return;
+        }
+        Collections.sort(files);
+        files.forEach(file -> updateWithFile(digest, file));
+    }
+
+    private static void updateWithFile(MessageDigest digest, Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            update(digest, file + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            update(digest, file + ":missing");
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static Path toPath(URL url) {
+        return Paths.get(url.getPath());
+    }
+}
@@ -40,8 +40,10 @@ import static org.wso2.carbon.launcher.Constants.CARBON_HOME;
 import static org.wso2.carbon.launcher.Constants.CARBON_INITIAL_OSGI_BUNDLES;
 import static org.wso2.carbon.launcher.Constants.CARBON_OSGI_FRAMEWORK;
 import static org.wso2.carbon.launcher.Constants.CARBON_OSGI_REPOSITORY;
+import static org.wso2.carbon.launcher.Constants.CARBON_OSGI_WARM_START;
 import static org.wso2.carbon.launcher.Constants.CARBON_SERVER_LISTENERS;
 import static org.wso2.carbon.launcher.Constants.ECLIPSE_P2_DATA_AREA;
+import static org.wso2.carbon.launcher.Constants.OSGI_CLEAN;
 import static org.wso2.carbon.launcher.Constants.OSGI_CONFIG_AREA;
 import static org.wso2.carbon.launcher.Constants.OSGI_INSTALL_AREA;
 import static org.wso2.carbon.launcher.Constants.OSGI_INSTANCE_AREA;
@@ -393,4 +395,32 @@ public class CarbonLaunchConfig {
     public Map<String, String> getProperties() {
         return Collections.unmodifiableMap(properties);
     }
+
+    /**
+     * Returns whether the persisted state of the OSGi framework is reused between server starts, as long as the set
+     * of bundles does not change.
+     *
+     * @return true if warm start is enabled, false otherwise
+     */
+    public boolean isWarmStartEnabled() {
+        return Boolean.parseBoolean(properties.get(CARBON_OSGI_WARM_START));
+    }
+
+    /**
+     * Returns whether the OSGi framework is configured to discard its persisted state when it is started.
+     *
+     * @return true if osgi.clean is set to true, false otherwise
+     */
+    public boolean isOSGiClean() {
+        return Boolean.parseBoolean(properties.get(OSGI_CLEAN));
+    }
+
+    /**
+     * Sets whether the OSGi framework discards its persisted state when it is started.
+     *
+     * @param clean true to discard the persisted state of the OSGi framework
+     */
+    public void setOSGiClean(boolean clean) {
+        properties.put(OSGI_CLEAN, Boolean.toString(clean));
+    }
 }
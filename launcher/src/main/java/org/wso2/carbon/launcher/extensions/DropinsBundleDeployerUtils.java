@@ -22,9 +22,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.logging.Level;
@@ -50,11 +58,12 @@ public class DropinsBundleDeployerUtils {
      * The mechanism used in updating the bundles.info file is as follows:
      * 1. The new OSGi bundle information from the bundles currently existing within the dropins folder are obtained.
      * The new OSGi bundle information are read only once for updating one or more Carbon profiles.
+     * The manifest of a bundle is only read if the bundle is not found, unchanged, in the persisted dropins index.
      * 2. The existing OSGi dropins bundle information are compared with the newly retrieved bundle information and
      * the bundles.info file is updated only if the new bundle information are different from the existing.
      * 3. The new OSGi bundle information replace the existing dropins bundle information from the bundles.info file.
      * The OSGi bundle information of the non-dropins bundles, retrieved from the bundles.info file and the new dropins
-     * OSGi bundle information are merged together.
+     * OSGi bundle information are merged together. The bundles.info file is read only once for steps 2 and 3.
      * 4. Updates the bundles.info file with the OSGi bundle information retrieved in step 3.
      *
      * @param carbonHome    the {@link String} representation of carbon.home
@@ -64,13 +73,16 @@ public class DropinsBundleDeployerUtils {
     public static synchronized void executeDropinsCapability(String carbonHome, String carbonProfile)
             throws IOException {
         Path dropinsDirectoryPath = Paths.get(carbonHome, Constants.OSGI_REPOSITORY, Constants.DROPINS);
+        Path dropinsIndexFile = Paths.get(carbonHome, Constants.OSGI_REPOSITORY, Constants.DROPINS_INDEX);
         Path bundlesInfoFile = Paths.
                 get(carbonHome, Constants.OSGI_REPOSITORY, Constants.PROFILE_PATH, carbonProfile, "configuration",
                         "org.eclipse.equinox.simpleconfigurator", Constants.BUNDLES_INFO);
 
         if (newBundlesInfo == null) {
             logger.log(Level.FINE, "Loading the new OSGi bundle information from " + Constants.DROPINS + " folder...");
-            newBundlesInfo = getNewBundlesInfo(dropinsDirectoryPath);
+            newBundlesInfo = getNewBundlesInfo(dropinsDirectoryPath, dropinsIndexFile,
+                    Integer.getInteger(Constants.CARBON_DROPINS_PARALLELISM,
+                            Runtime.getRuntime().availableProcessors()));
             logger.log(Level.FINE, "Successfully loaded the new OSGi bundle information from " + Constants.DROPINS +
                     " folder");
         } else {
@@ -78,10 +90,11 @@ public class DropinsBundleDeployerUtils {
                     "already loaded");
         }
 
-        if (hasToUpdateBundlesInfoFile(newBundlesInfo, bundlesInfoFile)) {
+        List<BundleInfo> existingBundlesInfo = getExistingBundlesInfo(bundlesInfoFile);
+        if (hasToUpdateBundlesInfo(newBundlesInfo, existingBundlesInfo)) {
             logger.log(Level.INFO, "New file changes detected in " + Constants.DROPINS + " folder");
 
-            List<BundleInfo> effectiveNewBundleInfo = mergeDropinsBundleInfo(newBundlesInfo, bundlesInfoFile);
+            List<BundleInfo> effectiveNewBundleInfo = mergeDropinsBundleInfo(newBundlesInfo, existingBundlesInfo);
 
             logger.log(Level.INFO, "Updating the OSGi bundle information of Carbon Profile: " + carbonProfile + "...");
             updateBundlesInfo(effectiveNewBundleInfo, bundlesInfoFile);
@@ -95,26 +108,123 @@ public class DropinsBundleDeployerUtils {
 
     /**
      * Scans through the specified directory and constructs corresponding {@code BundleInfo} instances.
+     * <p>
+     * The bundles are read concurrently by the number of threads set with the carbon.dropins.parallelism system
+     * property, which defaults to the number of available processors.
      *
      * @param sourceDirectory the source folder in which the OSGi bundles reside
      * @return the constructed {@link BundleInfo} instances list
      * @throws IOException if an I/O error occurs or if the {@code sourceDirectory} is invalid
      */
     public static List<BundleInfo> getNewBundlesInfo(Path sourceDirectory) throws IOException {
-        List<BundleInfo> newBundleInfoLines = new ArrayList<>();
-        if ((sourceDirectory != null) && (Files.exists(sourceDirectory))) {
-            Stream<Path> children = Files.list(sourceDirectory);
-            children.parallel().forEach(child -> {
+        return getNewBundlesInfo(sourceDirectory,
+                Integer.getInteger(Constants.CARBON_DROPINS_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Scans through the specified directory and constructs corresponding {@code BundleInfo} instances, reading at
+     * most the specified number of bundles concurrently.
+     * <p>
+     * The {@code BundleInfo} instances are returned in the order of the bundle file names, regardless of the order
+     * in which the bundles are read. All the bundles are read even if some of them fail, and the failures are reported
+     * together in a single {@link IOException}, with the failure of each bundle added as a suppressed exception.
+     *
+     * @param sourceDirectory the source folder in which the OSGi bundles reside
+     * @param parallelism     maximum number of bundles read concurrently, where 1 reads the bundles sequentially
+     * @return the constructed {@link BundleInfo} instances list
+     * @throws IOException if an I/O error occurs, if the {@code sourceDirectory} is invalid or if any bundle could
+     *                     not be read
+     */
+    public static List<BundleInfo> getNewBundlesInfo(Path sourceDirectory, int parallelism) throws IOException {
+        return getNewBundlesInfo(sourceDirectory, null, parallelism);
+    }
+
+    /**
+     * Scans through the specified directory and constructs corresponding {@code BundleInfo} instances, reading at
+     * most the specified number of bundles concurrently.
+     * <p>
+     * The OSGi bundle information of the bundles are cached in the specified index file, and a bundle is only read
+     * again if its size or last modified time has changed. The index file is updated if a bundle was added or
+     * removed.
+     *
+     * @param sourceDirectory the source folder in which the OSGi bundles reside
+     * @param indexFile       the index file of the source folder, or null to read every bundle without an index
+     * @param parallelism     maximum number of bundles read concurrently, where 1 reads the bundles sequentially
+     * @return the constructed {@link BundleInfo} instances list
+     * @throws IOException if an I/O error occurs, if the {@code sourceDirectory} is invalid or if any bundle could
+     *                     not be read
+     */
+    public static List<BundleInfo> getNewBundlesInfo(Path sourceDirectory, Path indexFile, int parallelism)
+            throws IOException {
+        if ((sourceDirectory == null) || (!Files.exists(sourceDirectory))) {
+            throw new IOException("Invalid or non-existent OSGi bundle source directory: " + sourceDirectory);
+        }
+
+        List<Path> children;
+        try (Stream<Path> stream = Files.list(sourceDirectory)) {
+            children = stream.sorted(Comparator.comparing(Path::toString)).collect(Collectors.toList());
+        }
+
+        DropinsBundleIndex index = (indexFile != null) ? DropinsBundleIndex.load(indexFile) : null;
+        List<Callable<Optional<BundleInfo>>> tasks = new ArrayList<>(children.size());
+        children.forEach(child -> tasks.add(() -> {
+            logger.log(Level.FINE, "Loading OSGi bundle information from " + child + "...");
+            Optional<BundleInfo> bundleInfo = getNewBundleInfo(child, index);
+            logger.log(Level.FINE, "Successfully loaded OSGi bundle information from " + child);
+            return bundleInfo;
+        }));
+
+        List<BundleInfo> newBundleInfoLines = new ArrayList<>(children.size());
+        List<Exception> failures = new ArrayList<>();
+        int threadCount = Math.min(Math.max(1, parallelism), tasks.size());
+        if (threadCount <= 1) {
+            for (int i = 0; i < tasks.size(); i++) {
                 try {
-                    logger.log(Level.FINE, "Loading OSGi bundle information from " + child + "...");
-                    getNewBundleInfo(child).ifPresent(newBundleInfoLines::add);
-                    logger.log(Level.FINE, "Successfully loaded OSGi bundle information from " + child);
-                } catch (IOException e) {
-                    throw new RuntimeException("Error when loading the OSGi bundle information from " + child, e);
+                    tasks.get(i).call().ifPresent(newBundleInfoLines::add);
+                } catch (Exception e) {
+                    failures.add(new IOException("Error when loading the OSGi bundle information from " +
+                            children.get(i) + ": " + e.getMessage(), e));
                 }
-            });
+            }
         } else {
-            throw new IOException("Invalid or non-existent OSGi bundle source directory: " + sourceDirectory);
+            AtomicInteger threadIndex = new AtomicInteger();
+            ExecutorService executorService = Executors.newFixedThreadPool(threadCount, runnable -> {
+                Thread thread = new Thread(runnable, "CarbonDropinsBundleReader-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Optional<BundleInfo>>> futures = executorService.invokeAll(tasks);
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        futures.get(i).get().ifPresent(newBundleInfoLines::add);
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        failures.add(new IOException("Error when loading the OSGi bundle information from " +
+                                children.get(i) + ": " + cause.getMessage(), cause));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading the OSGi bundle information from " +
+                        sourceDirectory, e);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            IOException exception = new IOException("Failed to load the OSGi bundle information of " +
+                    failures.size() + " file(s) in " + sourceDirectory + ": " + failures.stream().
+                    map(Exception::getMessage).collect(Collectors.joining("; ")));
+            failures.forEach(exception::addSuppressed);
+            throw exception;
+        }
+        if (index != null) {
+            index.store();
         }
 
         return newBundleInfoLines;
@@ -124,13 +234,15 @@ public class DropinsBundleDeployerUtils {
      * Constructs a {@code BundleInfo} instance out of the OSGi bundle file path specified.
      * <p>
      * If the specified file path refers to a non-Java Archive (JAR) file, no {@code BundleInfo} instance will be
-     * created.
+     * created. The {@code BundleInfo} of an unchanged bundle is taken from the specified index, if any.
      *
      * @param bundlePath path to the OSGi bundle from which the {@link BundleInfo} is to be generated
+     * @param index      the index of the OSGi bundle information already read from the dropins directory, or null
      * @return a {@link BundleInfo} instance
      * @throws IOException if an I/O error occurs or if an invalid {@code bundlePath} is found
      */
-    private static Optional<BundleInfo> getNewBundleInfo(Path bundlePath) throws IOException {
+    private static Optional<BundleInfo> getNewBundleInfo(Path bundlePath, DropinsBundleIndex index)
+            throws IOException {
         if ((bundlePath != null) && (Files.exists(bundlePath))) {
             Path bundleFileName = bundlePath.getFileName();
             if (bundleFileName == null) {
@@ -138,6 +250,15 @@ public class DropinsBundleDeployerUtils {
             } else {
                 String fileName = bundleFileName.toString();
                 if (fileName.endsWith(".jar")) {
+                    BasicFileAttributes attributes = Files.readAttributes(bundlePath, BasicFileAttributes.class);
+                    long lastModified = attributes.lastModifiedTime().toMillis();
+                    if (index != null) {
+                        Optional<BundleInfo> indexed = index.get(fileName, attributes.size(), lastModified);
+                        if (indexed.isPresent()) {
+                            return indexed;
+                        }
+                    }
+
                     try (JarFile jarFile = new JarFile(bundlePath.toString())) {
                         Manifest manifest = jarFile.getManifest();
                         if ((manifest == null) || (manifest.getMainAttributes() == null)) {
@@ -161,6 +282,9 @@ public class DropinsBundleDeployerUtils {
                             int defaultBundleStartLevel = 4;
                             BundleInfo generated = new BundleInfo(bundleSymbolicName, bundleVersion,
                                     "../../" + Constants.DROPINS + "/" + fileName, defaultBundleStartLevel, isFragment);
+                            if (index != null) {
+                                index.put(fileName, attributes.size(), lastModified, generated);
+                            }
                             return Optional.of(generated);
                         }
                     }
@@ -187,25 +311,31 @@ public class DropinsBundleDeployerUtils {
      */
     public static boolean hasToUpdateBundlesInfoFile(List<BundleInfo> newBundleInfo, Path existingBundlesInfoFile)
             throws IOException {
-        if ((existingBundlesInfoFile != null) && (Files.exists(existingBundlesInfoFile))) {
-            List<BundleInfo> existingBundlesInfo = new ArrayList<>();
-            Files.readAllLines(existingBundlesInfoFile).stream().
-                    filter(line -> !line.startsWith("#")).
-                    map(BundleInfo::getInstance).
-                    filter(BundleInfo::isFromDropins).forEach(existingBundlesInfo::add);
+        return hasToUpdateBundlesInfo(newBundleInfo, getExistingBundlesInfo(existingBundlesInfoFile));
+    }
 
-            long newBundleInfoCount = Optional.ofNullable(newBundleInfo).orElse(new ArrayList<>()).size();
-            if (existingBundlesInfo.size() == newBundleInfoCount) {
-                long nonMatchingBundleInfoCount = Optional.ofNullable(newBundleInfo).
-                        orElse(new ArrayList<>()).stream().
-                        filter(info -> existingBundlesInfo.stream().filter(existingInfo -> existingInfo.equals(info)).
-                                count() == 0).count();
-                return nonMatchingBundleInfoCount > 0;
-            } else {
-                return true;
-            }
+    /**
+     * Returns true if the OSGi bundle information of the dropins bundles, among the specified existing OSGi bundle
+     * information, do not match the specified new OSGi bundle information.
+     *
+     * @param newBundleInfo       the new OSGi bundle information
+     * @param existingBundlesInfo the OSGi bundle information loaded from an existing bundles.info file
+     * @return true if the bundles.info file requires to be updated, else false
+     */
+    private static boolean hasToUpdateBundlesInfo(List<BundleInfo> newBundleInfo,
+            List<BundleInfo> existingBundlesInfo) {
+        List<BundleInfo> existingDropinsBundlesInfo = existingBundlesInfo.stream().
+                filter(BundleInfo::isFromDropins).collect(Collectors.toList());
+
+        long newBundleInfoCount = Optional.ofNullable(newBundleInfo).orElse(new ArrayList<>()).size();
+        if (existingDropinsBundlesInfo.size() == newBundleInfoCount) {
+            long nonMatchingBundleInfoCount = Optional.ofNullable(newBundleInfo).
+                    orElse(new ArrayList<>()).stream().
+                    filter(info -> existingDropinsBundlesInfo.stream().
+                            filter(existingInfo -> existingInfo.equals(info)).count() == 0).count();
+            return nonMatchingBundleInfoCount > 0;
         } else {
-            throw new IOException("Invalid or non-existent file path: " + existingBundlesInfoFile);
+            return true;
         }
     }
 
@@ -221,16 +351,41 @@ public class DropinsBundleDeployerUtils {
      */
     public static List<BundleInfo> mergeDropinsBundleInfo(List<BundleInfo> newBundleInfo, Path bundlesInfoFilePath)
             throws IOException {
+        return mergeDropinsBundleInfo(newBundleInfo, getExistingBundlesInfo(bundlesInfoFilePath));
+    }
+
+    /**
+     * Merges the specified new dropins OSGi bundle information with the non-dropins OSGi bundle information among
+     * the specified existing OSGi bundle information.
+     *
+     * @param newBundleInfo       the OSGi bundle information on the current set of bundles that reside within the
+     *                            dropins folder
+     * @param existingBundlesInfo the OSGi bundle information loaded from an existing bundles.info file
+     * @return the effective group of OSGi bundle information
+     */
+    private static List<BundleInfo> mergeDropinsBundleInfo(List<BundleInfo> newBundleInfo,
+            List<BundleInfo> existingBundlesInfo) {
+        List<BundleInfo> effectiveBundleInfo = existingBundlesInfo.stream().
+                filter(info -> !info.isFromDropins()).collect(Collectors.toList());
+        newBundleInfo.stream().forEach(effectiveBundleInfo::add);
+
+        return effectiveBundleInfo;
+    }
+
+    /**
+     * Loads the OSGi bundle information from the specified bundles.info file.
+     *
+     * @param bundlesInfoFilePath the bundles.info file path from which the OSGi bundle information are to be loaded
+     * @return the OSGi bundle information in the bundles.info file
+     * @throws IOException if an I/O error occurs or if the bundles.info file does not exist
+     */
+    private static List<BundleInfo> getExistingBundlesInfo(Path bundlesInfoFilePath) throws IOException {
         if ((bundlesInfoFilePath != null) && (Files.exists(bundlesInfoFilePath))) {
-            List<BundleInfo> effectiveBundleInfo = Files.readAllLines(bundlesInfoFilePath).stream().
+            return Files.readAllLines(bundlesInfoFilePath).stream().
                     filter(line -> !line.startsWith("#")).
-                    map(BundleInfo::getInstance).
-                    filter(info -> !info.isFromDropins()).collect(Collectors.toList());
-            newBundleInfo.stream().forEach(effectiveBundleInfo::add);
-
-            return effectiveBundleInfo;
+                    map(BundleInfo::getInstance).collect(Collectors.toList());
         } else {
-            throw new IOException("Invalid or non-existing file path: " + bundlesInfoFilePath);
+            throw new IOException("Invalid or non-existent file path: " + bundlesInfoFilePath);
         }
     }
 
@@ -264,13 +419,12 @@ public class DropinsBundleDeployerUtils {
     public static List<String> getCarbonProfiles(String carbonHome) throws IOException {
         Path carbonProfilesHome = Paths.get(carbonHome, Constants.OSGI_REPOSITORY, Constants.PROFILE_PATH);
         if (Files.exists(carbonProfilesHome)) {
-            Stream<Path> profiles = Files.list(carbonProfilesHome);
-            List<String> profileNames = new ArrayList<>();
-
-            profiles.parallel().forEach(profile -> Optional.ofNullable(profile.getFileName()).
-                    ifPresent(name -> profileNames.add(name.toString())));
-
-            return profileNames;
+            try (Stream<Path> profiles = Files.list(carbonProfilesHome)) {
+                return profiles.map(Path::getFileName).
+                        filter(name -> name != null).
+                        map(Path::toString).
+                        sorted().collect(Collectors.toList());
+            }
         } else {
             throw new IOException("The " + carbonHome + "/" + Constants.OSGI_REPOSITORY + "/" + Constants.PROFILE_PATH +
                     " directory does not exist");
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.extensions;
+
+import org.wso2.carbon.launcher.Constants;
+import org.wso2.carbon.launcher.extensions.model.BundleInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persisted index of the OSGi bundle information of the bundles in a dropins directory.
+ * <p>
+ * Each entry is keyed by the bundle file name and is valid as long as the size and the last modified time of the file
+ * are unchanged, hence the manifest of an unchanged bundle is not read again. The index only retains the entries
+ * looked up or added since it was loaded, which drops the bundles removed from the directory when it is stored.
+ *
+ * @since 5.1.0
+ */
+class DropinsBundleIndex {
+    private static final Logger logger = Logger.getLogger(DropinsBundleIndex.class.getName());
+
+    private static final String HEADER = "#dropins-index-1";
+    private static final String SEPARATOR = "\t";
+
+    private final Path indexFile;
+    private final Map<String, Entry> loadedEntries;
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    private DropinsBundleIndex(Path indexFile, Map<String, Entry> loadedEntries) {
+        this.indexFile = indexFile;
+        this.loadedEntries = loadedEntries;
+    }
+
+    /**
+     * Loads the index from the given file. An empty index is returned if the index does not exist or cannot be read.
+     *
+     * @param indexFile the index file
+     * @return the index
+     */
+    static DropinsBundleIndex load(Path indexFile) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.exists(indexFile)) {
+            try {
+                List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+                if (!lines.isEmpty() && HEADER.equals(lines.get(0))) {
+                    for (String line : lines.subList(1, lines.size())) {
+                        String[] parts = line.split(SEPARATOR);
+                        if (parts.length == 4) {
+                            entries.put(parts[0], new Entry(Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                                    BundleInfo.getInstance(parts[3])));
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.FINE, "Ignoring the unreadable " + Constants.DROPINS + " index " + indexFile, e);
+                entries.clear();
+            }
+        }
+        return new DropinsBundleIndex(indexFile, entries);
+    }
+
+    /**
+     * Returns the indexed OSGi bundle information of the given bundle file, if the file is unchanged.
+     *
+     * @param fileName     the bundle file name
+     * @param size         the current size of the bundle file
+     * @param lastModified the current last modified time of the bundle file in milliseconds
+     * @return the indexed {@link BundleInfo}, or an empty optional if the bundle is not indexed or has changed
+     */
+    Optional<BundleInfo> get(String fileName, long size, long lastModified) {
+        Entry entry = loadedEntries.get(fileName);
+        if ((entry != null) && (entry.size == size) && (entry.lastModified == lastModified)) {
+            currentEntries.put(fileName, entry);
+            return Optional.of(entry.bundleInfo);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the OSGi bundle information read from the given bundle file.
+     *
+     * @param fileName     the bundle file name
+     * @param size         the size of the bundle file
+     * @param lastModified the last modified time of the bundle file in milliseconds
+     * @param bundleInfo   the {@link BundleInfo} read from the bundle manifest
+     */
+    void put(String fileName, long size, long lastModified, BundleInfo bundleInfo) {
+        currentEntries.put(fileName, new Entry(size, lastModified, bundleInfo));
+        modified = true;
+    }
+
+    /**
+     * Stores the index, if a bundle was added to or removed from it.
+     */
+    void store() {
+        if (!modified && (currentEntries.size() == loadedEntries.size())) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>(currentEntries.size() + 1);
+        lines.add(HEADER);
+        currentEntries.forEach((fileName, entry) -> lines.add(fileName + SEPARATOR + entry.size + SEPARATOR +
+                entry.lastModified + SEPARATOR + entry.bundleInfo));
+        Path temporaryFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            Files.write(temporaryFile, lines, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to store the " + Constants.DROPINS + " index " + indexFile, e);
+        }
+    }
+
+    /**
+     * An indexed bundle file.
+     */
+    private static class Entry {
+        private final long size;
+        private final long lastModified;
+        private final BundleInfo bundleInfo;
+
+        private Entry(long size, long lastModified, BundleInfo bundleInfo) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.bundleInfo = bundleInfo;
+        }
+    }
+}
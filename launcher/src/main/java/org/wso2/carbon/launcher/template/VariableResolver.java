@@ -0,0 +1,33 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.template;
+
+/**
+ * Resolves the value of a variable referenced in a {@link VariableTemplate}.
+ *
+ * @since 5.1.0
+ */
+@FunctionalInterface
+public interface VariableResolver {
+
+    /**
+     * Returns the value of the given variable.
+     *
+     * @param variableName name of the variable
+     * @return the value of the variable or null if the variable is not defined
+     */
+    String getValue(String variableName);
+}
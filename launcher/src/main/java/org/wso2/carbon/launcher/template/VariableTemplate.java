@@ -0,0 +1,184 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.template;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A string with ${variable} references, compiled into literal and variable segments.
+ * <p>
+ * A variable may specify a default value with the ${variable:-default} syntax. The default value is used if the
+ * variable is not defined or if its value is empty.
+ * <p>
+ * Compiled templates are immutable and each substitution is a single linear pass over the segments. Templates of
+ * single line configuration values are cached, hence the same value is parsed only once. Multi-line or large templates,
+ * such as the content of a configuration file, are not cached so that they are not kept in memory.
+ * <p>
+ * This is shared by the launcher, the base bundle and the core bundle. Bundles include this package as a private
+ * package.
+ *
+ * @since 5.1.0
+ */
+public final class VariableTemplate {
+    private static final String VARIABLE_PREFIX = "${";
+    private static final char VARIABLE_SUFFIX = '}';
+    private static final String DEFAULT_VALUE_SEPARATOR = ":-";
+    private static final int CACHE_SIZE = 256;
+    private static final int MAX_CACHED_TEMPLATE_LENGTH = 512;
+
+    private static final Map<String, VariableTemplate> templateCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, VariableTemplate>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VariableTemplate> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private final String template;
+
+    // literals[i] precedes the i-th variable, the last literal follows the last variable.
+    private final String[] literals;
+    private final String[] variableNames;
+    private final String[] defaultValues;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private VariableTemplate(String template, List<String> literals, List<String> variableNames,
+                             List<String> defaultValues, List<String> placeholders) {
+        this.template = template;
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.variableNames = variableNames.toArray(new String[variableNames.size()]);
+        this.defaultValues = defaultValues.toArray(new String[defaultValues.size()]);
+        this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Returns the compiled template of the given string.
+     *
+     * @param template string with ${variable} references
+     * @return the compiled {@code VariableTemplate}
+     */
+    public static VariableTemplate compile(String template) {
+        if (!isCacheable(template)) {
+            return parse(template);
+        }
+        VariableTemplate variableTemplate = templateCache.get(template);
+        if (variableTemplate == null) {
+            variableTemplate = parse(template);
+            templateCache.put(template, variableTemplate);
+        }
+        return variableTemplate;
+    }
+
+    private static boolean isCacheable(String template) {
+        return template.length() <= MAX_CACHED_TEMPLATE_LENGTH && template.indexOf('\n') == -1 &&
+                template.indexOf('\r') == -1;
+    }
+
+    private static VariableTemplate parse(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variableNames = new ArrayList<>();
+        List<String> defaultValues = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int literalBegin = 0;
+        int variableBegin = template.indexOf(VARIABLE_PREFIX);
+        while (variableBegin != -1) {
+            int variableEnd = template.indexOf(VARIABLE_SUFFIX, variableBegin + VARIABLE_PREFIX.length());
+            if (variableEnd == -1) {
+                break;
+            }
+
+            String variable = template.substring(variableBegin + VARIABLE_PREFIX.length(), variableEnd);
+            int separator = variable.indexOf(DEFAULT_VALUE_SEPARATOR);
+            literals.add(template.substring(literalBegin, variableBegin));
+            variableNames.add(separator == -1 ? variable : variable.substring(0, separator));
+            defaultValues.add(separator == -1 ?
+                    null : variable.substring(separator + DEFAULT_VALUE_SEPARATOR.length()));
+            placeholders.add(template.substring(variableBegin, variableEnd + 1));
+
+            literalBegin = variableEnd + 1;
+            variableBegin = template.indexOf(VARIABLE_PREFIX, literalBegin);
+        }
+        literals.add(template.substring(literalBegin));
+        return new VariableTemplate(template, literals, variableNames, defaultValues, placeholders);
+    }
+
+    /**
+     * Returns whether this template references any variable.
+     *
+     * @return true if there are variables
+     */
+    public boolean hasVariables() {
+        return variableNames.length > 0;
+    }
+
+    /**
+     * Substitutes the variables with the values returned by the given resolver.
+     *
+     * @param variableResolver resolver of the variable values
+     * @return the substituted string
+     * @throws IllegalArgumentException if a variable without a default value is not defined or its value is empty
+     */
+    public String substitute(VariableResolver variableResolver) {
+        return substitute(variableResolver, true);
+    }
+
+    /**
+     * Substitutes the variables with the values returned by the given resolver. References to variables which are not
+     * defined, and which do not have a default value, are left as they are.
+     *
+     * @param variableResolver resolver of the variable values
+     * @return the substituted string
+     */
+    public String substituteDefined(VariableResolver variableResolver) {
+        return substitute(variableResolver, false);
+    }
+
+    private String substitute(VariableResolver variableResolver, boolean strict) {
+        if (variableNames.length == 0) {
+            return template;
+        }
+
+        StringBuilder result = new StringBuilder(literalLength + variableNames.length * 16);
+        for (int i = 0; i < variableNames.length; i++) {
+            result.append(literals[i]);
+
+            String value = variableResolver.getValue(variableNames[i]);
+            if ((value == null || value.isEmpty()) && defaultValues[i] != null) {
+                value = defaultValues[i];
+            } else if (value == null || (strict && value.isEmpty())) {
+                if (strict) {
+                    throw new IllegalArgumentException("System property " + variableNames[i] + " is not specified");
+                }
+                value = placeholders[i];
+            }
+            result.append(value);
+        }
+        result.append(literals[variableNames.length]);
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
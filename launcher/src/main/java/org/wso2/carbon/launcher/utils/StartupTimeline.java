@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.utils;
+
+import org.wso2.carbon.launcher.Constants;
+
+/**
+ * Records the startup phases of the Carbon launcher.
+ * <p>
+ * The launcher and the Carbon kernel are loaded by different class loaders, hence the phases are handed over to the
+ * kernel in the {@code carbon.startup.timeline} system property. Each phase is appended to the property as
+ * {@code name=start,end}, separated by {@code ;}, where the start and end times are obtained from
+ * {@code System.nanoTime()}. The Carbon kernel consumes and clears the property once the server startup completes.
+ *
+ * @since 5.1.0
+ */
+public class StartupTimeline {
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Records the start of the server startup. The start time is used as the origin of the startup timeline.
+     */
+    public static void markServerStart() {
+        if (System.getProperty(Constants.START_NANO_TIME) == null) {
+            System.setProperty(Constants.START_NANO_TIME, Long.toString(System.nanoTime()));
+        }
+    }
+
+    /**
+     * Records a startup phase which started at the given time and ends now.
+     *
+     * @param phaseName     name of the phase
+     * @param startNanoTime value of {@code System.nanoTime()} at the start of the phase
+     */
+    public static void recordPhase(String phaseName, long startNanoTime) {
+        String phase = phaseName + "=" + startNanoTime + "," + System.nanoTime();
+        // The kernel consumes the property while holding the same lock.
+        synchronized (System.getProperties()) {
+            String timeline = System.getProperty(Constants.STARTUP_TIMELINE);
+            System.setProperty(Constants.STARTUP_TIMELINE, timeline == null ? phase : timeline + ";" + phase);
+        }
+    }
+}
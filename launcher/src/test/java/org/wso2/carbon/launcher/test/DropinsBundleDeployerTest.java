@@ -25,12 +25,16 @@ import org.wso2.carbon.launcher.extensions.DropinsBundleDeployerUtils;
 import org.wso2.carbon.launcher.extensions.model.BundleInfo;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 
 /**
  * This Java class defines the unit tests for dropins OSGi bundle deployment.
@@ -100,6 +104,24 @@ public class DropinsBundleDeployerTest extends BaseTest {
         Assert.assertTrue(compareBundleInfo(expected, actual));
     }
 
+    @Test(description = "Attempts to load OSGi bundle information of unchanged bundles from the dropins index",
+            priority = 4)
+    public void testGettingNewBundlesInfoFromDropinsIndex() throws IOException {
+        Path dropins = Paths.get(carbonHome, Constants.OSGI_REPOSITORY, dropinsDirectory);
+        Path index = Paths.get(carbonHome, "test-" + Constants.DROPINS_INDEX);
+        Files.deleteIfExists(index);
+        DropinsBundleDeployerUtils.getNewBundlesInfo(dropins);
+        Assert.assertFalse(Files.exists(index));
+        DropinsBundleDeployerUtils.getNewBundlesInfo(dropins, index, 1);
+        Assert.assertTrue(Files.exists(index));
+        long indexLastModified = Files.getLastModifiedTime(index).toMillis();
+
+        List<BundleInfo> expected = getExpectedBundleInfo();
+        List<BundleInfo> actual = DropinsBundleDeployerUtils.getNewBundlesInfo(dropins, index, 1);
+        Assert.assertTrue(compareBundleInfo(expected, actual));
+        Assert.assertEquals(Files.getLastModifiedTime(index).toMillis(), indexLastModified);
+    }
+
     @Test(description = "Attempt loading the Carbon profile names", priority = 3)
     public void testLoadingCarbonProfiles() throws IOException {
         List<String> actual = DropinsBundleDeployerUtils.getCarbonProfiles(carbonHome);
@@ -148,10 +170,63 @@ public class DropinsBundleDeployerTest extends BaseTest {
         DropinsBundleDeployerUtils.mergeDropinsBundleInfo(null, null);
     }
 
+    @Test(description = "Attempts to load OSGi bundle information concurrently in the order of the file names",
+            priority = 5)
+    public void testGettingNewBundlesInfoConcurrently() throws IOException {
+        Path source = Paths.get(carbonHome, "parallel-" + dropinsDirectory);
+        createDirectories(source);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String symbolicName = "org.wso2.carbon.sample" + (char) ('a' + i);
+            createBundle(source.resolve(symbolicName + ".jar"), symbolicName);
+            expected.add(symbolicName + ",1.0.0,../../" + dropinsDirectory + "/" + symbolicName + ".jar,4,true");
+        }
+
+        List<String> sequential = new ArrayList<>();
+        DropinsBundleDeployerUtils.getNewBundlesInfo(source, 1).forEach(info -> sequential.add(info.toString()));
+        List<String> concurrent = new ArrayList<>();
+        DropinsBundleDeployerUtils.getNewBundlesInfo(source, 4).forEach(info -> concurrent.add(info.toString()));
+
+        Assert.assertEquals(sequential, expected);
+        Assert.assertEquals(concurrent, expected);
+    }
+
+    @Test(description = "Attempts to load OSGi bundle information from a source directory with invalid bundles",
+            priority = 5)
+    public void testGettingNewBundlesInfoWithInvalidBundles() throws IOException {
+        Path source = Paths.get(carbonHome, "invalid-" + dropinsDirectory);
+        createDirectories(source);
+        createBundle(source.resolve("valid.jar"), "org.wso2.carbon.valid");
+        createBundle(source.resolve("invalid1.jar"), null);
+        createBundle(source.resolve("invalid2.jar"), null);
+
+        try {
+            DropinsBundleDeployerUtils.getNewBundlesInfo(source, 4);
+            Assert.fail("Expected the invalid bundles to be reported");
+        } catch (IOException e) {
+            Assert.assertEquals(e.getSuppressed().length, 2);
+            Assert.assertTrue(e.getMessage().contains("invalid1.jar"));
+            Assert.assertTrue(e.getMessage().contains("invalid2.jar"));
+        }
+    }
+
     /**
      * Utility functions for dropins unit-tests.
      */
 
+    private static void createBundle(Path bundle, String symbolicName) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (symbolicName != null) {
+            manifest.getMainAttributes().putValue("Bundle-SymbolicName", symbolicName);
+            manifest.getMainAttributes().putValue("Bundle-Version", "1.0.0");
+        }
+        try (OutputStream outputStream = Files.newOutputStream(bundle);
+             JarOutputStream jarOutputStream = new JarOutputStream(outputStream, manifest)) {
+            jarOutputStream.flush();
+        }
+    }
+
     private static void createProfiles() throws IOException {
         profileNames.add(Constants.DEFAULT_PROFILE);
         profileNames.add(profileMSS);
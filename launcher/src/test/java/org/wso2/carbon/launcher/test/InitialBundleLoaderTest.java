@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.test;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.launcher.Constants;
+import org.wso2.carbon.launcher.InitialBundleLoader;
+import org.wso2.carbon.launcher.config.CarbonInitialBundle;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class tests the installation and start up of the initial bundles by
+ * org.wso2.carbon.launcher.InitialBundleLoader.
+ *
+ * @since 5.1.0
+ */
+public class InitialBundleLoaderTest {
+    private static final String LOADER_THREAD_PREFIX = "CarbonInitialBundleLoader-";
+
+    private List<String> events;
+    private Map<String, Integer> bundleLevels;
+    private BundleContext bundleContext;
+
+    @BeforeMethod
+    public void init() {
+        events = Collections.synchronizedList(new ArrayList<>());
+        bundleLevels = new ConcurrentHashMap<>();
+        bundleContext = (BundleContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BundleContext.class}, (proxy, method, args) -> {
+                    if (!"installBundle".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String name = getBundleName((String) args[0]);
+                    // Slows down the installation, so that concurrently installed bundles overlap.
+                    Thread.sleep(20);
+                    if (name.startsWith("install-failure")) {
+                        throw new BundleException("Failed to install " + name);
+                    }
+                    events.add("install:" + name);
+                    return createBundle(name);
+                });
+    }
+
+    @AfterMethod
+    public void destroy() {
+        System.clearProperty(Constants.STARTUP_TIMELINE);
+    }
+
+    @Test
+    public void testLevelsStartInAscendingOrder() throws Exception {
+        new InitialBundleLoader(bundleContext, 4).load(Arrays.asList(
+                getInitialBundle("a", 3, true), getInitialBundle("b", 1, true), getInitialBundle("c", 2, true),
+                getInitialBundle("d", 1, true), getInitialBundle("e", 3, true), getInitialBundle("f", 2, false)));
+
+        List<Integer> startedLevels = new ArrayList<>();
+        getEvents("start:").forEach(name -> startedLevels.add(bundleLevels.get(name)));
+        Assert.assertEquals(startedLevels.size(), 5);
+        List<Integer> sortedLevels = new ArrayList<>(startedLevels);
+        Collections.sort(sortedLevels);
+        Assert.assertEquals(startedLevels, sortedLevels);
+        Assert.assertFalse(events.contains("start:f"));
+    }
+
+    @Test
+    public void testAllBundlesInstalledBeforeStart() throws Exception {
+        new InitialBundleLoader(bundleContext, 4).load(Arrays.asList(
+                getInitialBundle("a", 1, true), getInitialBundle("b", 2, true), getInitialBundle("c", 1, true),
+                getInitialBundle("d", 3, true)));
+
+        Assert.assertEquals(getEvents("install:").size(), 4);
+        int lastInstall = 0;
+        int firstStart = events.size();
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).startsWith("install:")) {
+                lastInstall = i;
+            } else {
+                firstStart = Math.min(firstStart, i);
+            }
+        }
+        Assert.assertTrue(lastInstall < firstStart, "Bundles started before all bundles are installed: " + events);
+    }
+
+    @Test
+    public void testSequentialLoading() throws Exception {
+        new InitialBundleLoader(bundleContext, 1).load(Arrays.asList(
+                getInitialBundle("a", 3, true), getInitialBundle("b", 1, false), getInitialBundle("c", 2, true)));
+
+        // Bundles are installed and started one by one, in the listed order, regardless of their start levels.
+        Assert.assertEquals(events, Arrays.asList("install:a", "start:a", "install:b", "install:c", "start:c"));
+        Assert.assertTrue(getLoaderThreads().isEmpty());
+    }
+
+    @Test
+    public void testInstallFailure() throws Exception {
+        try {
+            new InitialBundleLoader(bundleContext, 4).load(Arrays.asList(
+                    getInitialBundle("a", 1, true), getInitialBundle("install-failure", 1, true),
+                    getInitialBundle("c", 2, true)));
+            Assert.fail("Expected the install failure to be reported");
+        } catch (BundleException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to install install-failure");
+        }
+
+        Assert.assertTrue(getEvents("start:").isEmpty());
+        assertLoaderThreadsTerminated();
+    }
+
+    @Test
+    public void testStartFailure() throws Exception {
+        try {
+            new InitialBundleLoader(bundleContext, 4).load(Arrays.asList(
+                    getInitialBundle("a", 1, true), getInitialBundle("start-failure", 2, true),
+                    getInitialBundle("c", 3, true)));
+            Assert.fail("Expected the start failure to be reported");
+        } catch (BundleException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to start start-failure");
+        }
+
+        Assert.assertEquals(getEvents("start:"), Collections.singletonList("a"));
+        assertLoaderThreadsTerminated();
+    }
+
+    private Bundle createBundle(String name) {
+        return (Bundle) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Bundle.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getSymbolicName":
+                            return name;
+                        case "start":
+                            if (name.startsWith("start-failure")) {
+                                throw new BundleException("Failed to start " + name);
+                            }
+                            events.add("start:" + name);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private CarbonInitialBundle getInitialBundle(String name, int level, boolean start) throws Exception {
+        Constructor<CarbonInitialBundle> constructor =
+                CarbonInitialBundle.class.getDeclaredConstructor(URL.class, int.class, boolean.class);
+        constructor.setAccessible(true);
+        bundleLevels.put(name, level);
+        return constructor.newInstance(new URL("file:/plugins/" + name + ".jar"), level, start);
+    }
+
+    private static String getBundleName(String location) {
+        return location.substring(location.lastIndexOf('/') + 1, location.length() - ".jar".length());
+    }
+
+    private List<String> getEvents(String prefix) {
+        List<String> names = new ArrayList<>();
+        synchronized (events) {
+            events.stream()
+                    .filter(event -> event.startsWith(prefix))
+                    .forEach(event -> names.add(event.substring(prefix.length())));
+        }
+        return names;
+    }
+
+    private static List<Thread> getLoaderThreads() {
+        List<Thread> threads = new ArrayList<>();
+        Thread.getAllStackTraces().keySet()
+                .stream()
+                .filter(thread -> thread.getName().startsWith(LOADER_THREAD_PREFIX) && thread.isAlive())
+                .forEach(threads::add);
+        return threads;
+    }
+
+    private static void assertLoaderThreadsTerminated() throws InterruptedException {
+        for (Thread thread : getLoaderThreads()) {
+            thread.join(5000);
+        }
+        Assert.assertTrue(getLoaderThreads().isEmpty(), "The bundle loader pool is not shut down");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.test;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.launcher.template.VariableTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * VariableTemplate test class.
+ *
+ * @since 5.1.0
+ */
+
+@Test(groups = "utils")
+public class VariableTemplateTest extends BaseTest {
+
+    private static final Map<String, String> variables = new HashMap<>();
+
+    static {
+        variables.put("carbon.home", "C:\\wso2carbon\\$home");
+        variables.put("profile", "default");
+        variables.put("empty", "");
+    }
+
+    public void substituteTest() {
+        String outputStr = VariableTemplate.compile("file:${carbon.home}/osgi/${profile}").substitute(variables::get);
+        Assert.assertEquals(outputStr, "file:C:\\wso2carbon\\$home/osgi/default");
+    }
+
+    public void substituteWithoutVariablesTest() {
+        VariableTemplate template = VariableTemplate.compile("file:osgi/profiles");
+        Assert.assertFalse(template.hasVariables());
+        Assert.assertEquals(template.substitute(variables::get), "file:osgi/profiles");
+    }
+
+    public void substituteUnterminatedVariableTest() {
+        String outputStr = VariableTemplate.compile("${profile}/${carbon.home").substitute(variables::get);
+        Assert.assertEquals(outputStr, "default/${carbon.home");
+    }
+
+    public void substituteDefaultValueTest() {
+        String outputStr = VariableTemplate.compile("${missing:-/tmp}/${empty:-x}/${profile:-other}/${missing:-}")
+                .substitute(variables::get);
+        Assert.assertEquals(outputStr, "/tmp/x/default/");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "System property missing is not specified")
+    public void substituteMissingVariableTest() {
+        VariableTemplate.compile("${profile}/${missing}").substitute(variables::get);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void substituteEmptyVariableTest() {
+        VariableTemplate.compile("${empty}").substitute(variables::get);
+    }
+
+    public void substituteDefinedTest() {
+        String outputStr = VariableTemplate.compile("${missing}/${empty}/${profile}").substituteDefined(variables::get);
+        Assert.assertEquals(outputStr, "${missing}//default");
+    }
+
+    public void compiledTemplateCacheTest() {
+        Assert.assertSame(VariableTemplate.compile("${profile}/cached"), VariableTemplate.compile("${profile}/cached"));
+    }
+
+    public void uncachedTemplateTest() {
+        String multiLineTemplate = "id: ${profile}\nname: ${name:-carbon}\n";
+        Assert.assertNotSame(VariableTemplate.compile(multiLineTemplate), VariableTemplate.compile(multiLineTemplate));
+        Assert.assertEquals(VariableTemplate.compile(multiLineTemplate).substitute(variables::get),
+                "id: default\nname: carbon\n");
+
+        StringBuilder largeTemplate = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            largeTemplate.append("${profile}/");
+        }
+        String template = largeTemplate.toString();
+        Assert.assertNotSame(VariableTemplate.compile(template), VariableTemplate.compile(template));
+    }
+}
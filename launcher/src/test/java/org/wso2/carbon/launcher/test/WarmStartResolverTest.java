@@ -0,0 +1,227 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.launcher.test;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.launcher.Constants;
+import org.wso2.carbon.launcher.WarmStartResolver;
+import org.wso2.carbon.launcher.config.CarbonLaunchConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Properties;
+
+/**
+ * This class tests the warm start decision of org.wso2.carbon.launcher.WarmStartResolver.
+ *
+ * @since 5.1.0
+ */
+public class WarmStartResolverTest {
+    private static final String FRAMEWORK = "plugins/org.eclipse.osgi.jar";
+    private static final String INITIAL_BUNDLE = "plugins/org.eclipse.equinox.simpleconfigurator.jar";
+
+    private Path carbonHome;
+    private Path repository;
+    private Path configurationArea;
+    private String originalCarbonHome;
+    private String originalProfile;
+
+    @BeforeMethod
+    public void init() throws IOException {
+        originalCarbonHome = System.getProperty(Constants.CARBON_HOME);
+        originalProfile = System.getProperty(Constants.PROFILE);
+        carbonHome = Files.createTempDirectory(Paths.get("target").toAbsolutePath(), "warm-start");
+        System.setProperty(Constants.CARBON_HOME, carbonHome.toString());
+        System.setProperty(Constants.PROFILE, Constants.DEFAULT_PROFILE);
+
+        repository = Files.createDirectories(carbonHome.resolve("osgi"));
+        configurationArea = Files.createDirectories(repository.resolve("profiles").resolve(Constants.DEFAULT_PROFILE)
+                .resolve("configuration").resolve("org.eclipse.equinox.simpleconfigurator")).getParent();
+        Files.createDirectories(repository.resolve(Constants.PLUGINS));
+        Files.createDirectories(repository.resolve(Constants.DROPINS));
+        write(repository.resolve(FRAMEWORK), "framework");
+        write(repository.resolve(INITIAL_BUNDLE), "simpleconfigurator");
+        write(repository.resolve(Constants.PLUGINS).resolve("org.wso2.carbon.core.jar"), "core");
+        write(getBundlesInfo(), "org.wso2.carbon.core,5.1.0,../../plugins/org.wso2.carbon.core.jar,4,true");
+        writeLaunchProperties(false, "");
+    }
+
+    @AfterMethod
+    public void destroy() throws IOException {
+        restoreProperty(Constants.CARBON_HOME, originalCarbonHome);
+        restoreProperty(Constants.PROFILE, originalProfile);
+        System.clearProperty(Constants.CARBON_START_MODE);
+        delete(carbonHome);
+    }
+
+    @Test
+    public void testFingerprintIsStable() {
+        Assert.assertEquals(new WarmStartResolver(loadConfig()).computeFingerprint(),
+                new WarmStartResolver(loadConfig()).computeFingerprint());
+    }
+
+    @Test
+    public void testWarmStartWithUnchangedBundleSet() {
+        startServer();
+
+        CarbonLaunchConfig config = loadConfig();
+        Assert.assertEquals(new WarmStartResolver(config).resolveStartMode(), WarmStartResolver.WARM_START);
+        Assert.assertFalse(config.isOSGiClean());
+        Assert.assertEquals(System.getProperty(Constants.CARBON_START_MODE), WarmStartResolver.WARM_START);
+    }
+
+    @DataProvider(name = "changes")
+    public Object[][] createChanges() {
+        return new Object[][]{{"plugins"}, {"dropins"}, {"bundles.info"}, {"framework"}, {"initial bundle"},
+                {"launch property"}};
+    }
+
+    @Test(dataProvider = "changes")
+    public void testCleanStartWithChangedBundleSet(String change) throws IOException {
+        startServer();
+        String fingerprint = new WarmStartResolver(loadConfig()).computeFingerprint();
+
+        switch (change) {
+            case "plugins":
+                write(repository.resolve(Constants.PLUGINS).resolve("org.wso2.carbon.sample.jar"), "sample");
+                break;
+            case "dropins":
+                write(repository.resolve(Constants.DROPINS).resolve("org.wso2.carbon.sample.jar"), "sample");
+                break;
+            case "bundles.info":
+                append(getBundlesInfo(), "\norg.wso2.carbon.sample,1.0.0,../../plugins/sample.jar,4,true");
+                break;
+            case "framework":
+                append(repository.resolve(FRAMEWORK), "-updated");
+                break;
+            case "initial bundle":
+                append(repository.resolve(INITIAL_BUNDLE), "-updated");
+                break;
+            default:
+                writeLaunchProperties(false, "org.osgi.framework.startlevel.beginning=20");
+        }
+
+        CarbonLaunchConfig config = loadConfig();
+        WarmStartResolver warmStartResolver = new WarmStartResolver(config);
+        Assert.assertNotEquals(warmStartResolver.computeFingerprint(), fingerprint);
+        Assert.assertEquals(warmStartResolver.resolveStartMode(), WarmStartResolver.CLEAN_START);
+        Assert.assertTrue(config.isOSGiClean());
+    }
+
+    @Test
+    public void testExplicitOSGiCleanForcesCleanStart() throws IOException {
+        startServer();
+        writeLaunchProperties(true, "");
+
+        CarbonLaunchConfig config = loadConfig();
+        Assert.assertEquals(new WarmStartResolver(config).resolveStartMode(), WarmStartResolver.CLEAN_START);
+        Assert.assertTrue(config.isOSGiClean());
+    }
+
+    @Test
+    public void testCleanStartWithoutStoredFingerprint() {
+        CarbonLaunchConfig config = loadConfig();
+        Assert.assertEquals(new WarmStartResolver(config).resolveStartMode(), WarmStartResolver.CLEAN_START);
+        Assert.assertTrue(config.isOSGiClean());
+    }
+
+    @Test
+    public void testCleanStartWithCorruptStoredFingerprint() throws IOException {
+        startServer();
+        write(configurationArea.resolve(Constants.FRAMEWORK_FINGERPRINT_FILE), "corrupt\u0000fingerprint");
+
+        CarbonLaunchConfig config = loadConfig();
+        Assert.assertEquals(new WarmStartResolver(config).resolveStartMode(), WarmStartResolver.CLEAN_START);
+        Assert.assertTrue(config.isOSGiClean());
+    }
+
+    /**
+     * Resolves the start mode and stores the fingerprint, as the launcher does when the server starts.
+     */
+    private void startServer() {
+        WarmStartResolver warmStartResolver = new WarmStartResolver(loadConfig());
+        warmStartResolver.resolveStartMode();
+        warmStartResolver.storeFingerprint();
+        Assert.assertTrue(Files.exists(configurationArea.resolve(Constants.FRAMEWORK_FINGERPRINT_FILE)));
+    }
+
+    private CarbonLaunchConfig loadConfig() {
+        return new CarbonLaunchConfig(carbonHome.resolve("launch.properties").toFile());
+    }
+
+    private void writeLaunchProperties(boolean osgiClean, String property) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(Constants.CARBON_OSGI_WARM_START, "true");
+        properties.setProperty(Constants.OSGI_CLEAN, Boolean.toString(osgiClean));
+        properties.setProperty("carbon.osgi.framework", "file:" + FRAMEWORK);
+        properties.setProperty("carbon.initial.osgi.bundles", "file:" + INITIAL_BUNDLE + "@1:true");
+        properties.setProperty("carbon.server.listeners", "");
+        if (!property.isEmpty()) {
+            properties.setProperty(property.split("=")[0], property.split("=")[1]);
+        }
+        try (OutputStream outputStream = Files.newOutputStream(carbonHome.resolve("launch.properties"))) {
+            properties.store(outputStream, null);
+        }
+    }
+
+    private Path getBundlesInfo() {
+        return configurationArea.resolve("org.eclipse.equinox.simpleconfigurator").resolve(Constants.BUNDLES_INFO);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void append(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private static void restoreProperty(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
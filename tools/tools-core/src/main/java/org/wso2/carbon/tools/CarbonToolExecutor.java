@@ -15,6 +15,7 @@
  */
 package org.wso2.carbon.tools;
 
+import org.wso2.carbon.tools.appcds.AppCDSArchiveTool;
 import org.wso2.carbon.tools.converter.BundleGeneratorTool;
 import org.wso2.carbon.tools.dropins.DropinsDeployerTool;
 import org.wso2.carbon.tools.exception.CarbonToolException;
@@ -72,6 +73,9 @@ public class CarbonToolExecutor {
             case "dropins-deployer":
                 carbonTool = new DropinsDeployerTool();
                 break;
+            case "appcds-archive-generator":
+                carbonTool = new AppCDSArchiveTool();
+                break;
             default:
                 carbonTool = null;
         }
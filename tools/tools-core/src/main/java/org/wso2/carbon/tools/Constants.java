@@ -43,6 +43,13 @@ public class Constants {
     public static final String JAR_FILE_EXTENSION = ".jar";
     public static final String ZIP_FILE_EXTENSION = ".zip";
 
+    //  class data sharing archive constants
+    public static final String CDS_DIRECTORY = "cds";
+    public static final String CDS_ARCHIVE_FILE_NAME = "carbon.jsa";
+    public static final String CDS_CLASS_LIST_FILE_NAME = "carbon.classlist";
+    public static final String CDS_CLASS_PATH_FILE_NAME = "carbon.classpath";
+    public static final String CDS_JVM_OPTIONS_FILE_NAME = "carbon.jvmoptions";
+
     //  create zip file system properties
     public static final String CREATE_NEW_ZIP_FILE_PROPERTY = "create";
     public static final String ENCODING_TYPE_PROPERTY = "encoding";
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.tools.appcds;
+
+import org.wso2.carbon.tools.CarbonTool;
+import org.wso2.carbon.tools.exception.CarbonToolException;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class defines a tool which generates an application class data sharing (AppCDS) archive for the classes
+ * loaded when WSO2 Carbon Server starts, i.e. the classes of the JDK, the launcher and the OSGi framework.
+ * <p>
+ * A server started with the archive maps these classes from the archive instead of loading and verifying them, which
+ * reduces the startup time, and the archive is shared between the JVMs running on the same host.
+ *
+ * @since 5.1.0
+ */
+public class AppCDSArchiveTool implements CarbonTool {
+    private static final Logger logger = Logger.getLogger(AppCDSArchiveTool.class.getName());
+
+    /**
+     * Executes the WSO2 Carbon AppCDS archive generator tool based on the specified arguments.
+     *
+     * @param toolArgs the {@link String} argument specifying the CARBON_HOME
+     */
+    @Override
+    public void execute(String... toolArgs) {
+        if ((toolArgs != null) && (toolArgs.length == 1)) {
+            try {
+                AppCDSArchiveToolUtils.executeTool(toolArgs[0]);
+            } catch (CarbonToolException | IOException e) {
+                logger.log(Level.SEVERE, "Error when executing the AppCDS archive generator tool", e);
+            }
+        } else {
+            logger.log(Level.INFO, AppCDSArchiveToolUtils.getHelpMessage());
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.tools.appcds;
+
+import org.wso2.carbon.launcher.config.CarbonLaunchConfig;
+import org.wso2.carbon.tools.Constants;
+import org.wso2.carbon.tools.exception.CarbonToolException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * A Java class which defines utility functions used within the AppCDS archive generator tool.
+ * <p>
+ * The archive is generated in three steps. A training run starts the server with the JVM recording the loaded classes
+ * and stops it once the server has started. The recorded class list is then dumped into an archive for the launcher
+ * class path, which includes the OSGi framework, so that the framework classes are loaded by the application class
+ * loader and can be archived. Finally, the class path and the JVM options required to use the archive are written
+ * next to the archive, from where carbon.sh picks them up when the server is started with the --cds option.
+ *
+ * @since 5.1.0
+ */
+public class AppCDSArchiveToolUtils {
+    private static final Logger logger = Logger.getLogger(AppCDSArchiveToolUtils.class.getName());
+
+    private static final long TRAINING_RUN_TIMEOUT_MINUTES = 10;
+    private static final long ARCHIVE_DUMP_TIMEOUT_MINUTES = 5;
+
+    /**
+     * Executes the WSO2 Carbon AppCDS archive generator tool.
+     *
+     * @param carbonHome the {@link String} value of carbon.home
+     * @throws CarbonToolException if the {@code carbonHome} is invalid or if the archive could not be generated
+     * @throws IOException         if an I/O error occurs when generating the archive
+     */
+    public static void executeTool(String carbonHome) throws CarbonToolException, IOException {
+        if ((carbonHome == null) || (carbonHome.isEmpty())) {
+            throw new CarbonToolException("Invalid Carbon home specified: " + carbonHome);
+        }
+
+        Path carbonHomePath = Paths.get(carbonHome).toAbsolutePath();
+        Path cdsDirectory = getCDSDirectory(carbonHomePath);
+        Files.createDirectories(cdsDirectory);
+        Path classListFile = cdsDirectory.resolve(Constants.CDS_CLASS_LIST_FILE_NAME);
+        Path archiveFile = cdsDirectory.resolve(Constants.CDS_ARCHIVE_FILE_NAME);
+
+        String classPath = getClassPath(carbonHomePath)
+                .stream()
+                .map(Path::toString)
+                .collect(Collectors.joining(File.pathSeparator));
+        List<String> vmOptions = getVMOptions(System.getProperty("java.specification.version"));
+        String javaCommand = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        // 1) Starts the server once to record the classes loaded at startup.
+        Files.deleteIfExists(classListFile);
+        List<String> trainingRunCommand = new ArrayList<>();
+        trainingRunCommand.add(javaCommand);
+        trainingRunCommand.addAll(vmOptions);
+        trainingRunCommand.addAll(Arrays.asList("-XX:DumpLoadedClassList=" + classListFile,
+                "-classpath", classPath,
+                "-Dcarbon.home=" + carbonHomePath,
+                "-Djava.util.logging.config.file=" +
+                        carbonHomePath.resolve("bin").resolve("bootstrap").resolve("logging.properties"),
+                "-D" + org.wso2.carbon.launcher.Constants.CARBON_TRAINING_RUN + "=true",
+                "org.wso2.carbon.launcher.Main"));
+        logger.log(Level.INFO, "Starting the training run of the Carbon server to record the loaded classes");
+        runProcess(trainingRunCommand, TRAINING_RUN_TIMEOUT_MINUTES);
+        if (!Files.exists(classListFile)) {
+            throw new CarbonToolException("The JVM did not record the loaded classes in " + classListFile +
+                    ". Class data sharing is not supported by the JVM at " + javaCommand);
+        }
+
+        // 2) Dumps the recorded classes into the archive.
+        List<String> dumpCommand = new ArrayList<>();
+        dumpCommand.add(javaCommand);
+        dumpCommand.addAll(vmOptions);
+        dumpCommand.addAll(Arrays.asList("-Xshare:dump",
+                "-XX:SharedClassListFile=" + classListFile,
+                "-XX:SharedArchiveFile=" + archiveFile,
+                "-classpath", classPath));
+        logger.log(Level.INFO, "Dumping the recorded classes into " + archiveFile);
+        runProcess(dumpCommand, ARCHIVE_DUMP_TIMEOUT_MINUTES);
+        if (!Files.exists(archiveFile)) {
+            throw new CarbonToolException("Failed to create the class data sharing archive " + archiveFile);
+        }
+
+        // 3) Writes the class path and the JVM options with which the archive is to be used.
+        List<String> runOptions = new ArrayList<>(vmOptions);
+        runOptions.add("-Xshare:auto");
+        runOptions.add("-XX:SharedArchiveFile=" + archiveFile);
+        Files.write(cdsDirectory.resolve(Constants.CDS_CLASS_PATH_FILE_NAME),
+                classPath.getBytes(StandardCharsets.UTF_8));
+        Files.write(cdsDirectory.resolve(Constants.CDS_JVM_OPTIONS_FILE_NAME),
+                String.join(" ", runOptions).getBytes(StandardCharsets.UTF_8));
+        logger.log(Level.INFO, "Generated the class data sharing archive " + archiveFile + ". Start the server " +
+                "with the --cds option to use it.");
+    }
+
+    /**
+     * Returns the directory in which the class data sharing archive of the given Carbon home is kept.
+     *
+     * @param carbonHome the Carbon home
+     * @return the class data sharing archive directory
+     */
+    public static Path getCDSDirectory(Path carbonHome) {
+        return carbonHome.resolve("bin").resolve(Constants.CDS_DIRECTORY);
+    }
+
+    /**
+     * Returns the class path of the Carbon launcher to be archived, which is the JARs in the bin/bootstrap directory
+     * followed by the OSGi framework specified in the launch.properties file.
+     *
+     * @param carbonHome the Carbon home
+     * @return the class path entries
+     * @throws CarbonToolException if the launch configuration does not specify an existing OSGi framework
+     * @throws IOException         if an I/O error occurs when listing the bin/bootstrap directory
+     */
+    public static List<Path> getClassPath(Path carbonHome) throws CarbonToolException, IOException {
+        List<Path> classPath = new ArrayList<>();
+        Path bootstrapDirectory = carbonHome.resolve("bin").resolve("bootstrap");
+        if (Files.isDirectory(bootstrapDirectory)) {
+            try (DirectoryStream<Path> jars = Files.newDirectoryStream(bootstrapDirectory,
+                    "*" + Constants.JAR_FILE_EXTENSION)) {
+                jars.forEach(classPath::add);
+            }
+            Collections.sort(classPath);
+        }
+
+        String previousCarbonHome = System.getProperty(org.wso2.carbon.launcher.Constants.CARBON_HOME);
+        String previousProfile = System.getProperty(org.wso2.carbon.launcher.Constants.PROFILE);
+        System.setProperty(org.wso2.carbon.launcher.Constants.CARBON_HOME, carbonHome.toString());
+        if (previousProfile == null) {
+            System.setProperty(org.wso2.carbon.launcher.Constants.PROFILE,
+                    org.wso2.carbon.launcher.Constants.DEFAULT_PROFILE);
+        }
+        try {
+            Path launchPropertiesFile = carbonHome.resolve("conf")
+                    .resolve(org.wso2.carbon.launcher.Constants.OSGI_REPOSITORY)
+                    .resolve(org.wso2.carbon.launcher.Constants.LAUNCH_PROPERTIES_FILE);
+            if (!Files.exists(launchPropertiesFile)) {
+                throw new CarbonToolException("Launch configuration file does not exist: " + launchPropertiesFile);
+            }
+            Path framework = Paths.get(new CarbonLaunchConfig(launchPropertiesFile.toFile()).getCarbonOSGiFramework()
+                    .getPath());
+            if (!Files.exists(framework)) {
+                throw new CarbonToolException("OSGi framework does not exist: " + framework);
+            }
+            classPath.add(framework);
+        } finally {
+            restoreSystemProperty(org.wso2.carbon.launcher.Constants.CARBON_HOME, previousCarbonHome);
+            restoreSystemProperty(org.wso2.carbon.launcher.Constants.PROFILE, previousProfile);
+        }
+        return classPath;
+    }
+
+    /**
+     * Returns the JVM options which enable class data sharing for application classes on the given Java version.
+     * Java 8 supports it only on Oracle JDK, as a commercial feature, whereas it is enabled by default in later
+     * versions.
+     *
+     * @param javaSpecificationVersion the value of the java.specification.version system property
+     * @return the JVM options
+     */
+    public static List<String> getVMOptions(String javaSpecificationVersion) {
+        if ("1.8".equals(javaSpecificationVersion)) {
+            return Arrays.asList("-XX:+UnlockCommercialFeatures", "-XX:+UseAppCDS");
+        }
+        return Collections.emptyList();
+    }
+
+    private static void runProcess(List<String> command, long timeoutMinutes) throws CarbonToolException, IOException {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Executing " + String.join(" ", command));
+        }
+
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        try {
+            if (!process.waitFor(timeoutMinutes, TimeUnit.MINUTES)) {
+                process.destroyForcibly();
+                throw new CarbonToolException("The process did not complete within " + timeoutMinutes +
+                        " minutes: " + command.get(0));
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new CarbonToolException("Interrupted while waiting for the process: " + command.get(0), e);
+        }
+        if (process.exitValue() != 0) {
+            throw new CarbonToolException("The process exited with the status " + process.exitValue() + ": " +
+                    String.join(" ", command));
+        }
+    }
+
+    private static void restoreSystemProperty(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * Returns a help message for the AppCDS archive generator tool usage.
+     *
+     * @return a help message for the AppCDS archive generator tool usage
+     */
+    static String getHelpMessage() {
+        return "Incorrect usage of the AppCDS archive generator tool.\n\n" +
+                "Instructions: sh appcds.sh\n" +
+                "Generates a class data sharing archive in CARBON_HOME/bin/cds by starting and stopping the server " +
+                "once. The server must not be running.\n" +
+                "Start the server with the --cds option (ex: sh carbon.sh --cds) to use the archive.\n";
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2016, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.carbon.tools.appcds;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.launcher.Constants;
+import org.wso2.carbon.tools.TestConstants;
+import org.wso2.carbon.tools.exception.CarbonToolException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class defines the unit test cases for Carbon AppCDS archive generator tool.
+ *
+ * @since 5.1.0
+ */
+public class AppCDSArchiveToolTest {
+    private static final Path carbonHome = Paths.get(TestConstants.TARGET_FOLDER, "appcds-carbon-home");
+    private static final Path bootstrapDirectory = carbonHome.resolve("bin").resolve("bootstrap");
+    private static final Path framework = carbonHome.resolve(Constants.OSGI_REPOSITORY).resolve(Constants.PLUGINS)
+            .resolve("org.eclipse.osgi.jar");
+
+    @BeforeClass
+    public static void initTestClass() throws IOException {
+        Files.createDirectories(bootstrapDirectory);
+        Files.createDirectories(framework.getParent());
+        Path launchConfigDirectory = carbonHome.resolve("conf").resolve(Constants.OSGI_REPOSITORY);
+        Files.createDirectories(launchConfigDirectory);
+
+        for (Path file : Arrays.asList(bootstrapDirectory.resolve("org.wso2.carbon.launcher.jar"),
+                bootstrapDirectory.resolve("commons-lang.jar"), framework)) {
+            if (!Files.exists(file)) {
+                Files.createFile(file);
+            }
+        }
+        Files.write(launchConfigDirectory.resolve(Constants.LAUNCH_PROPERTIES_FILE),
+                ("carbon.osgi.repository=file\\:osgi\n" +
+                        "carbon.osgi.framework=file\\:plugins/org.eclipse.osgi.jar\n")
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test(description = "Attempts to execute AppCDS archive generator tool with null Carbon home",
+            expectedExceptions = {CarbonToolException.class})
+    public void testExecutingToolWithInvalidCarbonHome() throws CarbonToolException, IOException {
+        AppCDSArchiveToolUtils.executeTool(null);
+    }
+
+    @Test(description = "Attempts to execute AppCDS archive generator tool with empty Carbon home",
+            expectedExceptions = {CarbonToolException.class})
+    public void testExecutingToolWithEmptyCarbonHome() throws CarbonToolException, IOException {
+        AppCDSArchiveToolUtils.executeTool("");
+    }
+
+    @Test(description = "Resolves the class path to be archived from the bootstrap JARs and the launch configuration")
+    public void testGetClassPath() throws CarbonToolException, IOException {
+        List<Path> classPath = AppCDSArchiveToolUtils.getClassPath(carbonHome);
+
+        Assert.assertEquals(classPath, Arrays.asList(bootstrapDirectory.resolve("commons-lang.jar"),
+                bootstrapDirectory.resolve("org.wso2.carbon.launcher.jar"), framework.toAbsolutePath()));
+    }
+
+    @Test(description = "Attempts to resolve the class path of a Carbon home without a launch configuration",
+            expectedExceptions = {CarbonToolException.class})
+    public void testGetClassPathWithoutLaunchConfiguration() throws CarbonToolException, IOException {
+        AppCDSArchiveToolUtils.getClassPath(Paths.get(TestConstants.TARGET_FOLDER, "non-existing-carbon-home"));
+    }
+
+    @Test(description = "Checks the JVM options which enable application class data sharing")
+    public void testGetVMOptions() {
+        Assert.assertEquals(AppCDSArchiveToolUtils.getVMOptions("1.8"),
+                Arrays.asList("-XX:+UnlockCommercialFeatures", "-XX:+UseAppCDS"));
+        Assert.assertTrue(AppCDSArchiveToolUtils.getVMOptions("11").isEmpty());
+    }
+}